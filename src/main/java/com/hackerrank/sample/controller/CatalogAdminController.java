@@ -0,0 +1,88 @@
+package com.hackerrank.sample.controller;
+
+import com.hackerrank.sample.dto.CatalogStatusDto;
+import com.hackerrank.sample.dto.DeltaResultDto;
+import com.hackerrank.sample.dto.ShippingMatrixReportDto;
+import com.hackerrank.sample.dto.ShippingQuoteCacheDto;
+import com.hackerrank.sample.dto.ShippingRulesStatusDto;
+import com.hackerrank.sample.service.CatalogAdminService;
+import com.hackerrank.sample.service.ReviewExportService;
+import com.hackerrank.sample.service.ShippingMatrixService;
+import java.io.InputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/admin/catalog")
+public class CatalogAdminController {
+
+    private final CatalogAdminService catalogAdminService;
+    private final ReviewExportService reviewExportService;
+    private final ShippingMatrixService shippingMatrixService;
+
+    @Autowired
+    public CatalogAdminController(CatalogAdminService catalogAdminService, ReviewExportService reviewExportService,
+            ShippingMatrixService shippingMatrixService) {
+        this.catalogAdminService = catalogAdminService;
+        this.reviewExportService = reviewExportService;
+        this.shippingMatrixService = shippingMatrixService;
+    }
+
+    @GetMapping
+    public CatalogStatusDto getStatus() {
+        return catalogAdminService.getStatus();
+    }
+
+    @GetMapping(path = "/reviews/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportReviews() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(reviewExportService.exportAllReviews());
+    }
+
+    @PostMapping("/reload")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public CatalogStatusDto reload() {
+        return catalogAdminService.reload();
+    }
+
+    @PostMapping(path = "/deltas", consumes = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    public DeltaResultDto applyDeltas(InputStream body) {
+        return catalogAdminService.applyDeltas(body);
+    }
+
+    @GetMapping("/shipping-rules")
+    public ShippingRulesStatusDto getShippingRulesStatus() {
+        return catalogAdminService.getShippingRulesStatus();
+    }
+
+    @PostMapping("/shipping-rules/reload")
+    public ShippingRulesStatusDto reloadShippingRules() {
+        return catalogAdminService.reloadShippingRules();
+    }
+
+    @GetMapping("/shipping-quotes/cache")
+    public ShippingQuoteCacheDto getShippingQuoteCacheStats() {
+        return catalogAdminService.getShippingQuoteCacheStats();
+    }
+
+    @GetMapping(path = "/shipping-matrix", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportShippingMatrix() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(shippingMatrixService.exportMatrix());
+    }
+
+    @GetMapping("/shipping-matrix/report")
+    public ShippingMatrixReportDto getShippingMatrixReport() {
+        return shippingMatrixService.getLastReport();
+    }
+}
@@ -0,0 +1,28 @@
+package com.hackerrank.sample.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Las exportaciones NDJSON ({@code StreamingResponseBody}) son los únicos requests asíncronos. Sin un límite explícito
+ * rige el del contenedor (30 s en Tomcat), que corta la matriz de envío o las reseñas de todo el catálogo a mitad de
+ * camino y el cliente recibe un NDJSON truncado sin error. {@code catalog.export.timeout-ms} fija el límite; 0, por
+ * defecto, no corta la exportación.
+ */
+@Configuration
+public class ExportTimeoutConfig implements WebMvcConfigurer {
+
+    private final long timeoutMillis;
+
+    public ExportTimeoutConfig(@Value("${catalog.export.timeout-ms:0}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Para el contenedor, un límite de 0 o menos significa que no hay límite.
+        configurer.setDefaultTimeout(Math.max(timeoutMillis, 0));
+    }
+}
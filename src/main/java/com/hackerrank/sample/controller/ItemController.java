@@ -1,32 +1,50 @@
 package com.hackerrank.sample.controller;
 
 import com.hackerrank.sample.dto.ItemDetailDto;
+import com.hackerrank.sample.dto.AnswerRequest;
 import com.hackerrank.sample.dto.QuestionDto;
+import com.hackerrank.sample.dto.QuestionPageDto;
+import com.hackerrank.sample.dto.QuestionRequest;
 import com.hackerrank.sample.dto.RelatedItemDto;
+import com.hackerrank.sample.dto.ReviewDto;
 import com.hackerrank.sample.dto.ReviewPageDto;
+import com.hackerrank.sample.dto.ReviewRequest;
+import com.hackerrank.sample.dto.ReviewTrendDto;
+import com.hackerrank.sample.dto.SearchPageDto;
 import com.hackerrank.sample.dto.ShippingOptionDto;
 import com.hackerrank.sample.service.ItemExtrasService;
 import com.hackerrank.sample.service.ItemService;
+import com.hackerrank.sample.service.QuestionQuery;
+import com.hackerrank.sample.service.ReviewExportService;
+import com.hackerrank.sample.service.ReviewQuery;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/items")
 public class ItemController {
     private final ItemService itemService;
     private final ItemExtrasService itemExtrasService;
+    private final ReviewExportService reviewExportService;
 
     @Autowired
-    public ItemController(ItemService itemService, ItemExtrasService itemExtrasService) {
+    public ItemController(ItemService itemService, ItemExtrasService itemExtrasService,
+            ReviewExportService reviewExportService) {
         this.itemService = itemService;
         this.itemExtrasService = itemExtrasService;
+        this.reviewExportService = reviewExportService;
     }
 
     @GetMapping("/{id}")
@@ -40,18 +58,99 @@ public class ItemController {
         return itemExtrasService.getRelatedItems(id);
     }
 
-    @GetMapping("/{id}/questions")
-    public List<QuestionDto> getQuestions(@PathVariable String id) {
+    /**
+     * Sin parámetros de paginado ni filtros conserva la respuesta original: la lista completa de preguntas.
+     */
+    @GetMapping(path = "/{id}/questions", params = {"!page", "!size", "!cursor", "!answered", "!collapse"})
+    public List<QuestionDto> getAllQuestions(@PathVariable String id) {
         return itemExtrasService.getQuestions(id);
     }
 
+    @GetMapping("/{id}/questions")
+    public QuestionPageDto getQuestions(
+            @PathVariable String id,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "answered", required = false) Boolean answered,
+            @RequestParam(name = "collapse", defaultValue = "false") boolean collapse
+    ) {
+        return itemExtrasService.getQuestions(id, new QuestionQuery(page, size, cursor, answered, collapse));
+    }
+
+    @GetMapping("/{id}/questions/similar")
+    public List<QuestionDto> getSimilarQuestions(
+            @PathVariable String id,
+            @RequestParam(name = "text") String text,
+            @RequestParam(name = "limit", defaultValue = "5") int limit
+    ) {
+        return itemExtrasService.getSimilarAnsweredQuestions(id, text, limit);
+    }
+
+    @PostMapping("/{id}/questions")
+    @ResponseStatus(HttpStatus.CREATED)
+    public QuestionDto askQuestion(@PathVariable String id, @RequestBody QuestionRequest request) {
+        return itemExtrasService.askQuestion(id, request);
+    }
+
+    @PostMapping("/{id}/questions/{questionId}/answer")
+    public QuestionDto answerQuestion(
+            @PathVariable String id,
+            @PathVariable String questionId,
+            @RequestBody AnswerRequest request
+    ) {
+        return itemExtrasService.answerQuestion(id, questionId, request);
+    }
+
+    @GetMapping("/{id}/questions/search")
+    public SearchPageDto<QuestionDto> searchQuestions(
+            @PathVariable String id,
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return itemExtrasService.searchQuestions(id, query, page, size);
+    }
+
     @GetMapping("/{id}/reviews")
     public ReviewPageDto getReviews(
             @PathVariable String id,
             @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "rating", required = false) Integer rating,
+            @RequestParam(name = "minRating", required = false) Integer minRating
+    ) {
+        return itemExtrasService.getReviews(id, new ReviewQuery(page, size, cursor, sort, rating, minRating));
+    }
+
+    @PostMapping("/{id}/reviews")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ReviewDto addReview(@PathVariable String id, @RequestBody ReviewRequest request) {
+        return itemExtrasService.addReview(id, request);
+    }
+
+    @GetMapping("/{id}/reviews/trend")
+    public ReviewTrendDto getReviewTrend(@PathVariable String id) {
+        return itemExtrasService.getReviewTrend(id);
+    }
+
+    @GetMapping(path = "/{id}/reviews/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportReviews(@PathVariable String id) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(reviewExportService.exportItemReviews(id));
+    }
+
+    @GetMapping("/{id}/reviews/search")
+    public SearchPageDto<ReviewDto> searchReviews(
+            @PathVariable String id,
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "10") int size
     ) {
-        return itemExtrasService.getReviews(id, page, size);
+        return itemExtrasService.searchReviews(id, query, page, size);
     }
 
     @GetMapping("/{id}/shipping-options")
@@ -0,0 +1,27 @@
+package com.hackerrank.sample.controller;
+
+import com.hackerrank.sample.dto.ShippingQuoteDto;
+import com.hackerrank.sample.dto.ShippingQuoteRequest;
+import com.hackerrank.sample.service.ShippingQuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/shipping")
+public class ShippingController {
+
+    private final ShippingQuoteService shippingQuoteService;
+
+    @Autowired
+    public ShippingController(ShippingQuoteService shippingQuoteService) {
+        this.shippingQuoteService = shippingQuoteService;
+    }
+
+    @PostMapping("/quotes")
+    public ShippingQuoteDto quote(@RequestBody ShippingQuoteRequest request) {
+        return shippingQuoteService.quote(request);
+    }
+}
@@ -0,0 +1,21 @@
+package com.hackerrank.sample.dto;
+
+import java.time.Instant;
+
+public record CatalogStatusDto(
+    long generation,
+    int items,
+    long watermark,
+    String source,
+    Instant loadedAt,
+    long loadMillis,
+    long dedupBytesSaved,
+    boolean reloading,
+    String lastError,
+    String readiness,
+    int loadingItems,
+    int loadedShards,
+    int totalShards,
+    Instant nextRetryAt
+) {
+}
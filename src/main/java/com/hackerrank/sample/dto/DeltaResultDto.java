@@ -0,0 +1,11 @@
+package com.hackerrank.sample.dto;
+
+public record DeltaResultDto(
+    long applied,
+    long skipped,
+    long duplicates,
+    long outOfOrder,
+    long unknownItems,
+    long watermark
+) {
+}
@@ -1,14 +1,21 @@
 package com.hackerrank.sample.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.OffsetDateTime;
 
+/**
+ * @param similarCount al agrupar preguntas casi iguales, cuántas tiene el grupo de esta pregunta (incluida ella)
+ */
 public record QuestionDto(
     String id,
     String text,
     OffsetDateTime askedAt,
     String answer,
-    OffsetDateTime answeredAt
+    OffsetDateTime answeredAt,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Integer similarCount
 ) {
+    public QuestionDto(String id, String text, OffsetDateTime askedAt, String answer, OffsetDateTime answeredAt) {
+        this(id, text, askedAt, answer, answeredAt, null);
+    }
 }
-
-
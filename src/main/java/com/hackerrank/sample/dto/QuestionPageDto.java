@@ -0,0 +1,15 @@
+package com.hackerrank.sample.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+public record QuestionPageDto(
+    List<QuestionDto> questions,
+    int page,
+    int size,
+    int totalElements,
+    int totalPages,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String nextCursor
+) {
+}
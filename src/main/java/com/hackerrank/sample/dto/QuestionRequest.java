@@ -0,0 +1,6 @@
+package com.hackerrank.sample.dto;
+
+public record QuestionRequest(
+    String text
+) {
+}
@@ -0,0 +1,10 @@
+package com.hackerrank.sample.dto;
+
+/**
+ * Respuestas dadas dentro del rango que termina en {@code upToHours}; el último rango no tiene límite ({@code null}).
+ */
+public record ResponseTimeBucketDto(
+    Integer upToHours,
+    long count
+) {
+}
@@ -0,0 +1,14 @@
+package com.hackerrank.sample.dto;
+
+import java.time.OffsetDateTime;
+
+public record ReviewExportDto(
+    String itemId,
+    String id,
+    String author,
+    int rating,
+    String title,
+    String comment,
+    OffsetDateTime createdAt
+) {
+}
@@ -1,5 +1,6 @@
 package com.hackerrank.sample.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 
 public record ReviewPageDto(
@@ -7,7 +8,10 @@ public record ReviewPageDto(
     ReviewSummaryDto summary,
     int page,
     int size,
-    int totalPages
+    int totalElements,
+    int totalPages,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String nextCursor
 ) {
 }
 
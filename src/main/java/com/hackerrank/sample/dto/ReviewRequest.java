@@ -0,0 +1,9 @@
+package com.hackerrank.sample.dto;
+
+public record ReviewRequest(
+    String author,
+    Integer rating,
+    String title,
+    String comment
+) {
+}
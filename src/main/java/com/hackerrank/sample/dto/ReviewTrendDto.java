@@ -0,0 +1,13 @@
+package com.hackerrank.sample.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ReviewTrendDto(
+    LocalDate asOf,
+    ReviewWindowDto last7Days,
+    ReviewWindowDto last30Days,
+    ReviewWindowDto last90Days,
+    List<ReviewWindowDto> weeks
+) {
+}
@@ -0,0 +1,13 @@
+package com.hackerrank.sample.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public record ReviewWindowDto(
+    LocalDate from,
+    LocalDate to,
+    double averageRating,
+    long totalReviews,
+    Map<Integer, Long> ratingDistribution
+) {
+}
@@ -0,0 +1,13 @@
+package com.hackerrank.sample.dto;
+
+import java.util.List;
+
+public record SearchPageDto<T>(
+    String query,
+    List<T> results,
+    int page,
+    int size,
+    int totalElements,
+    int totalPages
+) {
+}
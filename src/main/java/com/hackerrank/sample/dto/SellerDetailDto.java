@@ -10,7 +10,8 @@ public record SellerDetailDto(
     int totalSales,
     double responseRate,
     int responseTimeHours,
-    List<String> policies
+    List<String> policies,
+    List<ResponseTimeBucketDto> responseTimeHistogram
 ) {
 }
 
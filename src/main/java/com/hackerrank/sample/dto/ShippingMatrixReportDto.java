@@ -0,0 +1,14 @@
+package com.hackerrank.sample.dto;
+
+import java.time.Instant;
+
+public record ShippingMatrixReportDto(
+    Instant finishedAt,
+    int items,
+    int regions,
+    long rows,
+    long millis,
+    long rowsPerSecond,
+    int parallelism
+) {
+}
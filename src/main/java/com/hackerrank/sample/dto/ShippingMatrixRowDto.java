@@ -0,0 +1,13 @@
+package com.hackerrank.sample.dto;
+
+import java.util.List;
+
+/**
+ * @param region prefijo de código postal de la región, o {@code *} para la región por defecto
+ */
+public record ShippingMatrixRowDto(
+    String itemId,
+    String region,
+    List<ShippingOptionDto> options
+) {
+}
@@ -0,0 +1,12 @@
+package com.hackerrank.sample.dto;
+
+public record ShippingQuoteCacheDto(
+    int capacity,
+    int size,
+    long hits,
+    long misses,
+    long evictions,
+    long invalidations,
+    double hitRate
+) {
+}
@@ -0,0 +1,38 @@
+package com.hackerrank.sample.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+public record ShippingQuoteDto(
+    String zipcode,
+    List<LineQuoteDto> items,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<SellerQuoteDto> sellers
+) {
+    /**
+     * @param available si el item tiene stock para la cantidad pedida
+     */
+    public record LineQuoteDto(
+        String itemId,
+        String sellerId,
+        int quantity,
+        boolean available,
+        List<ShippingOptionDto> options
+    ) {
+    }
+
+    /**
+     * Opciones para enviar juntos los items disponibles de un vendedor: las que ofrecen todos ellos, con el mayor
+     * costo y plazo del grupo. Un item sin vendedor forma su propio grupo, con {@code sellerId} nulo.
+     *
+     * @param shippableTogether si los items comparten alguna opción; si no, {@code options} está vacío y cada item se
+     *     envía por separado con las opciones de su línea
+     */
+    public record SellerQuoteDto(
+        String sellerId,
+        List<String> itemIds,
+        List<ShippingOptionDto> options,
+        boolean shippableTogether
+    ) {
+    }
+}
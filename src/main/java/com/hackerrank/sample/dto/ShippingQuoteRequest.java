@@ -0,0 +1,15 @@
+package com.hackerrank.sample.dto;
+
+import java.util.List;
+
+/**
+ * @param consolidate si es {@code true} también se cotiza un único envío por vendedor
+ */
+public record ShippingQuoteRequest(
+    String zipcode,
+    List<Line> items,
+    Boolean consolidate
+) {
+    public record Line(String itemId, Integer quantity) {
+    }
+}
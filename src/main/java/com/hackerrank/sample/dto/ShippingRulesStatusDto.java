@@ -0,0 +1,13 @@
+package com.hackerrank.sample.dto;
+
+import java.time.Instant;
+
+public record ShippingRulesStatusDto(
+    String location,
+    long version,
+    int rules,
+    int regions,
+    int carriers,
+    Instant loadedAt
+) {
+}
@@ -0,0 +1,26 @@
+package com.hackerrank.sample.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * El catálogo todavía se está cargando. Se responde 503 con {@code Retry-After} en lugar de 404, ya que el recurso
+ * puede aparecer en cuanto termine la carga; por eso extiende {@link ResponseStatusException} y no usa
+ * {@code @ResponseStatus}, que no permite agregar encabezados.
+ */
+public class CatalogNotReadyException extends ResponseStatusException {
+
+    public static final long RETRY_AFTER_SECONDS = 5;
+
+    public CatalogNotReadyException(String msg) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, msg);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+        return headers;
+    }
+}
@@ -1,5 +1,6 @@
 package com.hackerrank.sample.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
@@ -26,6 +27,8 @@ public final class Item implements Serializable {
     private final Shipping shipping;
     private final List<Picture> pictures;
     private final List<Attribute> attributes;
+    // En modo compacto descripción, imágenes y atributos viven solo aquí y se decodifican en cada acceso.
+    private final byte[] content;
 
     private Item(Builder builder) {
         this.id = builder.id;
@@ -33,15 +36,23 @@ public final class Item implements Serializable {
         this.permalink = builder.permalink;
         this.condition = builder.condition;
         this.warranty = builder.warranty;
-        this.description = builder.description;
         this.price = builder.price;
         this.availableQuantity = builder.availableQuantity;
         this.soldQuantity = builder.soldQuantity;
         this.lastUpdated = builder.lastUpdated;
         this.seller = builder.seller;
         this.shipping = builder.shipping;
-        this.pictures = Collections.unmodifiableList(new ArrayList<>(builder.pictures));
-        this.attributes = Collections.unmodifiableList(new ArrayList<>(builder.attributes));
+        if (builder.compactContent) {
+            this.description = null;
+            this.pictures = null;
+            this.attributes = null;
+            this.content = ItemContentCodec.encode(builder.description, builder.pictures, builder.attributes);
+        } else {
+            this.description = builder.description;
+            this.pictures = Collections.unmodifiableList(new ArrayList<>(builder.pictures));
+            this.attributes = Collections.unmodifiableList(new ArrayList<>(builder.attributes));
+            this.content = null;
+        }
     }
 
     public String getId() {
@@ -65,7 +76,7 @@ public final class Item implements Serializable {
     }
 
     public String getDescription() {
-        return description;
+        return content == null ? description : getContent().description();
     }
 
     public Price getPrice() {
@@ -96,11 +107,55 @@ public final class Item implements Serializable {
     }
 
     public List<Picture> getPictures() {
-        return pictures;
+        return content == null ? pictures : getContent().pictures();
     }
 
     public List<Attribute> getAttributes() {
-        return attributes;
+        return content == null ? attributes : getContent().attributes();
+    }
+
+    /**
+     * Devuelve descripción, imágenes y atributos de una sola vez; en modo compacto decodifica una única vez
+     * en lugar de hacerlo en cada getter.
+     */
+    @JsonIgnore
+    public Content getContent() {
+        return content == null ? new Content(description, pictures, attributes) : ItemContentCodec.decode(content);
+    }
+
+    @JsonIgnore
+    public boolean isContentCompact() {
+        return content != null;
+    }
+
+    /**
+     * Devuelve una copia que guarda el contenido pesado codificado, o el mismo item si ya es compacto.
+     */
+    public Item compact() {
+        if (content != null) {
+            return this;
+        }
+        return toBuilder().compactContent(true).build();
+    }
+
+    private Builder toBuilder() {
+        Content current = getContent();
+        Builder builder = new Builder();
+        builder.id = id;
+        builder.title = title;
+        builder.permalink = permalink;
+        builder.condition = condition;
+        builder.warranty = warranty;
+        builder.description = current.description();
+        builder.price = price;
+        builder.availableQuantity = availableQuantity;
+        builder.soldQuantity = soldQuantity;
+        builder.lastUpdated = lastUpdated;
+        builder.seller = seller;
+        builder.shipping = shipping;
+        builder.pictures = current.pictures();
+        builder.attributes = current.attributes();
+        return builder;
     }
 
     public static Builder builder() {
@@ -122,6 +177,7 @@ public final class Item implements Serializable {
         private Shipping shipping;
         private List<Picture> pictures = new ArrayList<>();
         private List<Attribute> attributes = new ArrayList<>();
+        private boolean compactContent;
 
         private Builder() {
         }
@@ -183,11 +239,11 @@ public final class Item implements Serializable {
 
         public Builder shipping(Shipping shipping) {
             Objects.requireNonNull(shipping, "shipping no puede ser nulo");
-            this.shipping = new Shipping(
-                shipping.freeShipping(),
-                shipping.logisticType(),
-                List.copyOf(shipping.tags())
-            );
+            List<String> tags = List.copyOf(shipping.tags());
+            // Si los tags ya son inmutables se conserva la instancia, que puede estar compartida entre items.
+            this.shipping = tags == shipping.tags()
+                ? shipping
+                : new Shipping(shipping.freeShipping(), shipping.logisticType(), tags);
             return this;
         }
 
@@ -201,6 +257,11 @@ public final class Item implements Serializable {
             return this;
         }
 
+        public Builder compactContent(boolean compactContent) {
+            this.compactContent = compactContent;
+            return this;
+        }
+
         public Item build() {
             Objects.requireNonNull(id, "id no puede ser nulo");
             Objects.requireNonNull(title, "title no puede ser nulo");
@@ -211,10 +272,24 @@ public final class Item implements Serializable {
         }
     }
 
-    public record Price(BigDecimal amount, String currency) implements Serializable {
+    public record Content(String description, List<Picture> pictures, List<Attribute> attributes) {
+    }
+
+    public record Price(Money value) implements Serializable {
         public Price {
-            Objects.requireNonNull(amount, "amount no puede ser nulo");
-            Objects.requireNonNull(currency, "currency no puede ser nulo");
+            Objects.requireNonNull(value, "amount no puede ser nulo");
+        }
+
+        public Price(BigDecimal amount, String currency) {
+            this(Money.of(amount, Objects.requireNonNull(currency, "currency no puede ser nulo")));
+        }
+
+        public BigDecimal amount() {
+            return value.toShortestDecimal();
+        }
+
+        public String currency() {
+            return value.currency();
         }
     }
 
@@ -0,0 +1,81 @@
+package com.hackerrank.sample.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codifica descripción, imágenes y atributos de un {@link Item} en un único arreglo de bytes
+ * (longitud + UTF-8 por texto, -1 para nulos).
+ */
+final class ItemContentCodec {
+
+    private ItemContentCodec() {
+    }
+
+    static byte[] encode(String description, List<Item.Picture> pictures, List<Item.Attribute> attributes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, description);
+            out.writeInt(pictures.size());
+            for (Item.Picture picture : pictures) {
+                writeString(out, picture.url());
+                writeString(out, picture.secureUrl());
+                writeString(out, picture.type());
+                out.writeInt(picture.order());
+            }
+            out.writeInt(attributes.size());
+            for (Item.Attribute attribute : attributes) {
+                writeString(out, attribute.id());
+                writeString(out, attribute.name());
+                writeString(out, attribute.valueName());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Item.Content decode(byte[] content) {
+        ByteBuffer in = ByteBuffer.wrap(content);
+        String description = readString(in);
+
+        int pictureCount = in.getInt();
+        List<Item.Picture> pictures = new ArrayList<>(pictureCount);
+        for (int i = 0; i < pictureCount; i++) {
+            pictures.add(new Item.Picture(readString(in), readString(in), readString(in), in.getInt()));
+        }
+
+        int attributeCount = in.getInt();
+        List<Item.Attribute> attributes = new ArrayList<>(attributeCount);
+        for (int i = 0; i < attributeCount; i++) {
+            attributes.add(new Item.Attribute(readString(in), readString(in), readString(in)));
+        }
+        return new Item.Content(description, List.copyOf(pictures), List.copyOf(attributes));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+}
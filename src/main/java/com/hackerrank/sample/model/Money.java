@@ -0,0 +1,102 @@
+package com.hackerrank.sample.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Importe en punto fijo: centavos en un {@code long} y el código de moneda. Las cuentas de los caminos calientes
+ * (recargos de envío, comparaciones) se hacen sobre el {@code long} y solo se crea un {@link BigDecimal} al armar la
+ * respuesta.
+ */
+public record Money(long minor, String currency) implements Serializable, Comparable<Money> {
+
+    /**
+     * Decimales de todos los importes; las monedas del catálogo usan centavos.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Moneda de los importes que el catálogo publica sin moneda (relacionados y costos de envío).
+     */
+    public static final String CATALOG_CURRENCY = "ARS";
+
+    private static final long PLAIN_LIMIT = 1_000_000_000L;
+
+    public Money {
+        Objects.requireNonNull(currency, "currency no puede ser nulo");
+    }
+
+    /**
+     * Importe exacto en centavos; no redondea.
+     *
+     * @throws IllegalArgumentException si el importe tiene más de {@link #SCALE} decimales
+     * @throws ArithmeticException si el importe no entra en un {@code long} de centavos
+     */
+    public static Money of(BigDecimal amount, String currency) {
+        Objects.requireNonNull(amount, "amount no puede ser nulo");
+        BigDecimal scaled;
+        try {
+            scaled = amount.setScale(SCALE, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("El importe " + amount.toPlainString() + " tiene más de " + SCALE
+                + " decimales", ex);
+        }
+        return new Money(scaled.unscaledValue().longValueExact(), currency);
+    }
+
+    /**
+     * Importe leído del catálogo como {@code double}, redondeado HALF_UP a centavos desde su representación decimal:
+     * un valor con más decimales no impide cargar el item.
+     */
+    public static Money of(double amount, String currency) {
+        return of(BigDecimal.valueOf(amount).setScale(SCALE, RoundingMode.HALF_UP), currency);
+    }
+
+    /**
+     * Multiplica por {@code factor / 10^factorScale} redondeando HALF_UP a centavos, igual que
+     * {@code multiply(...).setScale(2, HALF_UP)} sobre {@link BigDecimal}.
+     */
+    public Money times(long factor, long factorUnit) {
+        long product = Math.multiplyExact(minor, factor);
+        long quotient = product / factorUnit;
+        long remainder = Math.abs(product % factorUnit);
+        if (remainder * 2 >= factorUnit) {
+            quotient += product < 0 ? -1 : 1;
+        }
+        return new Money(quotient, currency);
+    }
+
+    public Money max(Money other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    /**
+     * Importe con la escala de la moneda ({@code 1999.99}, {@code 0.00}).
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Importe con la representación que tenía el valor leído del catálogo como {@code double}
+     * ({@code 79999.9}, {@code 0.0}, {@code 1.5E+7}), para que las respuestas no cambien.
+     */
+    public BigDecimal toShortestDecimal() {
+        if (Math.abs(minor) < PLAIN_LIMIT) {
+            return minor % 10 == 0 ? BigDecimal.valueOf(minor / 10, 1) : BigDecimal.valueOf(minor, SCALE);
+        }
+        // Desde diez millones el double se escribe en notación científica.
+        return BigDecimal.valueOf(minor / 100.0);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("No se pueden comparar importes en " + currency + " y "
+                + other.currency);
+        }
+        return Long.compare(minor, other.minor);
+    }
+}
@@ -6,7 +6,7 @@ import java.util.Objects;
 public record RelatedItem(
     String id,
     String title,
-    BigDecimal price,
+    Money price,
     String thumbnail
 ) {
     public RelatedItem {
@@ -15,6 +15,11 @@ public record RelatedItem(
         Objects.requireNonNull(price, "price no puede ser nulo");
         Objects.requireNonNull(thumbnail, "thumbnail no puede ser nulo");
     }
+
+    public RelatedItem(String id, String title, BigDecimal price, String thumbnail) {
+        this(id, title, Money.of(Objects.requireNonNull(price, "price no puede ser nulo"), Money.CATALOG_CURRENCY),
+            thumbnail);
+    }
 }
 
 
@@ -6,7 +6,7 @@ import java.util.Objects;
 public record ShippingOption(
     String type,
     String carrier,
-    BigDecimal cost,
+    Money cost,
     int estimatedDeliveryDays,
     boolean pickupAvailable
 ) {
@@ -18,6 +18,12 @@ public record ShippingOption(
             throw new IllegalArgumentException("estimatedDeliveryDays no puede ser negativo");
         }
     }
+
+    public ShippingOption(String type, String carrier, BigDecimal cost, int estimatedDeliveryDays,
+            boolean pickupAvailable) {
+        this(type, carrier, Money.of(Objects.requireNonNull(cost, "cost no puede ser nulo"), Money.CATALOG_CURRENCY),
+            estimatedDeliveryDays, pickupAvailable);
+    }
 }
 
 
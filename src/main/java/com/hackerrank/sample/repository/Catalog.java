@@ -0,0 +1,425 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Item;
+import com.hackerrank.sample.model.Question;
+import com.hackerrank.sample.model.RelatedItem;
+import com.hackerrank.sample.model.Review;
+import com.hackerrank.sample.model.SellerDetail;
+import com.hackerrank.sample.model.ShippingOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Generación completa del catálogo en memoria. Se construye fuera de línea y se publica de una sola vez
+ * desde {@link SampleDataLoader}, por lo que los lectores nunca ven una carga a medias.
+ */
+final class Catalog {
+
+    private final long generation;
+    private final boolean lazyContent;
+    private final Clock clock;
+    private final ValueCanonicalizer canonicalizer = new ValueCanonicalizer();
+    private volatile long watermark;
+
+    private final Map<String, Item> items = new ConcurrentHashMap<>();
+    private final Map<String, SellerDetail> sellers = new ConcurrentHashMap<>();
+    private final Map<String, List<RelatedItem>> relatedItems = new ConcurrentHashMap<>();
+    private final Map<String, QuestionIndex> questions = new ConcurrentHashMap<>();
+    private final Map<String, ResponseStats> responseStats = new ConcurrentHashMap<>();
+    private final Map<String, ReviewColumns> reviews = new ConcurrentHashMap<>();
+    private final Map<String, ReviewAppendLog> reviewAppendLogs = new ConcurrentHashMap<>();
+    private final Map<String, List<ShippingOption>> shippingOptions = new ConcurrentHashMap<>();
+
+    Catalog(long generation, boolean lazyContent, Clock clock) {
+        this.generation = generation;
+        this.lazyContent = lazyContent;
+        this.clock = clock;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    ValueCanonicalizer canonicalizer() {
+        return canonicalizer;
+    }
+
+    void register(SellerDetail seller) {
+        sellers.put(seller.id(), seller);
+    }
+
+    void register(CatalogEntry entry) {
+        String itemId = entry.item().getId();
+        relatedItems.put(itemId, entry.relatedItems());
+        putQuestions(itemId, sellerId(entry.item()), entry.questions());
+        reviews.put(itemId, ReviewColumns.of(itemId, entry.reviews(), canonicalizer::string, today()));
+        shippingOptions.put(itemId, entry.shippingOptions());
+        // El item se publica último: durante una carga parcial, si el item es visible también lo son sus datos.
+        items.put(itemId, stored(entry.item()));
+    }
+
+    long watermark() {
+        return watermark;
+    }
+
+    /**
+     * Lleva la marca de agua a la de un lote que se vuelve a aplicar, que también cuenta los cambios que ese lote
+     * omitió.
+     */
+    void advanceWatermark(long sequence) {
+        watermark = Math.max(watermark, sequence);
+    }
+
+    DeltaResult apply(List<CatalogChange> changes, long feedStart) {
+        return apply(changes, feedStart, write -> { });
+    }
+
+    /**
+     * Aplica un lote del feed de deltas en orden. Los cambios con secuencia menor o igual a {@code feedStart} (la
+     * marca de agua al empezar el feed) ya fueron aplicados y se cuentan como duplicados, por lo que reintentar un
+     * feed es idempotente; los que no superan la secuencia de uno anterior del mismo feed llegaron fuera de orden.
+     * Los cambios sobre items inexistentes no se aplican pero avanzan la marca de agua. Las altas y bajas de reseñas
+     * y preguntas se agrupan por item para reconstruir cada lista una sola vez por lote. Los cambios aplicados se
+     * registran en {@code journal} para volver a aplicarlos después de una recarga completa. El llamador debe
+     * serializar los lotes.
+     */
+    DeltaResult apply(List<CatalogChange> changes, long feedStart, Consumer<CatalogWrite> journal) {
+        Map<String, Map<String, Review>> reviewChanges = new LinkedHashMap<>();
+        Map<String, Map<String, Question>> questionChanges = new LinkedHashMap<>();
+        long applied = 0;
+        long duplicates = 0;
+        long outOfOrder = 0;
+        long unknownItems = 0;
+        long lastSequence = watermark;
+        List<CatalogChange> appliedChanges = new ArrayList<>(changes.size());
+        for (CatalogChange change : changes) {
+            if (change.sequence() <= lastSequence) {
+                if (change.sequence() <= feedStart) {
+                    duplicates++;
+                } else {
+                    outOfOrder++;
+                }
+                continue;
+            }
+            lastSequence = change.sequence();
+            String itemId = change.itemId();
+            if (!(change instanceof CatalogChange.ItemUpsert) && !items.containsKey(itemId)) {
+                unknownItems++;
+                continue;
+            }
+            switch (change) {
+                case CatalogChange.ItemUpsert upsert -> {
+                    applyItemUpsert(upsert);
+                    if (upsert.entry().reviews() != null) {
+                        reviewChanges.remove(itemId);
+                    }
+                    if (upsert.entry().questions() != null) {
+                        questionChanges.remove(itemId);
+                    }
+                }
+                case CatalogChange.ItemDelete delete -> {
+                    removeItem(itemId);
+                    reviewChanges.remove(itemId);
+                    questionChanges.remove(itemId);
+                }
+                case CatalogChange.ReviewUpsert upsert -> reviewChanges
+                    .computeIfAbsent(itemId, key -> new LinkedHashMap<>())
+                    .put(upsert.review().id(), upsert.review());
+                case CatalogChange.ReviewDelete delete -> reviewChanges
+                    .computeIfAbsent(itemId, key -> new LinkedHashMap<>())
+                    .put(delete.reviewId(), null);
+                case CatalogChange.QuestionUpsert upsert -> questionChanges
+                    .computeIfAbsent(itemId, key -> new LinkedHashMap<>())
+                    .put(upsert.question().id(), upsert.question());
+                case CatalogChange.QuestionDelete delete -> questionChanges
+                    .computeIfAbsent(itemId, key -> new LinkedHashMap<>())
+                    .put(delete.questionId(), null);
+            }
+            appliedChanges.add(change);
+            applied++;
+        }
+
+        reviewChanges.forEach((itemId, byId) -> {
+            if (items.containsKey(itemId)) {
+                reviews.compute(itemId, (key, columns) -> ReviewColumns.of(itemId,
+                    merge(columns == null ? List.of() : columns.toList(), byId, Review::id), canonicalizer::string,
+                    today()));
+            }
+        });
+        questionChanges.forEach((itemId, byId) -> {
+            if (items.containsKey(itemId)) {
+                String sellerId = sellerId(items.get(itemId));
+                replaceQuestions(itemId, current -> QuestionIndex.of(sellerId,
+                    merge(current.questions(), byId, Question::id), canonicalizer::string));
+            }
+        });
+        if (lastSequence > watermark) {
+            journal.accept(new CatalogWrite.Deltas(List.copyOf(appliedChanges), lastSequence));
+        }
+        watermark = lastSequence;
+        return new DeltaResult(applied, duplicates, outOfOrder, unknownItems, lastSequence);
+    }
+
+    /**
+     * Agrega una reseña sin lock global: la reseña se registra en {@code journal}, se encola en el log del item y se
+     * publica en la próxima compactación, que reemplaza las columnas del item de forma atómica respecto de los
+     * deltas. Los lectores siguen viendo la instancia anterior hasta ese momento.
+     *
+     * @return {@code false} si el item no existe en esta generación
+     */
+    boolean appendReview(Review review, Consumer<CatalogWrite> journal) {
+        String itemId = review.itemId();
+        if (!items.containsKey(itemId)) {
+            return false;
+        }
+        journal.accept(new CatalogWrite.ReviewAdded(review));
+        // Un item dado de alta por un delta sin reseñas todavía no tiene columnas.
+        reviewAppendLogs.computeIfAbsent(itemId, key -> new ReviewAppendLog())
+            .append(review, batch -> publishReviews(itemId, batch));
+        return true;
+    }
+
+    /**
+     * Publica de una vez las reseñas de un item sin pasar por su log; solo para una generación sin escritores
+     * concurrentes, como al volver a aplicar el journal antes del swap.
+     */
+    void appendReviews(String itemId, List<Review> batch) {
+        if (items.containsKey(itemId)) {
+            publishReviews(itemId, batch);
+        }
+    }
+
+    private void publishReviews(String itemId, List<Review> batch) {
+        reviews.compute(itemId, (key, columns) -> {
+            if (!items.containsKey(itemId)) {
+                return columns;
+            }
+            return columns == null ? ReviewColumns.of(itemId, batch, canonicalizer::string, today())
+                : columns.append(batch, canonicalizer::string, today());
+        });
+    }
+
+    boolean addQuestion(Question question) {
+        return addQuestion(question, write -> { });
+    }
+
+    /**
+     * Agrega una pregunta al item; como las reseñas, no toma ningún lock global. Se registra en {@code journal}
+     * dentro del cambio atómico del item, así el journal la tiene antes que cualquier respuesta.
+     *
+     * @return {@code false} si el item no existe en esta generación
+     */
+    boolean addQuestion(Question question, Consumer<CatalogWrite> journal) {
+        Item item = items.get(question.itemId());
+        if (item == null) {
+            return false;
+        }
+        replaceQuestions(question.itemId(), current -> {
+            journal.accept(new CatalogWrite.QuestionAdded(question));
+            return current.withSeller(sellerId(item)).plus(question, canonicalizer::string);
+        });
+        return true;
+    }
+
+    Question answerQuestion(String itemId, String questionId, String answer, OffsetDateTime answeredAt) {
+        return answerQuestion(itemId, questionId, answer, answeredAt, write -> { });
+    }
+
+    /**
+     * Responde una pregunta sin respuesta y registra la respuesta en {@code journal}.
+     *
+     * @return la pregunta respondida, o {@code null} si el item o la pregunta no existen
+     * @throws IllegalStateException si la pregunta ya tenía respuesta
+     */
+    Question answerQuestion(String itemId, String questionId, String answer, OffsetDateTime answeredAt,
+            Consumer<CatalogWrite> journal) {
+        if (!items.containsKey(itemId)) {
+            return null;
+        }
+        Question[] answered = new Question[1];
+        replaceQuestions(itemId, current -> {
+            int position = current.position(questionId);
+            if (position < 0) {
+                return current;
+            }
+            Question question = current.question(position);
+            if (question.answer() != null) {
+                throw new IllegalStateException("La pregunta " + questionId + " ya fue respondida");
+            }
+            answered[0] = new Question(question.id(), itemId, question.text(), question.askedAt(), answer,
+                answeredAt);
+            journal.accept(new CatalogWrite.QuestionAnswered(itemId, questionId, answer, answeredAt));
+            return current.replace(position, answered[0], canonicalizer::string);
+        });
+        return answered[0];
+    }
+
+    private void applyItemUpsert(CatalogChange.ItemUpsert upsert) {
+        if (upsert.seller() != null) {
+            register(upsert.seller());
+        }
+        CatalogEntry entry = upsert.entry();
+        String itemId = entry.item().getId();
+        items.put(itemId, stored(entry.item()));
+        if (entry.relatedItems() != null) {
+            relatedItems.put(itemId, entry.relatedItems());
+        }
+        String sellerId = sellerId(entry.item());
+        if (entry.questions() != null) {
+            putQuestions(itemId, sellerId, entry.questions());
+        } else {
+            replaceQuestions(itemId, current -> current.withSeller(sellerId));
+        }
+        if (entry.reviews() != null) {
+            reviews.put(itemId, ReviewColumns.of(itemId, entry.reviews(), canonicalizer::string, today()));
+        }
+        if (entry.shippingOptions() != null) {
+            shippingOptions.put(itemId, entry.shippingOptions());
+        }
+    }
+
+    /**
+     * El índice de preguntas (orden, respondidas y texto) se reconstruye solo para el item que cambia y se publica
+     * de una vez, así un lector nunca combina una página con el índice de otra versión.
+     */
+    private void putQuestions(String itemId, String sellerId, List<Question> itemQuestions) {
+        replaceQuestions(itemId, current -> QuestionIndex.of(sellerId, itemQuestions, canonicalizer::string));
+    }
+
+    /**
+     * Reemplaza el índice de preguntas del item de forma atómica respecto de otros cambios del mismo item y traslada
+     * la diferencia de estadísticas de respuesta a los vendedores, sin recorrer sus demás preguntas. Si el cambio
+     * devuelve {@code null} el item se queda sin preguntas.
+     */
+    private void replaceQuestions(String itemId, UnaryOperator<QuestionIndex> change) {
+        questions.compute(itemId, (key, current) -> {
+            QuestionIndex previous = current == null ? QuestionIndex.EMPTY : current;
+            QuestionIndex next = change.apply(previous);
+            if (next != previous) {
+                creditResponseStats(previous, next == null ? QuestionIndex.EMPTY : next);
+            }
+            return next;
+        });
+    }
+
+    private void creditResponseStats(QuestionIndex previous, QuestionIndex next) {
+        if (previous.sellerId() != null) {
+            responseStats.compute(previous.sellerId(),
+                (key, stats) -> (stats == null ? ResponseStats.EMPTY : stats).minus(previous.stats()));
+        }
+        if (next.sellerId() != null) {
+            responseStats.compute(next.sellerId(),
+                (key, stats) -> (stats == null ? ResponseStats.EMPTY : stats).plus(next.stats()));
+        }
+    }
+
+    private static String sellerId(Item item) {
+        return item.getSeller() == null ? null : item.getSeller().id();
+    }
+
+    private Item stored(Item item) {
+        return lazyContent ? item.compact() : item;
+    }
+
+    private void removeItem(String itemId) {
+        items.remove(itemId);
+        relatedItems.remove(itemId);
+        replaceQuestions(itemId, current -> null);
+        reviews.remove(itemId);
+        reviewAppendLogs.remove(itemId);
+        shippingOptions.remove(itemId);
+    }
+
+    private static <T> List<T> merge(List<T> current, Map<String, T> changes, Function<T, String> idOf) {
+        Map<String, T> pending = new LinkedHashMap<>(changes);
+        List<T> merged = new ArrayList<>(current.size() + pending.size());
+        for (T value : current) {
+            String id = idOf.apply(value);
+            if (!pending.containsKey(id)) {
+                merged.add(value);
+                continue;
+            }
+            T replacement = pending.remove(id);
+            if (replacement != null) {
+                merged.add(replacement);
+            }
+        }
+        pending.values().stream()
+            .filter(Objects::nonNull)
+            .forEach(merged::add);
+        return List.copyOf(merged);
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    Item item(String id) {
+        return items.get(id);
+    }
+
+    Collection<Item> items() {
+        return items.values();
+    }
+
+    SellerDetail seller(String id) {
+        return sellers.get(id);
+    }
+
+    Collection<SellerDetail> sellers() {
+        return sellers.values();
+    }
+
+    List<RelatedItem> relatedItems(String itemId) {
+        return relatedItems.getOrDefault(itemId, List.of());
+    }
+
+    List<Question> questions(String itemId) {
+        return questionIndex(itemId).questions();
+    }
+
+    QuestionIndex questionIndex(String itemId) {
+        return questions.getOrDefault(itemId, QuestionIndex.EMPTY);
+    }
+
+    ResponseStats responseStats(String sellerId) {
+        return responseStats.getOrDefault(sellerId, ResponseStats.EMPTY);
+    }
+
+    List<Review> reviews(String itemId) {
+        return reviewColumns(itemId).toList();
+    }
+
+    ReviewColumns reviewColumns(String itemId) {
+        return reviews.getOrDefault(itemId, ReviewColumns.EMPTY);
+    }
+
+    ReviewTrend reviewTrend(String itemId) {
+        return reviewColumns(itemId).trend(today());
+    }
+
+    private long today() {
+        return LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC).toEpochDay();
+    }
+
+    List<ShippingOption> shippingOptions(String itemId) {
+        return shippingOptions.getOrDefault(itemId, List.of());
+    }
+
+    CatalogEntry entry(Item item) {
+        String itemId = item.getId();
+        return new CatalogEntry(item, relatedItems(itemId), questions(itemId), reviews(itemId), shippingOptions(itemId));
+    }
+}
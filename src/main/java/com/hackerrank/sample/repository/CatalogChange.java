@@ -0,0 +1,45 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Question;
+import com.hackerrank.sample.model.Review;
+import com.hackerrank.sample.model.SellerDetail;
+
+/**
+ * Cambio puntual del feed de deltas. Las listas nulas de un {@link ItemUpsert} conservan los valores vigentes.
+ */
+sealed interface CatalogChange {
+
+    long sequence();
+
+    String itemId();
+
+    record ItemUpsert(long sequence, SellerDetail seller, CatalogEntry entry) implements CatalogChange {
+        @Override
+        public String itemId() {
+            return entry.item().getId();
+        }
+    }
+
+    record ItemDelete(long sequence, String itemId) implements CatalogChange {
+    }
+
+    record ReviewUpsert(long sequence, Review review) implements CatalogChange {
+        @Override
+        public String itemId() {
+            return review.itemId();
+        }
+    }
+
+    record ReviewDelete(long sequence, String itemId, String reviewId) implements CatalogChange {
+    }
+
+    record QuestionUpsert(long sequence, Question question) implements CatalogChange {
+        @Override
+        public String itemId() {
+            return question.itemId();
+        }
+    }
+
+    record QuestionDelete(long sequence, String itemId, String questionId) implements CatalogChange {
+    }
+}
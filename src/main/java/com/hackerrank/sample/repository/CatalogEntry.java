@@ -0,0 +1,17 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Item;
+import com.hackerrank.sample.model.Question;
+import com.hackerrank.sample.model.RelatedItem;
+import com.hackerrank.sample.model.Review;
+import com.hackerrank.sample.model.ShippingOption;
+import java.util.List;
+
+record CatalogEntry(
+    Item item,
+    List<RelatedItem> relatedItems,
+    List<Question> questions,
+    List<Review> reviews,
+    List<ShippingOption> shippingOptions
+) {
+}
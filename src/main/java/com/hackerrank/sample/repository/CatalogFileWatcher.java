@@ -0,0 +1,87 @@
+package com.hackerrank.sample.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "catalog.reload.watch", havingValue = "true")
+public class CatalogFileWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogFileWatcher.class);
+
+    private final SampleDataLoader dataLoader;
+    private final long debounceMillis;
+    private WatchService watchService;
+    private Thread thread;
+
+    public CatalogFileWatcher(
+            SampleDataLoader dataLoader,
+            @Value("${catalog.reload.debounce-ms:1000}") long debounceMillis
+    ) {
+        this.dataLoader = dataLoader;
+        this.debounceMillis = debounceMillis;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : dataLoader.sourceDirectories()) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+            log.info("Observando cambios del catálogo en {}", directory);
+        }
+        thread = new Thread(this::watch, "catalog-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                boolean changed = drain(watchService.take());
+                WatchKey next;
+                // Agrupa la ráfaga de eventos de una misma escritura en una sola recarga.
+                while ((next = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(next);
+                }
+                if (changed) {
+                    dataLoader.reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path file && dataLoader.isCatalogSource(directory.resolve(file))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
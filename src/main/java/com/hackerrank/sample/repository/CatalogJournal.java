@@ -0,0 +1,79 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Review;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escrituras aceptadas sobre las generaciones publicadas, en el orden en que se aplicaron. Una recarga completa
+ * reconstruye el catálogo desde las fuentes, que no las incluyen, y las vuelve a aplicar sobre la generación nueva
+ * antes de publicarla. Como el resto del catálogo, vive lo que vive el proceso.
+ */
+final class CatalogJournal {
+
+    private final ConcurrentLinkedQueue<CatalogWrite> writes = new ConcurrentLinkedQueue<>();
+    // Se incrementa después de encolar: las primeras size() escrituras siempre están en la cola.
+    private final AtomicLong size = new AtomicLong();
+
+    void record(CatalogWrite write) {
+        writes.add(write);
+        size.incrementAndGet();
+    }
+
+    long size() {
+        return size.get();
+    }
+
+    /**
+     * Vuelve a aplicar sobre el catálogo las escrituras en las posiciones {@code [from, to)}. El catálogo no debe
+     * recibir otras escrituras mientras tanto. Las reseñas seguidas se juntan por item y se publican en un solo
+     * lote, así volver a aplicar miles de altas no reconstruye las columnas del item una vez por reseña.
+     */
+    void replay(Catalog catalog, long from, long to) {
+        Map<String, List<Review>> reviews = new LinkedHashMap<>();
+        Iterator<CatalogWrite> iterator = writes.iterator();
+        for (long position = 0; position < to && iterator.hasNext(); position++) {
+            CatalogWrite write = iterator.next();
+            if (position < from) {
+                continue;
+            }
+            if (write instanceof CatalogWrite.ReviewAdded added) {
+                reviews.computeIfAbsent(added.review().itemId(), key -> new ArrayList<>()).add(added.review());
+            } else {
+                publish(catalog, reviews);
+                apply(catalog, write);
+            }
+        }
+        publish(catalog, reviews);
+    }
+
+    private static void publish(Catalog catalog, Map<String, List<Review>> reviews) {
+        reviews.forEach(catalog::appendReviews);
+        reviews.clear();
+    }
+
+    private static void apply(Catalog catalog, CatalogWrite write) {
+        switch (write) {
+            case CatalogWrite.Deltas deltas -> {
+                catalog.apply(deltas.changes(), catalog.watermark());
+                catalog.advanceWatermark(deltas.watermark());
+            }
+            case CatalogWrite.ReviewAdded added -> catalog.appendReviews(added.review().itemId(),
+                List.of(added.review()));
+            case CatalogWrite.QuestionAdded added -> catalog.addQuestion(added.question());
+            case CatalogWrite.QuestionAnswered answered -> {
+                try {
+                    catalog.answerQuestion(answered.itemId(), answered.questionId(), answered.answer(),
+                        answered.answeredAt());
+                } catch (IllegalStateException ex) {
+                    // Las fuentes recargadas ya traen la pregunta respondida: prevalece esa respuesta.
+                }
+            }
+        }
+    }
+}
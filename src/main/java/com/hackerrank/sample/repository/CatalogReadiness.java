@@ -0,0 +1,9 @@
+package com.hackerrank.sample.repository;
+
+public enum CatalogReadiness {
+    NOT_READY,
+    PARTIAL,
+    READY,
+    // La carga inicial falló y no hay items publicados; se reintenta sola (ver nextRetryAt).
+    FAILED
+}
@@ -0,0 +1,12 @@
+package com.hackerrank.sample.repository;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+public interface CatalogRepository {
+    CatalogStatus status();
+
+    CompletableFuture<CatalogStatus> reload();
+
+    DeltaResult applyDeltas(InputStream input);
+}
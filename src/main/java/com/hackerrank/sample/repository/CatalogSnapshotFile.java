@@ -0,0 +1,393 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Item;
+import com.hackerrank.sample.model.Money;
+import com.hackerrank.sample.model.Question;
+import com.hackerrank.sample.model.RelatedItem;
+import com.hackerrank.sample.model.Review;
+import com.hackerrank.sample.model.SellerDetail;
+import com.hackerrank.sample.model.ShippingOption;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot binario del catálogo: encabezado (magic, versión, huella de la fuente), vendedores,
+ * entradas por item y un CRC32 final sobre todo el contenido previo.
+ */
+final class CatalogSnapshotFile {
+
+    static final int MAGIC = 0x43415453;
+    static final int VERSION = 2;
+
+    private static final int TRAILER_BYTES = Long.BYTES;
+    // El lector mapea el archivo en un único ByteBuffer, que se indexa con int.
+    static final long MAX_BYTES = Integer.MAX_VALUE;
+
+    private CatalogSnapshotFile() {
+    }
+
+    static void write(Path path, String fingerprint, Collection<SellerDetail> sellers,
+            Collection<CatalogEntry> entries) throws IOException {
+        write(path, fingerprint, sellers, entries, MAX_BYTES);
+    }
+
+    /**
+     * Si el snapshot superaría {@code maxBytes} lanza {@link IOException} sin reemplazar el existente: uno más grande
+     * no se podría leer y cada arranque lo descartaría.
+     */
+    static void write(Path path, String fingerprint, Collection<SellerDetail> sellers,
+            Collection<CatalogEntry> entries, long maxBytes) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16), crc))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, fingerprint);
+                out.writeInt(sellers.size());
+                for (SellerDetail seller : sellers) {
+                    writeSeller(out, seller);
+                }
+                out.writeInt(entries.size());
+                for (CatalogEntry entry : entries) {
+                    writeEntry(out, entry);
+                    // size() satura en Integer.MAX_VALUE, que ya supera el límite.
+                    if (out.size() > maxBytes - TRAILER_BYTES) {
+                        throw new IOException("el snapshot supera el máximo de " + maxBytes + " bytes");
+                    }
+                }
+                out.writeLong(crc.getValue());
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Valida el snapshot completo antes de emitir cualquier registro; si la versión, la huella o el
+     * checksum no coinciden lanza {@link InvalidSnapshotException} sin haber invocado a los consumidores.
+     */
+    static void read(Path path, String expectedFingerprint, ValueCanonicalizer canonicalizer,
+            Consumer<SellerDetail> sellerConsumer, Consumer<CatalogEntry> entryConsumer) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 2 * Integer.BYTES + TRAILER_BYTES || size > MAX_BYTES) {
+                throw new InvalidSnapshotException("tamaño inválido: " + size);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        int contentLength = buffer.limit() - TRAILER_BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, contentLength));
+        if (crc.getValue() != buffer.getLong(contentLength)) {
+            throw new InvalidSnapshotException("checksum inválido");
+        }
+        buffer.limit(contentLength);
+
+        if (buffer.getInt() != MAGIC) {
+            throw new InvalidSnapshotException("encabezado desconocido");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new InvalidSnapshotException("versión " + version + " no soportada");
+        }
+        String fingerprint = readString(buffer);
+        if (!fingerprint.equals(expectedFingerprint)) {
+            throw new InvalidSnapshotException("el snapshot no corresponde a la fuente actual");
+        }
+
+        int sellerCount = buffer.getInt();
+        for (int i = 0; i < sellerCount; i++) {
+            sellerConsumer.accept(readSeller(buffer, canonicalizer));
+        }
+        int entryCount = buffer.getInt();
+        for (int i = 0; i < entryCount; i++) {
+            entryConsumer.accept(readEntry(buffer, canonicalizer));
+        }
+    }
+
+    private static void writeSeller(DataOutputStream out, SellerDetail seller) throws IOException {
+        writeString(out, seller.id());
+        writeString(out, seller.nickname());
+        out.writeDouble(seller.reputation());
+        writeString(out, seller.reputationLevel());
+        out.writeInt(seller.totalSales());
+        out.writeDouble(seller.responseRate());
+        out.writeInt(seller.responseTimeHours());
+        writeStrings(out, seller.policies());
+    }
+
+    private static SellerDetail readSeller(ByteBuffer in, ValueCanonicalizer canonicalizer) {
+        return new SellerDetail(
+            canonicalizer.string(readString(in)),
+            canonicalizer.string(readString(in)),
+            in.getDouble(),
+            canonicalizer.string(readString(in)),
+            in.getInt(),
+            in.getDouble(),
+            in.getInt(),
+            canonicalizer.strings(readStrings(in))
+        );
+    }
+
+    private static void writeEntry(DataOutputStream out, CatalogEntry entry) throws IOException {
+        writeItem(out, entry.item());
+
+        out.writeInt(entry.relatedItems().size());
+        for (RelatedItem related : entry.relatedItems()) {
+            writeString(out, related.id());
+            writeString(out, related.title());
+            writeMoney(out, related.price());
+            writeString(out, related.thumbnail());
+        }
+
+        out.writeInt(entry.questions().size());
+        for (Question question : entry.questions()) {
+            writeString(out, question.id());
+            writeString(out, question.itemId());
+            writeString(out, question.text());
+            writeDateTime(out, question.askedAt());
+            writeString(out, question.answer());
+            writeDateTime(out, question.answeredAt());
+        }
+
+        out.writeInt(entry.reviews().size());
+        for (Review review : entry.reviews()) {
+            writeString(out, review.id());
+            writeString(out, review.itemId());
+            writeString(out, review.author());
+            out.writeByte(review.rating());
+            writeString(out, review.title());
+            writeString(out, review.comment());
+            writeDateTime(out, review.createdAt());
+        }
+
+        out.writeInt(entry.shippingOptions().size());
+        for (ShippingOption option : entry.shippingOptions()) {
+            writeString(out, option.type());
+            writeString(out, option.carrier());
+            writeMoney(out, option.cost());
+            out.writeInt(option.estimatedDeliveryDays());
+            out.writeBoolean(option.pickupAvailable());
+        }
+    }
+
+    private static CatalogEntry readEntry(ByteBuffer in, ValueCanonicalizer canonicalizer) {
+        Item item = readItem(in, canonicalizer);
+
+        int relatedCount = in.getInt();
+        List<RelatedItem> related = new ArrayList<>(relatedCount);
+        for (int i = 0; i < relatedCount; i++) {
+            related.add(new RelatedItem(
+                canonicalizer.string(readString(in)),
+                canonicalizer.string(readString(in)),
+                readMoney(in, canonicalizer),
+                canonicalizer.string(readString(in))
+            ));
+        }
+
+        int questionCount = in.getInt();
+        List<Question> questions = new ArrayList<>(questionCount);
+        for (int i = 0; i < questionCount; i++) {
+            questions.add(new Question(
+                readString(in),
+                canonicalizer.string(readString(in)),
+                readString(in),
+                readDateTime(in),
+                readString(in),
+                readDateTime(in)
+            ));
+        }
+
+        int reviewCount = in.getInt();
+        List<Review> reviews = new ArrayList<>(reviewCount);
+        for (int i = 0; i < reviewCount; i++) {
+            reviews.add(new Review(
+                readString(in),
+                canonicalizer.string(readString(in)),
+                readString(in),
+                in.get(),
+                readString(in),
+                readString(in),
+                readDateTime(in)
+            ));
+        }
+
+        int optionCount = in.getInt();
+        List<ShippingOption> options = new ArrayList<>(optionCount);
+        for (int i = 0; i < optionCount; i++) {
+            options.add(canonicalizer.shippingOption(new ShippingOption(
+                readString(in),
+                readString(in),
+                readMoney(in, canonicalizer),
+                in.getInt(),
+                in.get() != 0
+            )));
+        }
+
+        return new CatalogEntry(item, List.copyOf(related), List.copyOf(questions), List.copyOf(reviews),
+            List.copyOf(options));
+    }
+
+    private static void writeItem(DataOutputStream out, Item item) throws IOException {
+        Item.Content content = item.getContent();
+        writeString(out, item.getId());
+        writeString(out, item.getTitle());
+        writeString(out, item.getPermalink());
+        writeString(out, item.getCondition());
+        writeString(out, item.getWarranty());
+        writeString(out, content.description());
+        writeMoney(out, item.getPrice().value());
+        out.writeInt(item.getAvailableQuantity());
+        out.writeInt(item.getSoldQuantity());
+        writeDateTime(out, item.getLastUpdated());
+
+        writeString(out, item.getSeller().id());
+        writeString(out, item.getSeller().nickname());
+        out.writeDouble(item.getSeller().reputation());
+
+        out.writeBoolean(item.getShipping().freeShipping());
+        writeString(out, item.getShipping().logisticType());
+        writeStrings(out, item.getShipping().tags());
+
+        out.writeInt(content.pictures().size());
+        for (Item.Picture picture : content.pictures()) {
+            writeString(out, picture.url());
+            writeString(out, picture.secureUrl());
+            writeString(out, picture.type());
+            out.writeInt(picture.order());
+        }
+
+        out.writeInt(content.attributes().size());
+        for (Item.Attribute attribute : content.attributes()) {
+            writeString(out, attribute.id());
+            writeString(out, attribute.name());
+            writeString(out, attribute.valueName());
+        }
+    }
+
+    private static Item readItem(ByteBuffer in, ValueCanonicalizer canonicalizer) {
+        Item.Builder builder = Item.builder()
+            .id(readString(in))
+            .title(readString(in))
+            .permalink(readString(in))
+            .condition(canonicalizer.string(readString(in)))
+            .warranty(canonicalizer.string(readString(in)))
+            .description(readString(in))
+            .price(new Item.Price(readMoney(in, canonicalizer)))
+            .availableQuantity(in.getInt())
+            .soldQuantity(in.getInt())
+            .lastUpdated(readDateTime(in))
+            .seller(canonicalizer.seller(new Item.Seller(readString(in), readString(in), in.getDouble())))
+            .shipping(canonicalizer.shipping(new Item.Shipping(in.get() != 0, readString(in), readStrings(in))));
+
+        int pictureCount = in.getInt();
+        List<Item.Picture> pictures = new ArrayList<>(pictureCount);
+        for (int i = 0; i < pictureCount; i++) {
+            pictures.add(new Item.Picture(readString(in), readString(in), canonicalizer.string(readString(in)),
+                in.getInt()));
+        }
+
+        int attributeCount = in.getInt();
+        List<Item.Attribute> attributes = new ArrayList<>(attributeCount);
+        for (int i = 0; i < attributeCount; i++) {
+            attributes.add(canonicalizer.attribute(new Item.Attribute(readString(in), readString(in),
+                readString(in))));
+        }
+
+        return builder.pictures(pictures).attributes(attributes).build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int count = in.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return List.copyOf(values);
+    }
+
+    private static void writeMoney(DataOutputStream out, Money value) throws IOException {
+        out.writeLong(value.minor());
+        writeString(out, value.currency());
+    }
+
+    private static Money readMoney(ByteBuffer in, ValueCanonicalizer canonicalizer) {
+        return new Money(in.getLong(), canonicalizer.string(readString(in)));
+    }
+
+    private static void writeDateTime(DataOutputStream out, OffsetDateTime value) throws IOException {
+        if (value == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        out.writeLong(value.toEpochSecond());
+        out.writeInt(value.getNano());
+        out.writeInt(value.getOffset().getTotalSeconds());
+    }
+
+    private static OffsetDateTime readDateTime(ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        Instant instant = Instant.ofEpochSecond(in.getLong(), in.getInt());
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(in.getInt()));
+    }
+
+    static final class InvalidSnapshotException extends IOException {
+        InvalidSnapshotException(String message) {
+            super(message);
+        }
+    }
+}
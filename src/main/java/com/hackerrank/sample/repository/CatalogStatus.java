@@ -0,0 +1,21 @@
+package com.hackerrank.sample.repository;
+
+import java.time.Instant;
+
+public record CatalogStatus(
+    long generation,
+    int items,
+    long watermark,
+    String source,
+    Instant loadedAt,
+    long loadMillis,
+    long dedupBytesSaved,
+    boolean reloading,
+    String lastError,
+    CatalogReadiness readiness,
+    int loadingItems,
+    int loadedShards,
+    int totalShards,
+    Instant nextRetryAt
+) {
+}
@@ -0,0 +1,29 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Question;
+import com.hackerrank.sample.model.Review;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Escritura aceptada sobre la generación publicada que las fuentes del catálogo no incluyen; {@link CatalogJournal}
+ * las conserva para volver a aplicarlas después de una recarga completa.
+ */
+sealed interface CatalogWrite {
+
+    /**
+     * Cambios aplicados de un lote del feed de deltas y la marca de agua con la que quedó la generación.
+     */
+    record Deltas(List<CatalogChange> changes, long watermark) implements CatalogWrite {
+    }
+
+    record ReviewAdded(Review review) implements CatalogWrite {
+    }
+
+    record QuestionAdded(Question question) implements CatalogWrite {
+    }
+
+    record QuestionAnswered(String itemId, String questionId, String answer, OffsetDateTime answeredAt)
+            implements CatalogWrite {
+    }
+}
@@ -0,0 +1,113 @@
+package com.hackerrank.sample.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Conteos de puntajes por día (UTC) de los últimos {@link #DAYS} días, solo para los días que tienen reseñas: los
+ * números de día epoch ordenados en un arreglo y sus cinco conteos en otro, así un item con reseñas en pocos días
+ * ocupa unos pocos enteros en vez de un anillo de toda la ventana. Los días que salieron de la ventana se descartan
+ * al escribir y se ignoran al consultar. Es inmutable, como las columnas que lo contienen.
+ */
+final class DailyRatingBuckets {
+
+    static final int DAYS = 91;
+    static final int WEEKS = DAYS / 7;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    // Sin reseñas dentro de la ventana: se comparte entre todos los items.
+    static final DailyRatingBuckets NONE = new DailyRatingBuckets(new int[0], new int[0]);
+
+    private final int[] days;
+    // Cinco conteos por día, en el orden de days.
+    private final int[] counts;
+
+    private DailyRatingBuckets(int[] days, int[] counts) {
+        this.days = days;
+        this.counts = counts;
+    }
+
+    /**
+     * Copia con las filas dadas sumadas y sin los días que ya salieron de la ventana que termina en {@code today}.
+     * Las filas fuera de la ventana (incluidas las de fecha futura) se descartan; si no queda ninguna se devuelve la
+     * misma instancia. Cuesta O(b log b) para ordenar el lote más una pasada sobre los días existentes.
+     */
+    DailyRatingBuckets plus(byte[] ratings, long[] epochSeconds, long today) {
+        // Día y puntaje de cada fila en un long, para ordenarlas por día sin objetos.
+        long[] added = new long[ratings.length];
+        int size = 0;
+        for (int row = 0; row < ratings.length; row++) {
+            long day = Math.floorDiv(epochSeconds[row], SECONDS_PER_DAY);
+            if (day <= today && day > today - DAYS) {
+                added[size++] = day * 5 + ratings[row] - 1;
+            }
+        }
+        if (size == 0) {
+            return this;
+        }
+        Arrays.sort(added, 0, size);
+
+        int[] nextDays = new int[days.length + size];
+        int[] nextCounts = new int[nextDays.length * 5];
+        int count = 0;
+        int existing = lowerBound(today - DAYS + 1);
+        int next = 0;
+        while (existing < days.length || next < size) {
+            long day = Math.min(existing < days.length ? days[existing] : Long.MAX_VALUE,
+                next < size ? Math.floorDiv(added[next], 5) : Long.MAX_VALUE);
+            nextDays[count] = (int) day;
+            if (existing < days.length && days[existing] == day) {
+                System.arraycopy(counts, existing * 5, nextCounts, count * 5, 5);
+                existing++;
+            }
+            for (; next < size && Math.floorDiv(added[next], 5) == day; next++) {
+                nextCounts[count * 5 + (int) Math.floorMod(added[next], 5)]++;
+            }
+            count++;
+        }
+        return new DailyRatingBuckets(Arrays.copyOf(nextDays, count), Arrays.copyOf(nextCounts, count * 5));
+    }
+
+    /**
+     * Promedios de 7, 30 y 90 días e histograma de las últimas {@link #WEEKS} semanas terminadas en {@code today}.
+     * Recorre a lo sumo unas pocas veces los días con reseñas, sin importar cuántas reseñas tenga el item.
+     */
+    ReviewTrend trend(long today) {
+        List<ReviewSummary> weeks = new ArrayList<>(WEEKS);
+        for (int week = 0; week < WEEKS; week++) {
+            weeks.add(window(today - week * 7L, 7));
+        }
+        return new ReviewTrend(LocalDate.ofEpochDay(today), window(today, 7), window(today, 30), window(today, 90),
+            weeks);
+    }
+
+    private ReviewSummary window(long lastDay, int length) {
+        long[] histogram = new long[5];
+        for (int index = lowerBound(lastDay - length + 1); index < days.length && days[index] <= lastDay; index++) {
+            for (int rating = 0; rating < 5; rating++) {
+                histogram[rating] += counts[index * 5 + rating];
+            }
+        }
+        return ReviewSummary.of(histogram);
+    }
+
+    /**
+     * @return la posición del primer día igual o posterior al dado
+     */
+    private int lowerBound(long day) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (days[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,18 @@
+package com.hackerrank.sample.repository;
+
+/**
+ * @param duplicates cambios con secuencia ya aplicada antes del feed
+ * @param outOfOrder cambios con secuencia menor o igual a la de uno anterior del mismo feed
+ * @param unknownItems cambios sobre items inexistentes, que no se aplican
+ */
+public record DeltaResult(long applied, long duplicates, long outOfOrder, long unknownItems, long watermark) {
+
+    public long skipped() {
+        return duplicates + outOfOrder + unknownItems;
+    }
+
+    DeltaResult plus(DeltaResult batch) {
+        return new DeltaResult(applied + batch.applied, duplicates + batch.duplicates, outOfOrder + batch.outOfOrder,
+            unknownItems + batch.unknownItems, batch.watermark);
+    }
+}
@@ -6,21 +6,28 @@ import com.hackerrank.sample.model.RelatedItem;
 import com.hackerrank.sample.model.Review;
 import com.hackerrank.sample.model.SellerDetail;
 import com.hackerrank.sample.model.ShippingOption;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import org.springframework.stereotype.Repository;
 
 @Repository("itemRepository")
 public class InMemoryItemRepository implements ItemRepository, RelatedItemRepository,
-        SellerDetailRepository, QuestionRepository, ReviewRepository, ShippingOptionRepository {
+        SellerDetailRepository, QuestionRepository, ReviewRepository, ShippingOptionRepository, CatalogRepository {
 
     private final SampleDataLoader dataLoader;
+    private final ShippingRulesLoader shippingRulesLoader;
+    private final ShippingQuoteCache shippingQuoteCache;
 
-    public InMemoryItemRepository(SampleDataLoader dataLoader) {
+    public InMemoryItemRepository(SampleDataLoader dataLoader, ShippingRulesLoader shippingRulesLoader,
+            ShippingQuoteCache shippingQuoteCache) {
         this.dataLoader = dataLoader;
+        this.shippingRulesLoader = shippingRulesLoader;
+        this.shippingQuoteCache = shippingQuoteCache;
     }
 
     @Override
@@ -33,6 +40,11 @@ public class InMemoryItemRepository implements ItemRepository, RelatedItemReposi
         return dataLoader.findAllItems();
     }
 
+    @Override
+    public boolean isLoading() {
+        return !dataLoader.isReady();
+    }
+
     @Override
     public List<RelatedItem> findRelatedByItemId(String itemId) {
         return dataLoader.findRelatedItems(itemId);
@@ -43,68 +55,179 @@ public class InMemoryItemRepository implements ItemRepository, RelatedItemReposi
         return dataLoader.findSellerById(sellerId);
     }
 
+    @Override
+    public ResponseStats findResponseStatsBySellerId(String sellerId) {
+        return dataLoader.findResponseStats(sellerId);
+    }
+
     @Override
     public List<Question> findQuestionsByItemId(String itemId) {
         return dataLoader.findQuestions(itemId);
     }
 
+    @Override
+    public List<Question> findQuestionPageByItemId(String itemId, Boolean answered, int offset, int limit) {
+        return dataLoader.findQuestionPage(itemId, answered, offset, limit);
+    }
+
+    @Override
+    public List<Question> findQuestionPageByItemId(String itemId, QuestionCursor after, Boolean answered,
+            int limit) {
+        return dataLoader.findQuestionPage(itemId, after, answered, limit);
+    }
+
+    @Override
+    public int countQuestionsByItemId(String itemId, Boolean answered) {
+        return dataLoader.countQuestions(itemId, answered);
+    }
+
+    @Override
+    public List<QuestionGroup> findQuestionGroupPageByItemId(String itemId, Boolean answered, int offset, int limit) {
+        return dataLoader.findQuestionGroupPage(itemId, answered, offset, limit);
+    }
+
+    @Override
+    public List<QuestionGroup> findQuestionGroupPageByItemId(String itemId, QuestionCursor after, Boolean answered,
+            int limit) {
+        return dataLoader.findQuestionGroupPage(itemId, after, answered, limit);
+    }
+
+    @Override
+    public int countQuestionGroupsByItemId(String itemId, Boolean answered) {
+        return dataLoader.countQuestionGroups(itemId, answered);
+    }
+
+    @Override
+    public List<Question> findSimilarAnsweredQuestions(String itemId, String text, int limit) {
+        return dataLoader.findSimilarAnsweredQuestions(itemId, text, limit);
+    }
+
+    @Override
+    public boolean addQuestion(Question question) {
+        return dataLoader.addQuestion(question);
+    }
+
+    @Override
+    public Optional<Question> answerQuestion(String itemId, String questionId, String answer,
+            OffsetDateTime answeredAt) {
+        return dataLoader.answerQuestion(itemId, questionId, answer, answeredAt);
+    }
+
+    @Override
+    public SearchResult<Question> searchQuestionsByItemId(String itemId, String query, int offset, int limit) {
+        return dataLoader.searchQuestions(itemId, query, offset, limit);
+    }
+
     @Override
     public List<Review> findReviewsByItemId(String itemId) {
         return dataLoader.findReviews(itemId);
     }
 
     @Override
-    public List<ShippingOption> findByItemIdAndZipcode(String itemId, String zipcode) {
-        List<ShippingOption> baseOptions = dataLoader.findShippingOptions(itemId);
-        if (baseOptions.isEmpty()) {
-            return baseOptions;
-        }
+    public List<Review> findReviewPageByItemId(String itemId, ReviewSort sort, ReviewFilter filter, int offset,
+            int limit) {
+        return dataLoader.findReviewPage(itemId, sort, filter, offset, limit);
+    }
 
-        String normalizedZipcode = zipcode == null ? "" : zipcode.trim();
-        int additionalDays = deliveryDelay(normalizedZipcode);
-        BigDecimal surchargeFactor = surchargeFactor(normalizedZipcode);
+    @Override
+    public List<Review> findReviewPageByItemId(String itemId, ReviewCursor after, ReviewFilter filter, int limit) {
+        return dataLoader.findReviewPage(itemId, after, filter, limit);
+    }
 
-        return baseOptions.stream()
-            .map(option -> new ShippingOption(
-                option.type(),
-                option.carrier(),
-                option.cost().multiply(surchargeFactor).setScale(2, RoundingMode.HALF_UP),
-                option.estimatedDeliveryDays() + additionalDays,
-                option.pickupAvailable()
-            ))
-            .collect(Collectors.toUnmodifiableList());
+    @Override
+    public SearchResult<Review> searchReviewsByItemId(String itemId, String query, int offset, int limit) {
+        return dataLoader.searchReviews(itemId, query, offset, limit);
     }
 
-    private int deliveryDelay(String zipcode) {
-        if (zipcode.isEmpty()) {
-            return 0;
-        }
+    @Override
+    public void forEachReviewByItemId(String itemId, Consumer<Review> action) {
+        dataLoader.forEachReview(itemId, action);
+    }
 
-        if (zipcode.startsWith("1")) {
-            return 0;
-        }
-        if (zipcode.startsWith("8") || zipcode.startsWith("9")) {
-            return 3;
-        }
-        if (zipcode.startsWith("7")) {
-            return 2;
-        }
+    @Override
+    public void forEachReview(Consumer<Review> action) {
+        dataLoader.forEachReview(action);
+    }
+
+    @Override
+    public boolean appendReview(Review review) {
+        return dataLoader.appendReview(review);
+    }
+
+    @Override
+    public int countReviewsByItemId(String itemId, ReviewFilter filter) {
+        return dataLoader.countReviews(itemId, filter);
+    }
 
-        return 1;
+    @Override
+    public ReviewSummary findReviewSummaryByItemId(String itemId) {
+        return dataLoader.findReviewSummary(itemId);
+    }
+
+    @Override
+    public ReviewTrend findReviewTrendByItemId(String itemId) {
+        return dataLoader.findReviewTrend(itemId);
+    }
+
+    @Override
+    public CatalogStatus status() {
+        return dataLoader.status();
+    }
+
+    @Override
+    public CompletableFuture<CatalogStatus> reload() {
+        return dataLoader.reload();
     }
 
-    private BigDecimal surchargeFactor(String zipcode) {
-        if (zipcode.isEmpty() || zipcode.startsWith("1")) {
-            return BigDecimal.ONE;
+    @Override
+    public DeltaResult applyDeltas(InputStream input) {
+        return dataLoader.applyDeltas(input);
+    }
+
+    @Override
+    public List<ShippingOption> findByItemIdAndZipcode(String itemId, String zipcode) {
+        ShippingRules rules = shippingRulesLoader.rules();
+        return quote(itemId, rules.region(zipcode), rules);
+    }
+
+    @Override
+    public List<List<ShippingOption>> findByItemIdsAndZipcode(List<String> itemIds, String zipcode) {
+        ShippingRules rules = shippingRulesLoader.rules();
+        int region = rules.region(zipcode);
+        List<List<ShippingOption>> quotes = new ArrayList<>(itemIds.size());
+        for (String itemId : itemIds) {
+            quotes.add(quote(itemId, region, rules));
         }
-        if (zipcode.startsWith("8") || zipcode.startsWith("9")) {
-            return new BigDecimal("1.35");
+        return quotes;
+    }
+
+    private List<ShippingOption> quote(String itemId, int region, ShippingRules rules) {
+        List<ShippingOption> baseOptions = dataLoader.findShippingOptions(itemId);
+        if (baseOptions.isEmpty()) {
+            return baseOptions;
         }
-        if (zipcode.startsWith("7")) {
-            return new BigDecimal("1.20");
-	}
+        return shippingQuoteCache.get(itemId, region, baseOptions, rules);
+    }
 
-        return new BigDecimal("1.10");
+    @Override
+    public ShippingMatrix shippingMatrix() {
+        return new ShippingMatrix(shippingRulesLoader.rules(), dataLoader::findShippingOptions);
+    }
+
+    @Override
+    public ShippingRulesStatus shippingRulesStatus() {
+        return shippingRulesLoader.status();
     }
-}
 
+    @Override
+    public ShippingRulesStatus reloadShippingRules() {
+        ShippingRulesStatus status = shippingRulesLoader.reload();
+        shippingQuoteCache.invalidateAll();
+        return status;
+    }
+
+    @Override
+    public ShippingQuoteCacheStats shippingQuoteCacheStats() {
+        return shippingQuoteCache.stats();
+    }
+}
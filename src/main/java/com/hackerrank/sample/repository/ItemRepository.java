@@ -8,5 +8,11 @@ public interface ItemRepository {
     Optional<Item> findById(String id);
 
     List<Item> findAll();
+
+    /**
+     * Indica si la carga inicial del catálogo sigue en curso; mientras tanto un item ausente puede no haberse
+     * cargado aún.
+     */
+    boolean isLoading();
 }
 
@@ -0,0 +1,33 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Question;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Posición de la última pregunta vista en el orden por defecto (fecha de la pregunta descendente y luego id). Usa el
+ * mismo formato de token opaco que {@link ReviewCursor}.
+ */
+public record QuestionCursor(long epochSecond, int nano, String id) {
+
+    public QuestionCursor {
+        Objects.requireNonNull(id, "id no puede ser nulo");
+    }
+
+    public static QuestionCursor of(Question question) {
+        Instant askedAt = question.askedAt().toInstant();
+        return new QuestionCursor(askedAt.getEpochSecond(), askedAt.getNano(), question.id());
+    }
+
+    public String encode() {
+        return new ReviewCursor(epochSecond, nano, id).encode();
+    }
+
+    /**
+     * @throws IllegalArgumentException si el token no fue generado por {@link #encode()}
+     */
+    public static QuestionCursor decode(String token) {
+        ReviewCursor cursor = ReviewCursor.decode(token);
+        return new QuestionCursor(cursor.epochSecond(), cursor.nano(), cursor.id());
+    }
+}
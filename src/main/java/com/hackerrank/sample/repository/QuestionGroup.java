@@ -0,0 +1,10 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Question;
+
+/**
+ * Pregunta representativa de un grupo de preguntas casi iguales y la cantidad de preguntas del grupo (incluida
+ * ella). La representativa es la más nueva con respuesta o, si ninguna la tiene, la más nueva.
+ */
+public record QuestionGroup(Question question, int size) {
+}
@@ -0,0 +1,329 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Question;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Preguntas de un item ordenadas de la más nueva a la más vieja (a igual fecha, por id), con un bitmap de las
+ * respondidas sobre ese orden, los índices de texto y de similitud sobre las mismas posiciones, los grupos de
+ * preguntas casi iguales y las estadísticas de respuesta acreditadas al vendedor del item. Recuerda además el orden de
+ * origen (el del archivo, seguido de las agregadas después), que es el de la lista completa sin paginar. Es inmutable,
+ * así una página nunca mezcla versiones: cada cambio devuelve una instancia nueva.
+ */
+final class QuestionIndex {
+
+    private static final Comparator<Question> NEWEST_FIRST = Comparator
+        .comparing((Question question) -> question.askedAt().toInstant())
+        .reversed()
+        .thenComparing(Question::id);
+
+    static final QuestionIndex EMPTY = of(null, List.of(), UnaryOperator.identity());
+
+    private final String sellerId;
+    private final List<Question> questions;
+    private final BitSet answered;
+    private final BitSet unanswered;
+    private final TextIndex textIndex;
+    private final ResponseStats stats;
+    private final QuestionSimilarity similarity;
+    // Representativa de cada grupo de casi iguales y, en su posición, el tamaño del grupo.
+    private final BitSet representatives;
+    private final int[] groupSizes;
+    private final Map<String, Integer> positions;
+    // Posición en el orden por fecha de cada pregunta, en el orden de origen.
+    private final int[] sourceOrder;
+
+    private QuestionIndex(String sellerId, List<Question> questions, int[] sourceOrder, TextIndex textIndex,
+            ResponseStats stats, QuestionSimilarity similarity) {
+        this.sellerId = sellerId;
+        this.questions = questions;
+        this.sourceOrder = sourceOrder;
+        this.textIndex = textIndex;
+        this.stats = stats;
+        this.similarity = similarity;
+        int size = questions.size();
+        this.answered = new BitSet(size);
+        for (int position = 0; position < size; position++) {
+            if (questions.get(position).answer() != null) {
+                answered.set(position);
+            }
+        }
+        this.positions = HashMap.newHashMap(size);
+        for (int position = 0; position < size; position++) {
+            positions.put(questions.get(position).id(), position);
+        }
+        this.unanswered = (BitSet) answered.clone();
+        unanswered.flip(0, size);
+
+        int[] representativeOf = new int[size];
+        int[] sizeOf = new int[size];
+        for (int position = 0; position < size; position++) {
+            int group = similarity.group(position);
+            if (sizeOf[group]++ == 0 || answered.get(position) && !answered.get(representativeOf[group])) {
+                representativeOf[group] = position;
+            }
+        }
+        this.representatives = new BitSet(size);
+        this.groupSizes = new int[size];
+        for (int group = 0; group < size; group++) {
+            if (sizeOf[group] > 0) {
+                representatives.set(representativeOf[group]);
+                groupSizes[representativeOf[group]] = sizeOf[group];
+            }
+        }
+    }
+
+    /**
+     * @param canonical comparte los términos del índice de texto entre items
+     */
+    static QuestionIndex of(String sellerId, List<Question> questions, UnaryOperator<String> canonical) {
+        int[] bySource = IntStream.range(0, questions.size()).boxed()
+            .sorted(Comparator.comparing(questions::get, NEWEST_FIRST))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        int[] sourceOrder = new int[bySource.length];
+        for (int position = 0; position < bySource.length; position++) {
+            sourceOrder[bySource[position]] = position;
+        }
+        List<Question> sorted = Arrays.stream(bySource).mapToObj(questions::get).toList();
+        ResponseStats stats = ResponseStats.EMPTY;
+        for (Question question : sorted) {
+            stats = stats.plus(ResponseStats.of(question));
+        }
+        return new QuestionIndex(sellerId, sorted, sourceOrder, TextIndex.of(documents(sorted), canonical), stats,
+            QuestionSimilarity.of(sorted));
+    }
+
+    private static List<String> documents(List<Question> questions) {
+        return questions.stream().map(QuestionIndex::document).toList();
+    }
+
+    private static String document(Question question) {
+        return question.answer() == null ? question.text() : question.text() + " " + question.answer();
+    }
+
+    /**
+     * Agrega una pregunta, última en el orden de origen. En el caso habitual es la más nueva: se antepone y los índices
+     * de texto y de similitud solo analizan esa pregunta; si no, se reconstruye todo.
+     */
+    QuestionIndex plus(Question question, UnaryOperator<String> canonical) {
+        if (!questions.isEmpty() && NEWEST_FIRST.compare(question, questions.getFirst()) >= 0) {
+            List<Question> all = new ArrayList<>(questions());
+            all.add(question);
+            return of(sellerId, all, canonical);
+        }
+        List<Question> all = new ArrayList<>(questions.size() + 1);
+        all.add(question);
+        all.addAll(questions);
+        int[] nextSourceOrder = new int[sourceOrder.length + 1];
+        for (int index = 0; index < sourceOrder.length; index++) {
+            nextSourceOrder[index] = sourceOrder[index] + 1;
+        }
+        return new QuestionIndex(sellerId, List.copyOf(all), nextSourceOrder,
+            TextIndex.concat(TextIndex.of(documents(List.of(question)), canonical), textIndex),
+            stats.plus(ResponseStats.of(question)), similarity.prepend(question));
+    }
+
+    /**
+     * Reemplaza la pregunta de la posición dada por otra con la misma fecha, por ejemplo al responderla; el orden se
+     * conserva y en el índice de texto solo se reemplaza ese documento (el de similitud se reconstruye solo si cambia
+     * el texto de la pregunta).
+     */
+    QuestionIndex replace(int position, Question question, UnaryOperator<String> canonical) {
+        List<Question> all = new ArrayList<>(questions);
+        Question previous = all.set(position, question);
+        List<Question> replaced = List.copyOf(all);
+        return new QuestionIndex(sellerId, replaced, sourceOrder,
+            textIndex.replace(position, document(question), canonical),
+            stats.minus(ResponseStats.of(previous)).plus(ResponseStats.of(question)),
+            previous.text().equals(question.text()) ? similarity : QuestionSimilarity.of(replaced));
+    }
+
+    /**
+     * Mismas preguntas acreditadas a otro vendedor; no copia nada.
+     */
+    QuestionIndex withSeller(String sellerId) {
+        if (Objects.equals(this.sellerId, sellerId)) {
+            return this;
+        }
+        return new QuestionIndex(sellerId, questions, sourceOrder, textIndex, stats, similarity);
+    }
+
+    /**
+     * @return la posición de la pregunta en el orden por fecha, o -1 si no existe
+     */
+    int position(String questionId) {
+        return positions.getOrDefault(questionId, -1);
+    }
+
+    String sellerId() {
+        return sellerId;
+    }
+
+    ResponseStats stats() {
+        return stats;
+    }
+
+    /**
+     * @return la pregunta de la posición dada en el orden por fecha
+     */
+    Question question(int position) {
+        return questions.get(position);
+    }
+
+    /**
+     * @return todas las preguntas en el orden de origen
+     */
+    List<Question> questions() {
+        return Arrays.stream(sourceOrder).mapToObj(questions::get).toList();
+    }
+
+    /**
+     * @param answered {@code null} para todas, o solo las respondidas / sin responder
+     */
+    int count(Boolean answered) {
+        BitSet rows = matching(answered, false);
+        return rows == null ? questions.size() : rows.cardinality();
+    }
+
+    /**
+     * Cuenta los grupos de casi iguales; un grupo cuenta como respondido si alguna de sus preguntas lo está.
+     */
+    int countGroups(Boolean answered) {
+        return matching(answered, true).cardinality();
+    }
+
+    List<Question> page(Boolean answered, int offset, int limit) {
+        return questionsAt(positions(matching(answered, false), offset, limit));
+    }
+
+    List<QuestionGroup> groupPage(Boolean answered, int offset, int limit) {
+        return groupsAt(positions(matching(answered, true), offset, limit));
+    }
+
+    /**
+     * Página que empieza en la primera pregunta posterior al cursor, ubicada por búsqueda binaria.
+     */
+    List<Question> pageAfter(QuestionCursor cursor, Boolean answered, int limit) {
+        return questionsAt(positionsAfter(matching(answered, false), cursor, limit));
+    }
+
+    List<QuestionGroup> groupPageAfter(QuestionCursor cursor, Boolean answered, int limit) {
+        return groupsAt(positionsAfter(matching(answered, true), cursor, limit));
+    }
+
+    /**
+     * Preguntas respondidas casi iguales al texto, de la más parecida a la menos parecida.
+     */
+    List<Question> similarAnswered(String text, int limit) {
+        List<Question> similar = new ArrayList<>();
+        for (int position : similarity.similarTo(text)) {
+            if (similar.size() >= limit) {
+                break;
+            }
+            if (answered.get(position)) {
+                similar.add(questions.get(position));
+            }
+        }
+        return similar;
+    }
+
+    SearchResult<Question> search(String query, int offset, int limit) {
+        TextIndex.Hits hits = textIndex.search(query, offset, limit);
+        List<Question> results = new ArrayList<>(hits.documents().length);
+        for (int document : hits.documents()) {
+            results.add(questions.get(document));
+        }
+        return new SearchResult<>(hits.total(), results);
+    }
+
+    /**
+     * @return las posiciones que pasan el filtro, o {@code null} si pasan todas
+     */
+    private BitSet matching(Boolean answered, boolean collapse) {
+        if (!collapse) {
+            return answered == null ? null : answered ? this.answered : unanswered;
+        }
+        if (answered == null) {
+            return representatives;
+        }
+        BitSet rows = (BitSet) representatives.clone();
+        rows.and(answered ? this.answered : unanswered);
+        return rows;
+    }
+
+    private int[] positions(BitSet rows, int offset, int limit) {
+        int total = rows == null ? questions.size() : rows.cardinality();
+        int from = Math.max(0, Math.min(offset, total));
+        int to = (int) Math.min((long) from + Math.max(limit, 0), total);
+        int[] positions = new int[to - from];
+        if (rows == null) {
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = from + i;
+            }
+        } else if (positions.length > 0) {
+            positions[0] = ReviewColumns.nthSetBit(rows, from);
+            for (int i = 1; i < positions.length; i++) {
+                positions[i] = rows.nextSetBit(positions[i - 1] + 1);
+            }
+        }
+        return positions;
+    }
+
+    private int[] positionsAfter(BitSet rows, QuestionCursor cursor, int limit) {
+        int low = 0;
+        int high = questions.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (isAfter(questions.get(middle), cursor)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        int[] positions = new int[Math.min(Math.max(limit, 0), questions.size() - low)];
+        int count = 0;
+        for (int position = rows == null ? low : rows.nextSetBit(low); position >= 0 && position < questions.size()
+                && count < positions.length; position = rows == null ? position + 1 : rows.nextSetBit(position + 1)) {
+            positions[count++] = position;
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    private List<Question> questionsAt(int[] positions) {
+        List<Question> page = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            page.add(questions.get(position));
+        }
+        return page;
+    }
+
+    private List<QuestionGroup> groupsAt(int[] positions) {
+        List<QuestionGroup> page = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            page.add(new QuestionGroup(questions.get(position), groupSizes[position]));
+        }
+        return page;
+    }
+
+    private static boolean isAfter(Question question, QuestionCursor cursor) {
+        Instant askedAt = question.askedAt().toInstant();
+        if (askedAt.getEpochSecond() != cursor.epochSecond()) {
+            return askedAt.getEpochSecond() < cursor.epochSecond();
+        }
+        if (askedAt.getNano() != cursor.nano()) {
+            return askedAt.getNano() < cursor.nano();
+        }
+        return question.id().compareTo(cursor.id()) > 0;
+    }
+}
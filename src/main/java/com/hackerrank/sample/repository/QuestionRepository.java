@@ -1,10 +1,75 @@
 package com.hackerrank.sample.repository;
 
 import com.hackerrank.sample.model.Question;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface QuestionRepository {
+    /**
+     * Devuelve todas las preguntas del item, de la más nueva a la más vieja.
+     */
     List<Question> findQuestionsByItemId(String itemId);
+
+    /**
+     * Devuelve una página de preguntas de la más nueva a la más vieja. {@code answered} filtra por respondidas o
+     * sin responder; {@code null} no filtra.
+     */
+    List<Question> findQuestionPageByItemId(String itemId, Boolean answered, int offset, int limit);
+
+    /**
+     * Devuelve hasta {@code limit} preguntas que pasan el filtro y son posteriores al cursor.
+     */
+    List<Question> findQuestionPageByItemId(String itemId, QuestionCursor after, Boolean answered, int limit);
+
+    /**
+     * Cuenta las preguntas del item que pasan el filtro.
+     */
+    int countQuestionsByItemId(String itemId, Boolean answered);
+
+    /**
+     * Como {@link #findQuestionPageByItemId(String, Boolean, int, int)} pero agrupando las preguntas casi iguales:
+     * devuelve la representativa de cada grupo y su tamaño. Un grupo pasa el filtro de respondidas si alguna de sus
+     * preguntas tiene respuesta.
+     */
+    List<QuestionGroup> findQuestionGroupPageByItemId(String itemId, Boolean answered, int offset, int limit);
+
+    /**
+     * Devuelve hasta {@code limit} grupos que pasan el filtro y cuya representativa es posterior al cursor.
+     */
+    List<QuestionGroup> findQuestionGroupPageByItemId(String itemId, QuestionCursor after, Boolean answered,
+            int limit);
+
+    /**
+     * Cuenta los grupos de preguntas casi iguales del item que pasan el filtro.
+     */
+    int countQuestionGroupsByItemId(String itemId, Boolean answered);
+
+    /**
+     * Devuelve hasta {@code limit} preguntas respondidas del item casi iguales al texto, de la más parecida a la menos
+     * parecida.
+     */
+    List<Question> findSimilarAnsweredQuestions(String itemId, String text, int limit);
+
+    /**
+     * Agrega una pregunta al item. Puede ejecutarse desde muchos hilos a la vez y no bloquea a los lectores.
+     *
+     * @return {@code false} si el item no existe
+     */
+    boolean addQuestion(Question question);
+
+    /**
+     * Registra la respuesta de una pregunta y actualiza las estadísticas de respuesta del vendedor.
+     *
+     * @return la pregunta respondida, o vacío si el item o la pregunta no existen
+     * @throws IllegalStateException si la pregunta ya tenía respuesta
+     */
+    Optional<Question> answerQuestion(String itemId, String questionId, String answer, OffsetDateTime answeredAt);
+
+    /**
+     * Busca en texto y respuesta de las preguntas del item, ordenando por relevancia (BM25).
+     */
+    SearchResult<Question> searchQuestionsByItemId(String itemId, String query, int offset, int limit);
 }
 
 
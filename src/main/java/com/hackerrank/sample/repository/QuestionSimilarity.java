@@ -0,0 +1,264 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Question;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Firmas MinHash de las preguntas de un item sobre sus términos normalizados ({@link SpanishAnalyzer}), con un índice
+ * LSH por bandas: dos preguntas son candidatas solo si coinciden en alguna banda completa de su firma, y se
+ * consideran casi iguales si la fracción de posiciones iguales de sus firmas (una estimación de la similitud de
+ * Jaccard entre sus términos) alcanza {@link #THRESHOLD}. Para agrupar, cada pregunta se compara solo con la más vieja
+ * de cada bloque de banda que comparte y se une a ella si la supera, así que el costo es lineal en el tamaño del bloque
+ * y agregar una pregunta nueva no cambia las comparaciones ya hechas. Tanto los grupos como la búsqueda de una pregunta
+ * nueva salen del índice, sin comparar las preguntas de a pares. Las posiciones son las del orden por fecha de
+ * {@link QuestionIndex}. Es inmutable.
+ */
+final class QuestionSimilarity {
+
+    static final double THRESHOLD = 0.6;
+
+    private static final int HASHES = 32;
+    private static final int BANDS = 8;
+    private static final int ROWS = HASHES / BANDS;
+    private static final int[] SEEDS = new SplittableRandom(0x5EED).ints(HASHES).toArray();
+
+    static final QuestionSimilarity EMPTY = of(List.of());
+
+    // Una fila de HASHES enteros por posición; Integer.MAX_VALUE en toda la fila si la pregunta no tiene términos.
+    private final int[] signatures;
+    // Por banda, (hash de la banda << 32 | posición) ordenado: las candidatas de una banda quedan contiguas.
+    private final long[][] bands;
+    // Posición más nueva del grupo de casi iguales de cada posición.
+    private final int[] groups;
+
+    private QuestionSimilarity(int[] signatures, long[][] bands, int[] groups) {
+        this.signatures = signatures;
+        this.bands = bands;
+        this.groups = groups;
+    }
+
+    static QuestionSimilarity of(List<Question> questions) {
+        int size = questions.size();
+        int[] signatures = new int[size * HASHES];
+        for (int position = 0; position < size; position++) {
+            System.arraycopy(signature(questions.get(position).text()), 0, signatures, position * HASHES, HASHES);
+        }
+        long[][] bands = new long[BANDS][];
+        for (int band = 0; band < BANDS; band++) {
+            long[] keys = new long[size];
+            int count = 0;
+            for (int position = 0; position < size; position++) {
+                if (signatures[position * HASHES] != Integer.MAX_VALUE) {
+                    keys[count++] = key(bandHash(signatures, position * HASHES, band), position);
+                }
+            }
+            bands[band] = Arrays.copyOf(keys, count);
+            Arrays.sort(bands[band]);
+        }
+        return new QuestionSimilarity(signatures, bands, groups(signatures, bands, size));
+    }
+
+    /**
+     * Agrega la pregunta como la más nueva (posición 0) sin reordenar ni volver a agrupar: las posiciones existentes
+     * se desplazan en uno, lo que conserva el orden de cada banda, la clave nueva se inserta al principio de su
+     * bloque y solo se compara con la más vieja del bloque, igual que al construir. Cuesta O(n) en copias.
+     */
+    QuestionSimilarity prepend(Question question) {
+        int[] signature = signature(question.text());
+        int[] nextSignatures = new int[signatures.length + HASHES];
+        System.arraycopy(signature, 0, nextSignatures, 0, HASHES);
+        System.arraycopy(signatures, 0, nextSignatures, HASHES, signatures.length);
+        int size = nextSignatures.length / HASHES;
+        int[] nextGroups = new int[size];
+        for (int position = 1; position < size; position++) {
+            nextGroups[position] = groups[position - 1] + 1;
+        }
+
+        boolean hasTerms = signature[0] != Integer.MAX_VALUE;
+        BitSet joined = new BitSet();
+        long[][] nextBands = new long[BANDS][];
+        for (int band = 0; band < BANDS; band++) {
+            long[] keys = bands[band];
+            int hash = bandHash(signature, 0, band);
+            int insert = hasTerms ? lowerBound(keys, key(hash, 0)) : keys.length;
+            long[] next = new long[keys.length + (hasTerms ? 1 : 0)];
+            int to = 0;
+            for (int i = 0; i < insert; i++) {
+                next[to++] = keys[i] + 1;
+            }
+            if (hasTerms) {
+                next[to++] = key(hash, 0);
+            }
+            for (int i = insert; i < keys.length; i++) {
+                next[to++] = keys[i] + 1;
+            }
+            nextBands[band] = next;
+            if (hasTerms) {
+                int oldest = (int) next[lowerBound(next, key(hash, Integer.MAX_VALUE)) - 1];
+                if (oldest != 0 && similar(nextSignatures, 0, oldest)) {
+                    joined.set(nextGroups[oldest]);
+                }
+            }
+        }
+        // La pregunta nueva es la más nueva, así que pasa a ser la raíz de todos los grupos a los que se une.
+        if (!joined.isEmpty()) {
+            for (int position = 1; position < size; position++) {
+                if (joined.get(nextGroups[position])) {
+                    nextGroups[position] = 0;
+                }
+            }
+        }
+        return new QuestionSimilarity(nextSignatures, nextBands, nextGroups);
+    }
+
+    /**
+     * @return la posición más nueva del grupo de casi iguales de la posición dada
+     */
+    int group(int position) {
+        return groups[position];
+    }
+
+    /**
+     * Posiciones de las preguntas casi iguales al texto, de la más parecida a la menos parecida (a igual similitud,
+     * la más nueva primero). Solo se comparan las candidatas de las bandas que coinciden.
+     */
+    int[] similarTo(String text) {
+        int[] signature = signature(text);
+        if (signature[0] == Integer.MAX_VALUE) {
+            return new int[0];
+        }
+        BitSet candidates = new BitSet();
+        for (int band = 0; band < BANDS; band++) {
+            long[] keys = bands[band];
+            int hash = bandHash(signature, 0, band);
+            for (int i = lowerBound(keys, key(hash, 0)); i < keys.length && (int) (keys[i] >> 32) == hash; i++) {
+                candidates.set((int) keys[i]);
+            }
+        }
+        long[] matches = new long[candidates.cardinality()];
+        int count = 0;
+        for (int position = candidates.nextSetBit(0); position >= 0; position = candidates.nextSetBit(position + 1)) {
+            int equal = equalHashes(signature, 0, signatures, position * HASHES);
+            if (equal >= THRESHOLD * HASHES) {
+                matches[count++] = key(HASHES - equal, position);
+            }
+        }
+        long[] sorted = Arrays.copyOf(matches, count);
+        Arrays.sort(sorted);
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = (int) sorted[i];
+        }
+        return positions;
+    }
+
+    /**
+     * Une cada pregunta de un bloque de banda con la más vieja del bloque si superan el umbral.
+     */
+    private static int[] groups(int[] signatures, long[][] bands, int size) {
+        int[] parent = new int[size];
+        for (int position = 0; position < size; position++) {
+            parent[position] = position;
+        }
+        for (long[] keys : bands) {
+            int start = 0;
+            for (int end = 1; end <= keys.length; end++) {
+                if (end < keys.length && (int) (keys[end] >> 32) == (int) (keys[start] >> 32)) {
+                    continue;
+                }
+                int oldest = (int) keys[end - 1];
+                for (int i = start; i < end - 1; i++) {
+                    int position = (int) keys[i];
+                    if (find(parent, position) != find(parent, oldest) && similar(signatures, position, oldest)) {
+                        union(parent, position, oldest);
+                    }
+                }
+                start = end;
+            }
+        }
+        for (int position = 0; position < size; position++) {
+            parent[position] = find(parent, position);
+        }
+        return parent;
+    }
+
+    private static boolean similar(int[] signatures, int first, int second) {
+        return equalHashes(signatures, first * HASHES, signatures, second * HASHES) >= THRESHOLD * HASHES;
+    }
+
+    private static int lowerBound(long[] keys, long key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static int find(int[] parent, int position) {
+        int root = position;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[position] != root) {
+            int next = parent[position];
+            parent[position] = root;
+            position = next;
+        }
+        return root;
+    }
+
+    private static void union(int[] parent, int first, int second) {
+        int firstRoot = find(parent, first);
+        int secondRoot = find(parent, second);
+        // La raíz es siempre la posición más nueva del grupo.
+        parent[Math.max(firstRoot, secondRoot)] = Math.min(firstRoot, secondRoot);
+    }
+
+    private static int[] signature(String text) {
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String term : new LinkedHashSet<>(SpanishAnalyzer.analyze(text))) {
+            int hash = term.hashCode();
+            for (int i = 0; i < HASHES; i++) {
+                signature[i] = Math.min(signature[i], mix(hash ^ SEEDS[i]));
+            }
+        }
+        return signature;
+    }
+
+    private static int bandHash(int[] signatures, int offset, int band) {
+        int hash = band;
+        for (int row = 0; row < ROWS; row++) {
+            hash = 31 * hash + signatures[offset + band * ROWS + row];
+        }
+        return mix(hash);
+    }
+
+    private static int equalHashes(int[] first, int firstOffset, int[] second, int secondOffset) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (first[firstOffset + i] == second[secondOffset + i]) {
+                equal++;
+            }
+        }
+        return equal;
+    }
+
+    private static long key(int high, int position) {
+        return ((long) high << 32) | position;
+    }
+
+    /**
+     * Mezclador final de MurmurHash3: distribuye los bits para que cada semilla se comporte como una función de hash
+     * distinta.
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,115 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Question;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Preguntas recibidas y respondidas, con la suma de los tiempos de respuesta y un histograma de esos tiempos. Es un
+ * agregado: se suma y se resta por pregunta o por item, así que mantenerlo no requiere recorrer todas las preguntas.
+ */
+public final class ResponseStats {
+
+    private static final int[] BUCKET_UPPER_HOURS = {1, 3, 6, 12, 24, 48};
+
+    public static final ResponseStats EMPTY = new ResponseStats(0, 0, 0, new long[BUCKET_UPPER_HOURS.length + 1]);
+
+    private final long asked;
+    private final long answered;
+    private final long responseSeconds;
+    private final long[] histogram;
+
+    private ResponseStats(long asked, long answered, long responseSeconds, long[] histogram) {
+        this.asked = asked;
+        this.answered = answered;
+        this.responseSeconds = responseSeconds;
+        this.histogram = histogram;
+    }
+
+    public static ResponseStats of(Question question) {
+        long[] histogram = new long[BUCKET_UPPER_HOURS.length + 1];
+        if (question.answeredAt() == null) {
+            return new ResponseStats(1, 0, 0, histogram);
+        }
+        long seconds = Math.max(0, Duration.between(question.askedAt(), question.answeredAt()).toSeconds());
+        histogram[bucket(seconds)]++;
+        return new ResponseStats(1, 1, seconds, histogram);
+    }
+
+    private static int bucket(long seconds) {
+        for (int bucket = 0; bucket < BUCKET_UPPER_HOURS.length; bucket++) {
+            if (seconds <= BUCKET_UPPER_HOURS[bucket] * 3600L) {
+                return bucket;
+            }
+        }
+        return BUCKET_UPPER_HOURS.length;
+    }
+
+    public ResponseStats plus(ResponseStats other) {
+        return combine(other, 1);
+    }
+
+    public ResponseStats minus(ResponseStats other) {
+        return combine(other, -1);
+    }
+
+    private ResponseStats combine(ResponseStats other, int sign) {
+        long[] combined = histogram.clone();
+        for (int bucket = 0; bucket < combined.length; bucket++) {
+            combined[bucket] += sign * other.histogram[bucket];
+        }
+        return new ResponseStats(asked + sign * other.asked, answered + sign * other.answered,
+            responseSeconds + sign * other.responseSeconds, combined);
+    }
+
+    public long asked() {
+        return asked;
+    }
+
+    public long answered() {
+        return answered;
+    }
+
+    public double responseRate() {
+        return asked == 0 ? 0.0 : answered / (double) asked;
+    }
+
+    /**
+     * Promedio de horas hasta la respuesta, redondeado hacia arriba.
+     */
+    public int averageResponseHours() {
+        return answered == 0 ? 0 : (int) Math.ceil(responseSeconds / (answered * 3600.0));
+    }
+
+    public int buckets() {
+        return histogram.length;
+    }
+
+    /**
+     * @return límite superior en horas del rango, o {@code null} para el último, que no tiene límite
+     */
+    public Integer upperBoundHours(int bucket) {
+        return bucket < BUCKET_UPPER_HOURS.length ? BUCKET_UPPER_HOURS[bucket] : null;
+    }
+
+    public long count(int bucket) {
+        return histogram[bucket];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ResponseStats stats && asked == stats.asked && answered == stats.answered
+            && responseSeconds == stats.responseSeconds && Arrays.equals(histogram, stats.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(asked, answered, responseSeconds, Arrays.hashCode(histogram));
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseStats[asked=" + asked + ", answered=" + answered + ", " + Arrays.toString(histogram) + "]";
+    }
+}
@@ -0,0 +1,37 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Review;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Cola de altas de reseñas de un item. Los escritores encolan sin bloquearse y el que obtiene el lock de
+ * compactación publica de una sola vez todo lo pendiente, incluido lo que encolaron los demás mientras tanto;
+ * quien no lo obtiene vuelve enseguida porque su reseña queda a cargo del compactador en curso.
+ */
+final class ReviewAppendLog {
+
+    private final ConcurrentLinkedQueue<Review> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock compaction = new ReentrantLock();
+
+    void append(Review review, Consumer<List<Review>> publish) {
+        pending.add(review);
+        // Se vuelve a mirar la cola al soltar el lock: lo encolado durante la publicación no queda huérfano.
+        while (!pending.isEmpty() && compaction.tryLock()) {
+            try {
+                List<Review> batch = new ArrayList<>();
+                for (Review next = pending.poll(); next != null; next = pending.poll()) {
+                    batch.add(next);
+                }
+                if (!batch.isEmpty()) {
+                    publish.accept(batch);
+                }
+            } finally {
+                compaction.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,581 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Review;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Reseñas de un item en columnas primitivas, ordenadas de la más nueva a la más vieja (a igual fecha, por id). Los
+ * textos (id, autor, título y comentario) viven en un único arreglo UTF-8 y los {@link Review} se materializan solo
+ * para las filas pedidas. Es inmutable: cada cambio construye una instancia nueva.
+ */
+final class ReviewColumns {
+
+    private static final int TEXT_FIELDS = 4;
+    private static final int ID = 0;
+    private static final int AUTHOR = 1;
+    private static final int TITLE = 2;
+    private static final int COMMENT = 3;
+
+    static final ReviewColumns EMPTY = of(null, List.of());
+
+    private final String itemId;
+    private final byte[] ratings;
+    private final long[] epochSeconds;
+    // Columnas opcionales: null cuando todas las fechas son de segundo exacto / están en UTC.
+    private final int[] nanos;
+    private final int[] offsetSeconds;
+    private final byte[] text;
+    private final int[] textOffsets;
+    private final ReviewSummary summary;
+    // Permutaciones de filas para los órdenes alternativos. rowsByRating agrupa las filas por puntaje ascendente
+    // (de la más nueva a la más vieja dentro de cada grupo) y ratingStarts marca dónde empieza cada puntaje.
+    private final int[] rowsByRating;
+    private final int[] ratingStarts;
+    private final int[] rowsByDetail;
+    // Filas que pasa cada filtro, indexadas por la máscara de puntajes admitidos; se arman al primer uso.
+    private final AtomicReferenceArray<Matching> matchings = new AtomicReferenceArray<>(1 << 5);
+    // Índice de texto sobre título y comentario; los documentos son las filas.
+    private final TextIndex textIndex;
+    // Conteos por día de los últimos 90 días; compartido (NONE) en los items sin reseñas recientes.
+    private final DailyRatingBuckets dailyRatings;
+
+    private ReviewColumns(String itemId, byte[] ratings, long[] epochSeconds, int[] nanos, int[] offsetSeconds,
+            byte[] text, int[] textOffsets, ReviewSummary summary, TextIndex textIndex,
+            DailyRatingBuckets dailyRatings, int[] rowsByRating, int[] ratingStarts, int[] rowsByDetail) {
+        this.itemId = itemId;
+        this.ratings = ratings;
+        this.epochSeconds = epochSeconds;
+        this.nanos = nanos;
+        this.offsetSeconds = offsetSeconds;
+        this.text = text;
+        this.textOffsets = textOffsets;
+        this.summary = summary;
+        this.textIndex = textIndex;
+        this.dailyRatings = dailyRatings;
+        this.rowsByRating = rowsByRating;
+        this.ratingStarts = ratingStarts;
+        this.rowsByDetail = rowsByDetail;
+    }
+
+    /**
+     * Ordenamiento por conteo: O(n) y estable, por lo que cada grupo conserva el orden por fecha.
+     */
+    private static int[] sortByRating(byte[] ratings, ReviewSummary summary, int[] ratingStarts) {
+        for (int rating = 1; rating <= 5; rating++) {
+            ratingStarts[rating] = ratingStarts[rating - 1] + (int) summary.count(rating);
+        }
+        int[] next = Arrays.copyOf(ratingStarts, 5);
+        int[] rows = new int[ratings.length];
+        for (int row = 0; row < ratings.length; row++) {
+            rows[next[ratings[row] - 1]++] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Ordena por longitud del comentario (bytes UTF-8) descendente empaquetando longitud y fila en un long,
+     * sin objetos intermedios; a igual longitud queda primero la fila más nueva.
+     */
+    private static int[] sortByDetail(int[] textOffsets, int size) {
+        long[] keys = new long[size];
+        for (int row = 0; row < size; row++) {
+            int field = row * TEXT_FIELDS + COMMENT;
+            long length = textOffsets[field + 1] - textOffsets[field];
+            keys[row] = ((Integer.MAX_VALUE - length) << 32) | row;
+        }
+        Arrays.sort(keys);
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = (int) keys[i];
+        }
+        return rows;
+    }
+
+    static ReviewColumns of(String itemId, List<Review> reviews) {
+        return of(itemId, reviews, UnaryOperator.identity(), LocalDate.now(ZoneOffset.UTC).toEpochDay());
+    }
+
+    /**
+     * @param canonical comparte los términos del índice de texto entre items
+     * @param today día epoch (UTC) en el que termina la ventana de conteos diarios
+     */
+    static ReviewColumns of(String itemId, List<Review> reviews, UnaryOperator<String> canonical, long today) {
+        List<Review> sorted = reviews.stream()
+            .sorted(Comparator.comparing((Review review) -> review.createdAt().toInstant())
+                .reversed()
+                .thenComparing(Review::id))
+            .toList();
+        int size = sorted.size();
+        byte[] ratings = new byte[size];
+        long[] epochSeconds = new long[size];
+        int[] nanos = new int[size];
+        int[] offsetSeconds = new int[size];
+        boolean anyNanos = false;
+        boolean anyOffset = false;
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        int[] textOffsets = new int[size * TEXT_FIELDS + 1];
+        long[] histogram = new long[5];
+        List<String> documents = new ArrayList<>(size);
+
+        for (int row = 0; row < size; row++) {
+            Review review = sorted.get(row);
+            ratings[row] = (byte) review.rating();
+            histogram[review.rating() - 1]++;
+            OffsetDateTime createdAt = review.createdAt();
+            epochSeconds[row] = createdAt.toEpochSecond();
+            nanos[row] = createdAt.getNano();
+            offsetSeconds[row] = createdAt.getOffset().getTotalSeconds();
+            anyNanos |= nanos[row] != 0;
+            anyOffset |= offsetSeconds[row] != 0;
+
+            int field = row * TEXT_FIELDS;
+            textOffsets[field + ID] = text.size();
+            text.writeBytes(review.id().getBytes(StandardCharsets.UTF_8));
+            textOffsets[field + AUTHOR] = text.size();
+            text.writeBytes(review.author().getBytes(StandardCharsets.UTF_8));
+            textOffsets[field + TITLE] = text.size();
+            text.writeBytes(review.title().getBytes(StandardCharsets.UTF_8));
+            textOffsets[field + COMMENT] = text.size();
+            text.writeBytes(review.comment().getBytes(StandardCharsets.UTF_8));
+            documents.add(review.title() + " " + review.comment());
+        }
+        textOffsets[size * TEXT_FIELDS] = text.size();
+
+        ReviewSummary summary = ReviewSummary.of(histogram);
+        int[] ratingStarts = new int[6];
+        int[] rowsByRating = sortByRating(ratings, summary, ratingStarts);
+        return new ReviewColumns(itemId, ratings, epochSeconds, anyNanos ? nanos : null,
+            anyOffset ? offsetSeconds : null, text.toByteArray(), textOffsets, summary,
+            TextIndex.of(documents, canonical), DailyRatingBuckets.NONE.plus(ratings, epochSeconds, today),
+            rowsByRating, ratingStarts, sortByDetail(textOffsets, size));
+    }
+
+    /**
+     * Nueva instancia con las reseñas actuales más las del lote. Solo el lote se ordena y se analiza para el índice
+     * de texto: cada reseña del lote ubica su fila entre las existentes por búsqueda binaria y las columnas, el
+     * índice de texto y las permutaciones se intercalan en una pasada, así que una alta cuesta O(n) en copias más
+     * O(b log n) por el lote. Vale también cuando el lote trae reseñas anteriores a la más nueva existente, lo
+     * habitual con altas concurrentes, que se publican en otro orden que el de sus fechas.
+     */
+    ReviewColumns append(List<Review> batch, UnaryOperator<String> canonical, long today) {
+        ReviewColumns head = of(itemId, batch, canonical, today);
+        int size = head.size() + size();
+        // Fila final de cada reseña del lote y de cada reseña existente; ambas crecientes.
+        int[] headRows = new int[head.size()];
+        int[] rows = new int[size()];
+        int insert = 0;
+        for (int row = 0; row < head.size(); row++) {
+            insert = firstAfter(new ReviewCursor(head.epochSeconds[row], head.nanos == null ? 0 : head.nanos[row],
+                head.text(row, ID)), insert);
+            headRows[row] = insert + row;
+        }
+        for (int row = 0, before = 0; row < size(); row++) {
+            while (before < head.size() && headRows[before] - before <= row) {
+                before++;
+            }
+            rows[row] = row + before;
+        }
+
+        byte[] nextRatings = new byte[size];
+        long[] nextEpochSeconds = new long[size];
+        int[] nextNanos = nanos == null && head.nanos == null ? null : new int[size];
+        int[] nextOffsetSeconds = offsetSeconds == null && head.offsetSeconds == null ? null : new int[size];
+        byte[] nextText = new byte[head.text.length + text.length];
+        int[] nextTextOffsets = new int[size * TEXT_FIELDS + 1];
+        int textSize = 0;
+        for (int row = 0, headRow = 0, existingRow = 0; row < size; row++) {
+            boolean fromHead = headRow < head.size() && headRows[headRow] == row;
+            ReviewColumns source = fromHead ? head : this;
+            int from = fromHead ? headRow++ : existingRow++;
+            nextRatings[row] = source.ratings[from];
+            nextEpochSeconds[row] = source.epochSeconds[from];
+            if (nextNanos != null && source.nanos != null) {
+                nextNanos[row] = source.nanos[from];
+            }
+            if (nextOffsetSeconds != null && source.offsetSeconds != null) {
+                nextOffsetSeconds[row] = source.offsetSeconds[from];
+            }
+            // Los campos de una fila son contiguos en el arreglo de texto: se copian de una vez.
+            int start = source.textOffsets[from * TEXT_FIELDS];
+            for (int field = 0; field < TEXT_FIELDS; field++) {
+                nextTextOffsets[row * TEXT_FIELDS + field] = textSize + source.textOffsets[from * TEXT_FIELDS + field]
+                    - start;
+            }
+            int length = source.textOffsets[(from + 1) * TEXT_FIELDS] - start;
+            System.arraycopy(source.text, start, nextText, textSize, length);
+            textSize += length;
+        }
+        nextTextOffsets[size * TEXT_FIELDS] = textSize;
+
+        int[] ratingStarts = new int[6];
+        int[] rowsByRating = new int[size];
+        for (int rating = 1; rating <= 5; rating++) {
+            int position = ratingStarts[rating - 1];
+            int headIndex = head.ratingStarts[rating - 1];
+            int index = this.ratingStarts[rating - 1];
+            while (headIndex < head.ratingStarts[rating] || index < this.ratingStarts[rating]) {
+                boolean fromHead = index == this.ratingStarts[rating] || headIndex < head.ratingStarts[rating]
+                    && headRows[head.rowsByRating[headIndex]] < rows[this.rowsByRating[index]];
+                rowsByRating[position++] = fromHead ? headRows[head.rowsByRating[headIndex++]]
+                    : rows[this.rowsByRating[index++]];
+            }
+            ratingStarts[rating] = position;
+        }
+        return new ReviewColumns(itemId, nextRatings, nextEpochSeconds, nextNanos, nextOffsetSeconds, nextText,
+            nextTextOffsets, head.summary.plus(summary), TextIndex.merge(head.textIndex, headRows, textIndex, rows),
+            dailyRatings.plus(head.ratings, head.epochSeconds, today), rowsByRating, ratingStarts,
+            mergeByDetail(head, headRows, rows));
+    }
+
+    /**
+     * Primera fila a partir de {@code from} posterior al cursor (más vieja, o a igual fecha de id mayor).
+     */
+    private int firstAfter(ReviewCursor cursor, int from) {
+        int low = from;
+        int high = size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (isAfter(middle, cursor)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Intercala la permutación por longitud del lote con la existente, ya llevadas a sus filas finales. Ambas están
+     * ordenadas y las filas finales conservan su orden relativo, así que a igual longitud basta con comparar filas
+     * y el resultado coincide con {@link #sortByDetail}.
+     */
+    private int[] mergeByDetail(ReviewColumns head, int[] headRows, int[] rows) {
+        int[] merged = new int[headRows.length + rows.length];
+        int headIndex = 0;
+        int index = 0;
+        for (int position = 0; position < merged.length; position++) {
+            boolean fromHead;
+            if (index == size()) {
+                fromHead = true;
+            } else if (headIndex == head.size()) {
+                fromHead = false;
+            } else {
+                int headLength = head.commentLength(head.rowsByDetail[headIndex]);
+                int length = commentLength(rowsByDetail[index]);
+                fromHead = headLength > length || headLength == length
+                    && headRows[head.rowsByDetail[headIndex]] < rows[rowsByDetail[index]];
+            }
+            merged[position] = fromHead ? headRows[head.rowsByDetail[headIndex++]] : rows[rowsByDetail[index++]];
+        }
+        return merged;
+    }
+
+    private int commentLength(int row) {
+        int field = row * TEXT_FIELDS + COMMENT;
+        return textOffsets[field + 1] - textOffsets[field];
+    }
+
+    int size() {
+        return ratings.length;
+    }
+
+    int rating(int row) {
+        return ratings[row];
+    }
+
+    long epochSecond(int row) {
+        return epochSeconds[row];
+    }
+
+    Review review(int row) {
+        return new Review(
+            text(row, ID),
+            itemId,
+            text(row, AUTHOR),
+            ratings[row],
+            text(row, TITLE),
+            text(row, COMMENT),
+            createdAt(row)
+        );
+    }
+
+    List<Review> page(int offset, int limit) {
+        return page(ReviewSort.NEWEST, ReviewFilter.ALL, offset, limit);
+    }
+
+    /**
+     * Página en el orden pedido: cada posición se resuelve en O(1) sobre la permutación correspondiente.
+     */
+    List<Review> page(ReviewSort sort, int offset, int limit) {
+        return page(sort, ReviewFilter.ALL, offset, limit);
+    }
+
+    /**
+     * Página en el orden pedido con solo las filas que pasan el filtro. Los órdenes por puntaje recorren
+     * directamente los grupos admitidos; por fecha la primera fila sale de un select sobre el bitmap del filtro y
+     * por longitud se indexa la permutación ya filtrada, así el costo depende del tamaño de página y no del offset.
+     */
+    List<Review> page(ReviewSort sort, ReviewFilter filter, int offset, int limit) {
+        int total = count(filter);
+        int from = Math.max(0, Math.min(offset, total));
+        int to = (int) Math.min((long) from + Math.max(limit, 0), total);
+        List<Review> page = new ArrayList<>(to - from);
+        if (from == to) {
+            return page;
+        }
+        if (filter.isAll() || sort == ReviewSort.RATING_ASC || sort == ReviewSort.RATING_DESC) {
+            for (int position = from; position < to; position++) {
+                page.add(review(row(sort, filter, position)));
+            }
+        } else if (sort == ReviewSort.NEWEST) {
+            Matching rows = matching(filter);
+            for (int row = rows.select(from); page.size() < to - from; row = rows.next(row + 1)) {
+                page.add(review(row));
+            }
+        } else {
+            int[] rows = matching(filter).rowsByDetail();
+            for (int position = from; position < to; position++) {
+                page.add(review(rows[position]));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Sale del histograma de puntajes, sin recorrer filas.
+     */
+    int count(ReviewFilter filter) {
+        if (filter.isAll()) {
+            return size();
+        }
+        long count = 0;
+        for (int rating = 1; rating <= 5; rating++) {
+            if (filter.includes(rating)) {
+                count += summary.count(rating);
+            }
+        }
+        return (int) count;
+    }
+
+    private int row(ReviewSort sort, ReviewFilter filter, int position) {
+        return switch (sort) {
+            case NEWEST -> position;
+            case RATING_ASC -> ratingRow(filter, position, 1, 1);
+            case RATING_DESC -> ratingRow(filter, position, 5, -1);
+            case MOST_DETAILED -> rowsByDetail[position];
+        };
+    }
+
+    private int ratingRow(ReviewFilter filter, int position, int firstRating, int step) {
+        int remaining = position;
+        for (int rating = firstRating; rating >= 1 && rating <= 5; rating += step) {
+            if (!filter.includes(rating)) {
+                continue;
+            }
+            int groupSize = ratingStarts[rating] - ratingStarts[rating - 1];
+            if (remaining < groupSize) {
+                return rowsByRating[ratingStarts[rating - 1] + remaining];
+            }
+            remaining -= groupSize;
+        }
+        throw new IndexOutOfBoundsException(position);
+    }
+
+    private Matching matching(ReviewFilter filter) {
+        int mask = 0;
+        for (int rating = 1; rating <= 5; rating++) {
+            if (filter.includes(rating)) {
+                mask |= 1 << (rating - 1);
+            }
+        }
+        Matching matching = matchings.get(mask);
+        if (matching == null) {
+            // Dos lectores pueden armarlo a la vez; ambos resultados son iguales y queda el primero.
+            matchings.compareAndSet(mask, null, Matching.of(mask, ratings, rowsByDetail));
+            matching = matchings.get(mask);
+        }
+        return matching;
+    }
+
+    /**
+     * Filas que pasan un filtro: un bitmap en orden por fecha con la cantidad de bits encendidos antes de cada
+     * palabra, para ubicar la n-ésima fila con una búsqueda binaria, y la permutación por longitud ya filtrada.
+     */
+    private record Matching(long[] words, int[] ranks, int[] rowsByDetail) {
+
+        static Matching of(int mask, byte[] ratings, int[] rowsByDetail) {
+            long[] words = new long[(ratings.length + Long.SIZE - 1) / Long.SIZE];
+            int count = 0;
+            for (int row = 0; row < ratings.length; row++) {
+                if ((mask & 1 << (ratings[row] - 1)) != 0) {
+                    words[row / Long.SIZE] |= 1L << row;
+                    count++;
+                }
+            }
+            int[] ranks = new int[words.length];
+            for (int word = 1; word < words.length; word++) {
+                ranks[word] = ranks[word - 1] + Long.bitCount(words[word - 1]);
+            }
+            int[] filtered = new int[count];
+            int position = 0;
+            for (int row : rowsByDetail) {
+                if ((mask & 1 << (ratings[row] - 1)) != 0) {
+                    filtered[position++] = row;
+                }
+            }
+            return new Matching(words, ranks, filtered);
+        }
+
+        /**
+         * Fila de la n-ésima coincidencia (desde 0).
+         */
+        int select(int n) {
+            int low = 0;
+            int high = ranks.length - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (ranks[middle] <= n) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            long value = words[low];
+            for (int i = ranks[low]; i < n; i++) {
+                value &= value - 1;
+            }
+            return low * Long.SIZE + Long.numberOfTrailingZeros(value);
+        }
+
+        /**
+         * Primera fila coincidente desde {@code from} inclusive, o -1.
+         */
+        int next(int from) {
+            int word = from / Long.SIZE;
+            if (word >= words.length) {
+                return -1;
+            }
+            long value = words[word] & -1L << from;
+            while (value == 0) {
+                if (++word == words.length) {
+                    return -1;
+                }
+                value = words[word];
+            }
+            return word * Long.SIZE + Long.numberOfTrailingZeros(value);
+        }
+    }
+
+    /**
+     * Posición del n-ésimo bit encendido (desde 0), contando bits por palabra en lugar de recorrerlos uno a uno.
+     */
+    static int nthSetBit(BitSet rows, int n) {
+        long[] words = rows.toLongArray();
+        int remaining = n;
+        for (int word = 0; word < words.length; word++) {
+            int bits = Long.bitCount(words[word]);
+            if (remaining < bits) {
+                long value = words[word];
+                for (int i = 0; i < remaining; i++) {
+                    value &= value - 1;
+                }
+                return word * Long.SIZE + Long.numberOfTrailingZeros(value);
+            }
+            remaining -= bits;
+        }
+        return -1;
+    }
+
+    /**
+     * Página que empieza en la primera fila posterior al cursor. La posición se ubica por búsqueda binaria, así
+     * que el costo depende del tamaño de página y no de la profundidad.
+     */
+    List<Review> pageAfter(ReviewCursor cursor, int limit) {
+        return pageAfter(cursor, ReviewFilter.ALL, limit);
+    }
+
+    List<Review> pageAfter(ReviewCursor cursor, ReviewFilter filter, int limit) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (isAfter(middle, cursor)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        if (filter.isAll()) {
+            return page(low, limit);
+        }
+        Matching rows = matching(filter);
+        List<Review> page = new ArrayList<>();
+        for (int row = rows.next(low); row >= 0 && page.size() < limit; row = rows.next(row + 1)) {
+            page.add(review(row));
+        }
+        return page;
+    }
+
+    SearchResult<Review> search(String query, int offset, int limit) {
+        TextIndex.Hits hits = textIndex.search(query, offset, limit);
+        List<Review> results = new ArrayList<>(hits.documents().length);
+        for (int row : hits.documents()) {
+            results.add(review(row));
+        }
+        return new SearchResult<>(hits.total(), results);
+    }
+
+    void forEach(Consumer<Review> action) {
+        for (int row = 0; row < size(); row++) {
+            action.accept(review(row));
+        }
+    }
+
+    List<Review> toList() {
+        return List.copyOf(page(0, size()));
+    }
+
+    ReviewSummary summary() {
+        return summary;
+    }
+
+    ReviewTrend trend(long today) {
+        return dailyRatings.trend(today);
+    }
+
+    private boolean isAfter(int row, ReviewCursor cursor) {
+        if (epochSeconds[row] != cursor.epochSecond()) {
+            return epochSeconds[row] < cursor.epochSecond();
+        }
+        int nano = nanos == null ? 0 : nanos[row];
+        if (nano != cursor.nano()) {
+            return nano < cursor.nano();
+        }
+        return text(row, ID).compareTo(cursor.id()) > 0;
+    }
+
+    private OffsetDateTime createdAt(int row) {
+        Instant instant = Instant.ofEpochSecond(epochSeconds[row], nanos == null ? 0 : nanos[row]);
+        ZoneOffset offset = offsetSeconds == null ? ZoneOffset.UTC : ZoneOffset.ofTotalSeconds(offsetSeconds[row]);
+        return OffsetDateTime.ofInstant(instant, offset);
+    }
+
+    private String text(int row, int field) {
+        int index = row * TEXT_FIELDS + field;
+        int start = textOffsets[index];
+        return new String(text, start, textOffsets[index + 1] - start, StandardCharsets.UTF_8);
+    }
+}
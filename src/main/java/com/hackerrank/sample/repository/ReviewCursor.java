@@ -0,0 +1,51 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Review;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Posición de la última reseña vista en el orden por defecto (fecha descendente y luego id). Se serializa como un
+ * token base64 opaco para el cliente.
+ */
+public record ReviewCursor(long epochSecond, int nano, String id) {
+
+    public ReviewCursor {
+        Objects.requireNonNull(id, "id no puede ser nulo");
+    }
+
+    public static ReviewCursor of(Review review) {
+        Instant createdAt = review.createdAt().toInstant();
+        return new ReviewCursor(createdAt.getEpochSecond(), createdAt.getNano(), review.id());
+    }
+
+    public String encode() {
+        byte[] id = this.id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES + id.length)
+            .putLong(epochSecond)
+            .putInt(nano)
+            .put(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException si el token no fue generado por {@link #encode()}
+     */
+    public static ReviewCursor decode(String token) {
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        if (bytes.length < Long.BYTES + Integer.BYTES) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        if (nano < 0 || nano > 999_999_999) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        String id = new String(bytes, buffer.position(), buffer.remaining(), StandardCharsets.UTF_8);
+        return new ReviewCursor(epochSecond, nano, id);
+    }
+}
@@ -0,0 +1,32 @@
+package com.hackerrank.sample.repository;
+
+/**
+ * Filtro de reseñas por puntaje. {@code rating} deja solo ese puntaje y {@code minRating} los puntajes mayores o
+ * iguales; combinados se aplican ambos. Un campo nulo no filtra.
+ */
+public record ReviewFilter(Integer rating, Integer minRating) {
+
+    public static final ReviewFilter ALL = new ReviewFilter(null, null);
+
+    /**
+     * @throws IllegalArgumentException si algún puntaje está fuera de 1..5
+     */
+    public ReviewFilter {
+        requireRating("rating", rating);
+        requireRating("minRating", minRating);
+    }
+
+    public boolean isAll() {
+        return rating == null && minRating == null;
+    }
+
+    public boolean includes(int value) {
+        return (rating == null || rating == value) && (minRating == null || value >= minRating);
+    }
+
+    private static void requireRating(String name, Integer value) {
+        if (value != null && (value < 1 || value > 5)) {
+            throw new IllegalArgumentException(name + " debe estar entre 1 y 5");
+        }
+    }
+}
@@ -2,9 +2,63 @@ package com.hackerrank.sample.repository;
 
 import com.hackerrank.sample.model.Review;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReviewRepository {
+    /**
+     * Devuelve todas las reseñas del item, de la más nueva a la más vieja.
+     */
     List<Review> findReviewsByItemId(String itemId);
+
+    /**
+     * Devuelve una página de las reseñas que pasan el filtro en el orden pedido, materializando solo las filas de
+     * la página.
+     */
+    List<Review> findReviewPageByItemId(String itemId, ReviewSort sort, ReviewFilter filter, int offset, int limit);
+
+    /**
+     * Devuelve hasta {@code limit} reseñas que pasan el filtro y son posteriores al cursor en el orden por defecto.
+     */
+    List<Review> findReviewPageByItemId(String itemId, ReviewCursor after, ReviewFilter filter, int limit);
+
+    /**
+     * Cuenta las reseñas del item que pasan el filtro.
+     */
+    int countReviewsByItemId(String itemId, ReviewFilter filter);
+
+    /**
+     * Busca en título y comentario de las reseñas del item, ordenando por relevancia (BM25).
+     */
+    SearchResult<Review> searchReviewsByItemId(String itemId, String query, int offset, int limit);
+
+    /**
+     * Recorre las reseñas del item de la más nueva a la más vieja, materializando una a la vez sobre una misma
+     * versión de las reseñas.
+     */
+    void forEachReviewByItemId(String itemId, Consumer<Review> action);
+
+    /**
+     * Recorre las reseñas de todo el catálogo publicado, item por item en orden de id.
+     */
+    void forEachReview(Consumer<Review> action);
+
+    /**
+     * Agrega una reseña al item. Puede ejecutarse desde muchos hilos a la vez y no bloquea a los lectores.
+     *
+     * @return {@code false} si el item no existe
+     */
+    boolean appendReview(Review review);
+
+    /**
+     * Devuelve el resumen de puntajes mantenido junto con las reseñas, sin recorrerlas.
+     */
+    ReviewSummary findReviewSummaryByItemId(String itemId);
+
+    /**
+     * Devuelve los promedios de 7, 30 y 90 días y el histograma semanal del item a la fecha actual, a partir de
+     * conteos diarios mantenidos junto con las reseñas.
+     */
+    ReviewTrend findReviewTrendByItemId(String itemId);
 }
 
 
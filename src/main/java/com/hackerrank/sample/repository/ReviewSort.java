@@ -0,0 +1,37 @@
+package com.hackerrank.sample.repository;
+
+import java.util.Arrays;
+
+/**
+ * Órdenes disponibles para las reseñas de un item. A igualdad de criterio se mantiene el orden por defecto
+ * (de la más nueva a la más vieja).
+ */
+public enum ReviewSort {
+    NEWEST("newest"),
+    RATING_DESC("rating_desc"),
+    RATING_ASC("rating_asc"),
+    MOST_DETAILED("most_detailed");
+
+    private final String param;
+
+    ReviewSort(String param) {
+        this.param = param;
+    }
+
+    public String param() {
+        return param;
+    }
+
+    /**
+     * @throws IllegalArgumentException si el valor no corresponde a ningún orden
+     */
+    public static ReviewSort fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return NEWEST;
+        }
+        return Arrays.stream(values())
+            .filter(sort -> sort.param.equalsIgnoreCase(param.trim()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Orden de reseñas desconocido: " + param));
+    }
+}
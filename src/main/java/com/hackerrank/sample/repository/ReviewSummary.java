@@ -0,0 +1,77 @@
+package com.hackerrank.sample.repository;
+
+import java.util.Arrays;
+
+/**
+ * Resumen de puntajes de un item: cantidad, suma y un histograma de cinco posiciones. Se mantiene junto con las
+ * reseñas, por lo que consultarlo no recorre ninguna reseña.
+ */
+public final class ReviewSummary {
+
+    public static final ReviewSummary EMPTY = new ReviewSummary(new long[5]);
+
+    private final long[] histogram;
+    private final long count;
+    private final long ratingSum;
+
+    private ReviewSummary(long[] histogram) {
+        this.histogram = histogram;
+        long total = 0;
+        long sum = 0;
+        for (int rating = 1; rating <= 5; rating++) {
+            total += histogram[rating - 1];
+            sum += rating * histogram[rating - 1];
+        }
+        this.count = total;
+        this.ratingSum = sum;
+    }
+
+    /**
+     * @param countsByRating cantidad de reseñas con puntaje 1 a 5, en ese orden
+     */
+    public static ReviewSummary of(long... countsByRating) {
+        if (countsByRating.length != 5) {
+            throw new IllegalArgumentException("Se esperan 5 contadores de puntaje");
+        }
+        return new ReviewSummary(countsByRating.clone());
+    }
+
+    public ReviewSummary plus(ReviewSummary other) {
+        long[] sum = histogram.clone();
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] += other.histogram[i];
+        }
+        return new ReviewSummary(sum);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long ratingSum() {
+        return ratingSum;
+    }
+
+    public long count(int rating) {
+        return histogram[rating - 1];
+    }
+
+    public double average() {
+        return count == 0 ? 0.0 : ratingSum / (double) count;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ReviewSummary summary && Arrays.equals(histogram, summary.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(histogram);
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewSummary" + Arrays.toString(histogram);
+    }
+}
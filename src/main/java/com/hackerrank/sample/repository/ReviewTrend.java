@@ -0,0 +1,17 @@
+package com.hackerrank.sample.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Tendencia de puntajes de un item al día {@code asOf} (UTC). {@code weeks} tiene una entrada por semana de siete
+ * días, empezando por la que termina en {@code asOf} y yendo hacia atrás.
+ */
+public record ReviewTrend(
+    LocalDate asOf,
+    ReviewSummary last7Days,
+    ReviewSummary last30Days,
+    ReviewSummary last90Days,
+    List<ReviewSummary> weeks
+) {
+}
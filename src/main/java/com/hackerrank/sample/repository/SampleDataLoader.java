@@ -1,176 +1,852 @@
 package com.hackerrank.sample.repository;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.hackerrank.sample.model.Item;
+import com.hackerrank.sample.model.Money;
 import com.hackerrank.sample.model.Question;
 import com.hackerrank.sample.model.RelatedItem;
 import com.hackerrank.sample.model.Review;
 import com.hackerrank.sample.model.SellerDetail;
 import com.hackerrank.sample.model.ShippingOption;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigDecimal;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import org.springframework.core.io.ClassPathResource;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Component;
 
 @Component
 public class SampleDataLoader {
 
-    private final ObjectMapper objectMapper;
+    private static final Logger log = LoggerFactory.getLogger(SampleDataLoader.class);
 
-    private final Map<String, Item> items = new ConcurrentHashMap<>();
-    private final Map<String, SellerDetail> sellers = new ConcurrentHashMap<>();
-    private final Map<String, List<RelatedItem>> relatedItems = new ConcurrentHashMap<>();
-    private final Map<String, List<Question>> questions = new ConcurrentHashMap<>();
-    private final Map<String, List<Review>> reviews = new ConcurrentHashMap<>();
-    private final Map<String, List<ShippingOption>> shippingOptions = new ConcurrentHashMap<>();
+    private static final long DEFAULT_SPLIT_SIZE_MB = 64;
+    private static final int DELTA_BATCH_SIZE = 500;
+    private static final long INITIAL_RETRY_MILLIS = 1_000;
+    private static final long MAX_RETRY_MILLIS = 60_000;
 
-    public SampleDataLoader(ObjectMapper objectMapper) {
+    private final ObjectMapper objectMapper;
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    private final String catalogLocation;
+    private final int parallelism;
+    private final long splitSizeBytes;
+    private final Path snapshotPath;
+    private final boolean lazyContent;
+    private final boolean asyncLoad;
+
+    // Fecha las ventanas de tendencia de reseñas de cada generación.
+    private final Clock clock;
+    private final AtomicReference<Catalog> current;
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Object reloadLock = new Object();
+    // Lectura: altas de reseñas y preguntas. Escritura: lotes de deltas y publicación de generaciones.
+    private final ReadWriteLock catalogLock = new ReentrantReadWriteLock();
+    private final CatalogJournal journal = new CatalogJournal();
+    // Escrituras del journal que todavía no tenía la generación parcial publicada por begin().
+    private volatile long partialJournalStart;
+    private CompletableFuture<CatalogStatus> pendingReload;
+    // Reintento programado de la carga inicial asíncrona y cuántas fallaron; se acceden con reloadLock.
+    private Instant nextRetryAt;
+    private int failedInitialLoads;
+
+    private volatile String lastSource;
+    private volatile Instant lastLoadedAt;
+    private volatile long lastLoadMillis;
+    private volatile String lastError;
+    private volatile Catalog loading;
+    private volatile int totalShards;
+    private final AtomicInteger loadedShards = new AtomicInteger();
+
+    @Autowired
+    public SampleDataLoader(
+            ObjectMapper objectMapper,
+            @Value("${catalog.location:classpath:data/catalog.json}") String catalogLocation,
+            @Value("${catalog.loader.parallelism:0}") int parallelism,
+            @Value("${catalog.loader.split-size-mb:" + DEFAULT_SPLIT_SIZE_MB + "}") long splitSizeMb,
+            @Value("${catalog.snapshot.path:}") String snapshotPath,
+            @Value("${catalog.lazy-content:false}") boolean lazyContent,
+            @Value("${catalog.loader.async:false}") boolean asyncLoad,
+            Clock clock
+    ) {
         this.objectMapper = objectMapper;
+        this.catalogLocation = catalogLocation;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.splitSizeBytes = Math.min(Math.max(splitSizeMb, 1) * 1024 * 1024, Integer.MAX_VALUE);
+        this.snapshotPath = snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.lazyContent = lazyContent;
+        this.asyncLoad = asyncLoad;
+        this.clock = clock;
+        this.current = new AtomicReference<>(new Catalog(0, false, clock));
+    }
+
+    public SampleDataLoader(ObjectMapper objectMapper, String catalogLocation, int parallelism, long splitSizeMb,
+            String snapshotPath, boolean lazyContent, boolean asyncLoad) {
+        this(objectMapper, catalogLocation, parallelism, splitSizeMb, snapshotPath, lazyContent, asyncLoad,
+            Clock.systemUTC());
     }
 
+    public SampleDataLoader(ObjectMapper objectMapper, String catalogLocation, Clock clock) {
+        this(objectMapper, catalogLocation, 0, DEFAULT_SPLIT_SIZE_MB, null, false, false, clock);
+    }
+
+    public SampleDataLoader(ObjectMapper objectMapper, String catalogLocation) {
+        this(objectMapper, catalogLocation, Clock.systemUTC());
+    }
+
+    /**
+     * Con {@code catalog.loader.async=true} la carga inicial corre en segundo plano y el contexto arranca sin
+     * esperarla; mientras tanto se sirven los items ya cargados. Si falla se reintenta sola con espera exponencial;
+     * sin carga asíncrona, una falla corta el arranque.
+     */
     @PostConstruct
+    void start() {
+        if (asyncLoad) {
+            log.info("Carga inicial del catálogo en segundo plano desde {}", catalogLocation);
+            reload();
+        } else {
+            loadSampleData();
+        }
+    }
+
     public void loadSampleData() {
-        Resource resource = new ClassPathResource("data/catalog.json");
-        if (!resource.exists()) {
-            throw new IllegalStateException("No se encontró el archivo data/catalog.json");
+        resetPeakHeapUsage();
+        long start = System.nanoTime();
+        Catalog next = begin(new Catalog(current.get().generation() + 1, lazyContent, clock));
+
+        List<Resource> resources = resolveResources();
+        String fingerprint = fingerprint(resources);
+        String source;
+        if (snapshotPath != null && loadSnapshot(next, fingerprint)) {
+            source = "snapshot";
+        } else {
+            next = begin(new Catalog(next.generation(), lazyContent, clock));
+            loadJson(next, resources);
+            source = "json";
+            if (snapshotPath != null) {
+                writeSnapshot(next, fingerprint);
+            }
+        }
+
+        // Las escrituras aceptadas desde el arranque no están en las fuentes: se vuelven a aplicar, la mayoría fuera
+        // del lock y bajo el lock las que llegaron mientras tanto, así ninguna se pierde con el swap.
+        long replayed = 0;
+        if (current.get() != next) {
+            replayed = journal.size();
+            journal.replay(next, 0, replayed);
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        catalogLock.writeLock().lock();
+        try {
+            if (current.get() == next) {
+                // La generación parcial ya recibió las escrituras posteriores a su publicación.
+                journal.replay(next, 0, partialJournalStart);
+            } else {
+                journal.replay(next, replayed, journal.size());
+            }
+            current.set(next);
+        } finally {
+            catalogLock.writeLock().unlock();
+        }
+        // Listo recién después del swap: antes, isReady() daría por completa la generación parcial publicada.
+        lastSource = source;
+        lastLoadMillis = elapsedMillis;
+        lastError = null;
+        lastLoadedAt = Instant.now();
+        loading = null;
+        log.info("Catálogo generación {} publicado desde {} ({}): {} items en {} ms ({} items/s, pico de heap {} MB, "
+                + "{} valores deduplicados, ~{} KB ahorrados)",
+            next.generation(), source, "snapshot".equals(source) ? snapshotPath : catalogLocation, next.size(),
+            elapsedMillis, next.size() * 1000L / elapsedMillis, peakHeapUsage() / (1024 * 1024),
+            next.canonicalizer().hits(), next.canonicalizer().bytesSaved() / 1024);
+    }
+
+    /**
+     * Construye una nueva generación en segundo plano y la publica con un único swap atómico.
+     * Las recargas concurrentes se unifican en la que ya está en curso.
+     */
+    public CompletableFuture<CatalogStatus> reload() {
+        synchronized (reloadLock) {
+            if (pendingReload != null && !pendingReload.isDone()) {
+                return pendingReload;
+            }
+            pendingReload = CompletableFuture.supplyAsync(() -> {
+                try {
+                    loadSampleData();
+                    return status();
+                } catch (RuntimeException ex) {
+                    loading = null;
+                    lastError = ex.getMessage();
+                    if (isReady()) {
+                        log.error("Falló la recarga del catálogo, se mantiene la generación {}",
+                            current.get().generation(), ex);
+                    } else {
+                        // La carga inicial publicó su generación a medida que avanzaba: se retira para no servir
+                        // datos parciales como si la carga siguiera en curso.
+                        catalogLock.writeLock().lock();
+                        try {
+                            current.set(new Catalog(current.get().generation(), lazyContent, clock));
+                        } finally {
+                            catalogLock.writeLock().unlock();
+                        }
+                        log.error("Falló la carga inicial del catálogo, no hay items publicados", ex);
+                        scheduleInitialRetry();
+                    }
+                    throw ex;
+                }
+            }, reloadExecutor);
+            return pendingReload;
+        }
+    }
+
+    /**
+     * Programa otro intento de la carga inicial asíncrona, esperando desde {@link #INITIAL_RETRY_MILLIS} el doble en
+     * cada falla hasta {@link #MAX_RETRY_MILLIS}. Si ya hay uno programado, una recarga manual fallida no agrega otro.
+     */
+    private void scheduleInitialRetry() {
+        if (!asyncLoad || reloadExecutor.isShutdown()) {
+            return;
+        }
+        synchronized (reloadLock) {
+            if (nextRetryAt != null) {
+                return;
+            }
+            long delay = Math.min(INITIAL_RETRY_MILLIS << Math.min(failedInitialLoads++, 6), MAX_RETRY_MILLIS);
+            nextRetryAt = Instant.now().plusMillis(delay);
+            log.warn("Se reintenta la carga inicial del catálogo en {} ms (falla {})", delay, failedInitialLoads);
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+                synchronized (reloadLock) {
+                    nextRetryAt = null;
+                }
+                if (!isReady() && !reloadExecutor.isShutdown()) {
+                    reload();
+                }
+            });
+        }
+    }
+
+    /**
+     * Aplica un feed NDJSON de cambios en lotes sobre la generación publicada. Cada lote se decodifica fuera del
+     * lock y se aplica de forma atómica respecto de otros lotes y del swap de generaciones. Los cambios aplicados se
+     * vuelven a aplicar sobre cada generación recargada, así que tanto ellos como la marca de agua sobreviven a una
+     * recarga completa.
+     */
+    public DeltaResult applyDeltas(InputStream input) {
+        long feedStart = current.get().watermark();
+        DeltaResult result = new DeltaResult(0, 0, 0, 0, feedStart);
+        long received = 0;
+        try (MappingIterator<DeltaData> records = objectMapper.readerFor(DeltaData.class).readValues(input)) {
+            List<CatalogChange> batch = new ArrayList<>(DELTA_BATCH_SIZE);
+            while (records.hasNextValue()) {
+                batch.add(toChange(records.nextValue()));
+                received++;
+                if (batch.size() == DELTA_BATCH_SIZE) {
+                    result = result.plus(applyBatch(batch, feedStart));
+                    batch.clear();
+                }
+            }
+            result = result.plus(applyBatch(batch, feedStart));
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalArgumentException("Delta inválido en la posición " + (received + 1), ex);
+        }
+        if (result.skipped() > 0) {
+            log.warn("Feed de deltas: {} cambios aplicados, {} duplicados, {} fuera de orden, {} sobre items "
+                + "inexistentes", result.applied(), result.duplicates(), result.outOfOrder(), result.unknownItems());
+        }
+        return result;
+    }
+
+    /**
+     * Registra la generación en construcción para el seguimiento del progreso. Si todavía no se publicó ninguna
+     * generación completa, la publica de inmediato para servir los items a medida que se cargan.
+     */
+    private Catalog begin(Catalog catalog) {
+        loading = catalog;
+        loadedShards.set(0);
+        totalShards = 0;
+        if (!isReady()) {
+            catalogLock.writeLock().lock();
+            try {
+                current.set(catalog);
+                partialJournalStart = journal.size();
+            } finally {
+                catalogLock.writeLock().unlock();
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Indica si ya se publicó al menos una generación completa; hasta entonces la ausencia de un item puede
+     * deberse a que todavía no se cargó.
+     */
+    public boolean isReady() {
+        return lastLoadedAt != null;
+    }
+
+    private DeltaResult applyBatch(List<CatalogChange> batch, long feedStart) {
+        catalogLock.writeLock().lock();
+        try {
+            Catalog catalog = current.get();
+            return batch.isEmpty() ? new DeltaResult(0, 0, 0, 0, catalog.watermark())
+                : catalog.apply(batch, feedStart, journal::record);
+        } finally {
+            catalogLock.writeLock().unlock();
+        }
+    }
+
+    public CatalogStatus status() {
+        Catalog catalog = current.get();
+        Catalog building = loading;
+        boolean reloading;
+        Instant retryAt;
+        synchronized (reloadLock) {
+            reloading = pendingReload != null && !pendingReload.isDone();
+            retryAt = nextRetryAt;
+        }
+        CatalogReadiness readiness = isReady() ? CatalogReadiness.READY
+            : building == null && lastError != null ? CatalogReadiness.FAILED
+            : catalog.size() > 0 ? CatalogReadiness.PARTIAL : CatalogReadiness.NOT_READY;
+        return new CatalogStatus(catalog.generation(), catalog.size(), catalog.watermark(), lastSource, lastLoadedAt,
+            lastLoadMillis, catalog.canonicalizer().bytesSaved(), reloading, lastError, readiness,
+            building == null ? 0 : building.size(), loadedShards.get(), totalShards, retryAt);
+    }
+
+    /**
+     * Indica si el archivo pertenece a las fuentes del catálogo, para que el watcher ignore el resto del directorio.
+     */
+    public boolean isCatalogSource(Path file) {
+        try {
+            for (Resource resource : resourceResolver.getResources(catalogLocation)) {
+                if (resource.isFile() && resource.getFile().toPath().toAbsolutePath().equals(file.toAbsolutePath())) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    public List<Path> sourceDirectories() {
+        try {
+            List<Path> directories = new ArrayList<>();
+            for (Resource resource : resourceResolver.getResources(catalogLocation)) {
+                if (resource.isFile()) {
+                    Path directory = resource.getFile().toPath().toAbsolutePath().getParent();
+                    if (!directories.contains(directory)) {
+                        directories.add(directory);
+                    }
+                }
+            }
+            return directories;
+        } catch (IOException ex) {
+            return List.of();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reloadExecutor.shutdownNow();
+    }
+
+    private void loadJson(Catalog catalog, List<Resource> resources) {
+        List<CatalogShard> shards = toShards(resources);
+        totalShards = shards.size();
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, shards.size()));
+        try {
+            List<Callable<ShardResult>> tasks = shards.stream()
+                .<Callable<ShardResult>>map(shard -> () -> loadShard(catalog, shard))
+                .toList();
+            for (Future<ShardResult> future : pool.invokeAll(tasks)) {
+                ShardResult result = future.get();
+                log.info("Shard {}: {} items en {} ms", result.name(), result.records(), result.millis());
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("No se pudieron cargar los datos de ejemplo", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carga del catálogo interrumpida", ex);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private boolean loadSnapshot(Catalog catalog, String fingerprint) {
+        if (!Files.isRegularFile(snapshotPath)) {
+            return false;
+        }
+        try {
+            totalShards = 1;
+            CatalogSnapshotFile.read(snapshotPath, fingerprint, catalog.canonicalizer(), catalog::register,
+                catalog::register);
+            loadedShards.incrementAndGet();
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Snapshot {} descartado, se recarga desde JSON: {}", snapshotPath, ex.getMessage());
+            return false;
+        }
+    }
+
+    private void writeSnapshot(Catalog catalog, String fingerprint) {
+        long start = System.nanoTime();
+        List<CatalogEntry> entries = catalog.items().stream()
+            .map(catalog::entry)
+            .toList();
+        try {
+            CatalogSnapshotFile.write(snapshotPath, fingerprint, catalog.sellers(), entries);
+            log.info("Snapshot del catálogo escrito en {} ({} ms)", snapshotPath,
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("No se pudo escribir el snapshot {}: {}", snapshotPath, ex.getMessage());
         }
+    }
+
+    private List<Resource> resolveResources() {
+        try {
+            List<Resource> resources = Arrays.stream(resourceResolver.getResources(catalogLocation))
+                .filter(Resource::exists)
+                .toList();
+            if (resources.isEmpty()) {
+                throw new IllegalStateException("No se encontró el archivo " + catalogLocation);
+            }
+            return resources;
+        } catch (IOException ex) {
+            throw new IllegalStateException("No se pudo resolver " + catalogLocation, ex);
+        }
+    }
 
-        try (InputStream inputStream = resource.getInputStream()) {
-            CatalogData catalog = objectMapper.readValue(inputStream, CatalogData.class);
-            Item item = toItem(catalog.item());
-            items.put(item.getId(), item);
-
-            SellerDetail seller = toSeller(catalog.seller());
-            sellers.put(seller.id(), seller);
-
-            relatedItems.put(item.getId(), catalog.relatedItems()
-                    .stream()
-                    .map(this::toRelatedItem)
-                    .toList());
-
-            questions.put(item.getId(), catalog.questions()
-                    .stream()
-                    .map(this::toQuestion)
-                    .toList());
-
-            reviews.put(item.getId(), catalog.reviews()
-                    .stream()
-                    .map(this::toReview)
-                    .toList());
-
-            shippingOptions.put(item.getId(), catalog.shippingOptions()
-                    .stream()
-                    .map(this::toShippingOption)
-                    .toList());
+    private static String fingerprint(List<Resource> resources) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (Resource resource : resources) {
+            fingerprint.append(resource.getDescription()).append('|');
+            try {
+                fingerprint.append(resource.contentLength()).append('|').append(resource.lastModified());
+            } catch (IOException ex) {
+                fingerprint.append('?');
+            }
+            fingerprint.append(';');
+        }
+        return fingerprint.toString();
+    }
+
+    private List<CatalogShard> toShards(List<Resource> resources) {
+        try {
+            List<CatalogShard> shards = new ArrayList<>();
+            for (Resource resource : resources) {
+                if (isSplittable(resource)) {
+                    shards.addAll(splitByLines(resource));
+                } else {
+                    shards.add(new CatalogShard(resource.getDescription(), resource, 0, -1));
+                }
+            }
+            return shards;
         } catch (IOException ex) {
-            throw new IllegalStateException("No se pudieron cargar los datos de ejemplo", ex);
+            throw new IllegalStateException("No se pudo dividir " + catalogLocation, ex);
+        }
+    }
+
+    private boolean isSplittable(Resource resource) throws IOException {
+        String filename = resource.getFilename();
+        return resource.isFile()
+            && filename != null
+            && filename.endsWith(".ndjson")
+            && resource.contentLength() > splitSizeBytes;
+    }
+
+    private List<CatalogShard> splitByLines(Resource resource) throws IOException {
+        Path path = resource.getFile().toPath();
+        long size = Files.size(path);
+        List<CatalogShard> shards = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long start = 0;
+            while (start < size) {
+                long end = nextLineBoundary(channel, Math.min(start + splitSizeBytes, size), size);
+                shards.add(new CatalogShard(
+                    resource.getFilename() + "[" + start + "-" + end + ")", resource, start, end - start));
+                start = end;
+            }
+        }
+        return shards;
+    }
+
+    private static long nextLineBoundary(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private ShardResult loadShard(Catalog catalog, CatalogShard shard) throws IOException {
+        long start = System.nanoTime();
+        long loaded = 0;
+        try (InputStream inputStream = shard.open();
+             MappingIterator<CatalogData> records = objectMapper.readerFor(CatalogData.class)
+                 .readValues(inputStream)) {
+            while (records.hasNextValue()) {
+                register(catalog, records.nextValue());
+                loaded++;
+            }
+        } catch (RuntimeException ex) {
+            throw new IOException("Registro inválido en " + shard.name(), ex);
         }
+        loadedShards.incrementAndGet();
+        return new ShardResult(shard.name(), loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void register(Catalog catalog, CatalogData data) {
+        ValueCanonicalizer canonicalizer = catalog.canonicalizer();
+        if (data.seller() != null) {
+            catalog.register(toSeller(data.seller(), canonicalizer));
+        }
+        catalog.register(toEntry(data, canonicalizer));
+    }
+
+    private CatalogChange toChange(DeltaData delta) throws IOException {
+        ValueCanonicalizer canonicalizer = current.get().canonicalizer();
+        boolean upsert = switch (Objects.requireNonNull(delta.op(), "op no puede ser nulo")) {
+            case "upsert" -> true;
+            case "delete" -> false;
+            default -> throw new IllegalArgumentException("op desconocida: " + delta.op());
+        };
+        return switch (Objects.requireNonNull(delta.type(), "type no puede ser nulo")) {
+            case "item" -> upsert
+                ? toItemUpsert(delta.seq(), objectMapper.treeToValue(delta.data(), CatalogData.class), canonicalizer)
+                : new CatalogChange.ItemDelete(delta.seq(), Objects.requireNonNull(delta.id(), "id no puede ser nulo"));
+            case "review" -> upsert
+                ? new CatalogChange.ReviewUpsert(delta.seq(),
+                    toReview(objectMapper.treeToValue(delta.data(), ReviewData.class), canonicalizer))
+                : new CatalogChange.ReviewDelete(delta.seq(),
+                    Objects.requireNonNull(delta.itemId(), "itemId no puede ser nulo"),
+                    Objects.requireNonNull(delta.id(), "id no puede ser nulo"));
+            case "question" -> upsert
+                ? new CatalogChange.QuestionUpsert(delta.seq(),
+                    toQuestion(objectMapper.treeToValue(delta.data(), QuestionData.class), canonicalizer))
+                : new CatalogChange.QuestionDelete(delta.seq(),
+                    Objects.requireNonNull(delta.itemId(), "itemId no puede ser nulo"),
+                    Objects.requireNonNull(delta.id(), "id no puede ser nulo"));
+            default -> throw new IllegalArgumentException("type desconocido: " + delta.type());
+        };
+    }
+
+    private CatalogChange.ItemUpsert toItemUpsert(long sequence, CatalogData data, ValueCanonicalizer canonicalizer) {
+        return new CatalogChange.ItemUpsert(
+            sequence,
+            data.seller() == null ? null : toSeller(data.seller(), canonicalizer),
+            new CatalogEntry(
+                toItem(data.item(), canonicalizer),
+                data.relatedItems() == null ? null : data.relatedItems().stream()
+                    .map(related -> toRelatedItem(related, canonicalizer))
+                    .toList(),
+                data.questions() == null ? null : data.questions().stream()
+                    .map(question -> toQuestion(question, canonicalizer))
+                    .toList(),
+                data.reviews() == null ? null : data.reviews().stream()
+                    .map(review -> toReview(review, canonicalizer))
+                    .toList(),
+                data.shippingOptions() == null ? null : data.shippingOptions().stream()
+                    .map(option -> toShippingOption(option, canonicalizer))
+                    .toList()
+            )
+        );
+    }
+
+    private CatalogEntry toEntry(CatalogData catalog, ValueCanonicalizer canonicalizer) {
+        return new CatalogEntry(
+            toItem(catalog.item(), canonicalizer),
+            orEmpty(catalog.relatedItems()).stream()
+                .map(related -> toRelatedItem(related, canonicalizer))
+                .toList(),
+            orEmpty(catalog.questions()).stream()
+                .map(question -> toQuestion(question, canonicalizer))
+                .toList(),
+            orEmpty(catalog.reviews()).stream()
+                .map(review -> toReview(review, canonicalizer))
+                .toList(),
+            orEmpty(catalog.shippingOptions()).stream()
+                .map(option -> toShippingOption(option, canonicalizer))
+                .toList()
+        );
     }
 
     public Optional<Item> findItemById(String id) {
-        return Optional.ofNullable(items.get(id));
+        return Optional.ofNullable(current.get().item(id));
     }
 
     public List<Item> findAllItems() {
-        return List.copyOf(items.values());
+        return List.copyOf(current.get().items());
     }
 
     public Optional<SellerDetail> findSellerById(String id) {
-        return Optional.ofNullable(sellers.get(id));
+        return Optional.ofNullable(current.get().seller(id));
     }
 
     public List<RelatedItem> findRelatedItems(String itemId) {
-        return relatedItems.getOrDefault(itemId, List.of());
+        return current.get().relatedItems(itemId);
     }
 
     public List<Question> findQuestions(String itemId) {
-        return questions.getOrDefault(itemId, List.of());
+        return current.get().questions(itemId);
+    }
+
+    public SearchResult<Question> searchQuestions(String itemId, String query, int offset, int limit) {
+        return current.get().questionIndex(itemId).search(query, offset, limit);
+    }
+
+    /**
+     * Como {@link #appendReview(Review)}, las preguntas y respuestas nuevas se escriben en la generación publicada y
+     * se vuelven a aplicar sobre la próxima recarga completa.
+     */
+    public boolean addQuestion(Question question) {
+        return write(catalog -> catalog.addQuestion(question, journal::record));
+    }
+
+    public Optional<Question> answerQuestion(String itemId, String questionId, String answer,
+            OffsetDateTime answeredAt) {
+        return Optional.ofNullable(
+            write(catalog -> catalog.answerQuestion(itemId, questionId, answer, answeredAt, journal::record)));
+    }
+
+    public ResponseStats findResponseStats(String sellerId) {
+        return current.get().responseStats(sellerId);
+    }
+
+    public List<Question> findQuestionPage(String itemId, Boolean answered, int offset, int limit) {
+        return current.get().questionIndex(itemId).page(answered, offset, limit);
+    }
+
+    public List<Question> findQuestionPage(String itemId, QuestionCursor after, Boolean answered, int limit) {
+        return current.get().questionIndex(itemId).pageAfter(after, answered, limit);
+    }
+
+    public int countQuestions(String itemId, Boolean answered) {
+        return current.get().questionIndex(itemId).count(answered);
+    }
+
+    public List<QuestionGroup> findQuestionGroupPage(String itemId, Boolean answered, int offset, int limit) {
+        return current.get().questionIndex(itemId).groupPage(answered, offset, limit);
+    }
+
+    public List<QuestionGroup> findQuestionGroupPage(String itemId, QuestionCursor after, Boolean answered,
+            int limit) {
+        return current.get().questionIndex(itemId).groupPageAfter(after, answered, limit);
+    }
+
+    public int countQuestionGroups(String itemId, Boolean answered) {
+        return current.get().questionIndex(itemId).countGroups(answered);
+    }
+
+    public List<Question> findSimilarAnsweredQuestions(String itemId, String text, int limit) {
+        return current.get().questionIndex(itemId).similarAnswered(text, limit);
+    }
+
+    public SearchResult<Review> searchReviews(String itemId, String query, int offset, int limit) {
+        return current.get().reviewColumns(itemId).search(query, offset, limit);
     }
 
     public List<Review> findReviews(String itemId) {
-        return reviews.getOrDefault(itemId, List.of());
+        return current.get().reviews(itemId);
+    }
+
+    public void forEachReview(String itemId, Consumer<Review> action) {
+        current.get().reviewColumns(itemId).forEach(action);
+    }
+
+    /**
+     * Recorre la generación vigente al momento de la llamada; solo se ordenan los ids de los items.
+     */
+    public void forEachReview(Consumer<Review> action) {
+        Catalog catalog = current.get();
+        catalog.items().stream()
+            .map(Item::getId)
+            .sorted()
+            .forEach(itemId -> catalog.reviewColumns(itemId).forEach(action));
+    }
+
+    /**
+     * Agrega la reseña a la generación publicada sin excluir a otros escritores: las altas de distintos escritores
+     * se agrupan por item. Como los deltas, queda en el journal y sobrevive a una recarga completa.
+     */
+    public boolean appendReview(Review review) {
+        return write(catalog -> catalog.appendReview(review, journal::record));
+    }
+
+    /**
+     * Las altas comparten el lock de lectura: entre ellas no se excluyen, pero un lote de deltas o el swap de
+     * generaciones esperan a que terminen, así ninguna queda escrita en una generación ya reemplazada ni fuera del
+     * orden del journal.
+     */
+    private <T> T write(Function<Catalog, T> change) {
+        catalogLock.readLock().lock();
+        try {
+            return change.apply(current.get());
+        } finally {
+            catalogLock.readLock().unlock();
+        }
+    }
+
+    public List<Review> findReviewPage(String itemId, ReviewSort sort, ReviewFilter filter, int offset, int limit) {
+        return current.get().reviewColumns(itemId).page(sort, filter, offset, limit);
+    }
+
+    public List<Review> findReviewPage(String itemId, ReviewCursor after, ReviewFilter filter, int limit) {
+        return current.get().reviewColumns(itemId).pageAfter(after, filter, limit);
+    }
+
+    public int countReviews(String itemId, ReviewFilter filter) {
+        return current.get().reviewColumns(itemId).count(filter);
+    }
+
+    public ReviewSummary findReviewSummary(String itemId) {
+        return current.get().reviewColumns(itemId).summary();
+    }
+
+    public ReviewTrend findReviewTrend(String itemId) {
+        return current.get().reviewTrend(itemId);
     }
 
     public List<ShippingOption> findShippingOptions(String itemId) {
-        return shippingOptions.getOrDefault(itemId, List.of());
+        return current.get().shippingOptions(itemId);
+    }
+
+    private static <T> List<T> orEmpty(List<T> values) {
+        return values == null ? List.of() : values;
     }
 
-    private Item toItem(ItemData data) {
+    private static void resetPeakHeapUsage() {
+        ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private static long peakHeapUsage() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .mapToLong(pool -> pool.getPeakUsage().getUsed())
+            .sum();
+    }
+
+    private Item toItem(ItemData data, ValueCanonicalizer canonicalizer) {
         return Item.builder()
             .id(data.id())
             .title(data.title())
             .permalink(data.permalink())
-            .condition(data.condition())
-            .warranty(data.warranty())
+            .condition(canonicalizer.string(data.condition()))
+            .warranty(canonicalizer.string(data.warranty()))
             .description(data.description())
-            .price(new Item.Price(new BigDecimal(String.valueOf(data.price().amount())), data.price().currency()))
+            .price(new Item.Price(
+                Money.of(data.price().amount(), canonicalizer.string(data.price().currency()))
+            ))
             .availableQuantity(data.availableQuantity())
             .soldQuantity(data.soldQuantity())
             .lastUpdated(OffsetDateTime.parse(data.lastUpdated()))
-            .seller(new Item.Seller(
+            .seller(canonicalizer.seller(new Item.Seller(
                 data.seller().id(),
                 data.seller().nickname(),
                 data.seller().reputation()
-            ))
-            .shipping(new Item.Shipping(
+            )))
+            .shipping(canonicalizer.shipping(new Item.Shipping(
                 data.shipping().freeShipping(),
                 data.shipping().logisticType(),
-                List.copyOf(data.shipping().tags())
-            ))
+                data.shipping().tags()
+            )))
             .pictures(data.pictures().stream()
                 .map(p -> new Item.Picture(
                     p.url(),
                     p.secureUrl(),
-                    p.type(),
+                    canonicalizer.string(p.type()),
                     p.order()
                 ))
                 .toList())
             .attributes(data.attributes().stream()
-                .map(a -> new Item.Attribute(
+                .map(a -> canonicalizer.attribute(new Item.Attribute(
                     a.id(),
                     a.name(),
                     a.valueName()
-                ))
+                )))
                 .toList())
             .build();
     }
 
-    private SellerDetail toSeller(SellerData data) {
+    private SellerDetail toSeller(SellerData data, ValueCanonicalizer canonicalizer) {
         return new SellerDetail(
-            data.id(),
-            data.nickname(),
+            canonicalizer.string(data.id()),
+            canonicalizer.string(data.nickname()),
             data.reputation(),
-            data.reputationLevel(),
+            canonicalizer.string(data.reputationLevel()),
             data.totalSales(),
             data.responseRate(),
             data.responseTimeHours(),
-            List.copyOf(data.policies())
+            canonicalizer.strings(data.policies())
         );
     }
 
-    private RelatedItem toRelatedItem(RelatedItemData data) {
+    private RelatedItem toRelatedItem(RelatedItemData data, ValueCanonicalizer canonicalizer) {
         return new RelatedItem(
-            data.id(),
-            data.title(),
-            new BigDecimal(String.valueOf(data.price())),
-            data.thumbnail()
+            canonicalizer.string(data.id()),
+            canonicalizer.string(data.title()),
+            Money.of(data.price(), Money.CATALOG_CURRENCY),
+            canonicalizer.string(data.thumbnail())
         );
     }
 
-    private Question toQuestion(QuestionData data) {
+    private Question toQuestion(QuestionData data, ValueCanonicalizer canonicalizer) {
         return new Question(
             data.id(),
-            data.itemId(),
+            canonicalizer.string(data.itemId()),
             data.text(),
             OffsetDateTime.parse(data.askedAt()),
             data.answer(),
@@ -178,10 +854,10 @@ public class SampleDataLoader {
         );
     }
 
-    private Review toReview(ReviewData data) {
+    private Review toReview(ReviewData data, ValueCanonicalizer canonicalizer) {
         return new Review(
             data.id(),
-            data.itemId(),
+            canonicalizer.string(data.itemId()),
             data.author(),
             data.rating(),
             data.title(),
@@ -190,14 +866,31 @@ public class SampleDataLoader {
         );
     }
 
-    private ShippingOption toShippingOption(ShippingOptionData data) {
-        return new ShippingOption(
+    private ShippingOption toShippingOption(ShippingOptionData data, ValueCanonicalizer canonicalizer) {
+        return canonicalizer.shippingOption(new ShippingOption(
             data.type(),
             data.carrier(),
-            new BigDecimal(String.valueOf(data.cost())),
+            Money.of(data.cost(), Money.CATALOG_CURRENCY),
             data.estimatedDeliveryDays(),
             data.pickupAvailable()
-        );
+        ));
+    }
+
+    private record CatalogShard(String name, Resource resource, long offset, long length) {
+        InputStream open() throws IOException {
+            if (length < 0) {
+                return resource.getInputStream();
+            }
+            try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                return new ByteBufferBackedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+            }
+        }
+    }
+
+    private record ShardResult(String name, long records, long millis) {
+    }
+
+    private record DeltaData(long seq, String op, String type, String itemId, String id, JsonNode data) {
     }
 
     private record CatalogData(
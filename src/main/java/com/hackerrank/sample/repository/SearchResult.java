@@ -0,0 +1,9 @@
+package com.hackerrank.sample.repository;
+
+import java.util.List;
+
+/**
+ * Página de resultados de una búsqueda de texto, ordenada por relevancia, junto con el total de coincidencias.
+ */
+public record SearchResult<T>(int total, List<T> results) {
+}
@@ -5,6 +5,12 @@ import java.util.Optional;
 
 public interface SellerDetailRepository {
     Optional<SellerDetail> findDetailById(String sellerId);
+
+    /**
+     * Devuelve las estadísticas de respuesta a preguntas sobre todos los items del vendedor, mantenidas a medida
+     * que cambian las preguntas.
+     */
+    ResponseStats findResponseStatsBySellerId(String sellerId);
 }
 
 
@@ -0,0 +1,57 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.ShippingOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Vista para cotizar cada item en todas las regiones de envío con un mismo juego de reglas, aunque se recarguen
+ * mientras tanto. Las cotizaciones no pasan por el cache de cotizaciones, así un recorrido completo no desplaza a las
+ * regiones que concentran el tráfico. Es segura para usar desde varios hilos.
+ */
+public final class ShippingMatrix {
+
+    /**
+     * Etiqueta de la región por defecto, la de los códigos que no coinciden con ningún prefijo.
+     */
+    public static final String DEFAULT_REGION = "*";
+
+    private final ShippingRules rules;
+    private final Function<String, List<ShippingOption>> baseOptions;
+    private final List<String> regions;
+
+    ShippingMatrix(ShippingRules rules, Function<String, List<ShippingOption>> baseOptions) {
+        this.rules = rules;
+        this.baseOptions = baseOptions;
+        List<String> labels = new ArrayList<>(rules.regionCount() - 1);
+        // La región de código vacío no ajusta nada y no se incluye.
+        for (int region = ShippingRules.NO_ZIPCODE + 1; region < rules.regionCount(); region++) {
+            String prefix = rules.regionPrefix(region);
+            labels.add(prefix.isEmpty() ? DEFAULT_REGION : prefix);
+        }
+        this.regions = List.copyOf(labels);
+    }
+
+    /**
+     * Prefijos de código postal de cada región, en orden de prefijo.
+     */
+    public List<String> regions() {
+        return regions;
+    }
+
+    /**
+     * Opciones del item sin ajustar por región; se piden una vez por item y se cotizan con {@link #quote(List, int)}.
+     */
+    public List<ShippingOption> baseOptions(String itemId) {
+        return baseOptions.apply(itemId);
+    }
+
+    /**
+     * @param base opciones de {@link #baseOptions(String)}
+     * @param region posición en {@link #regions()}
+     */
+    public List<ShippingOption> quote(List<ShippingOption> base, int region) {
+        return base.isEmpty() ? base : rules.apply(region + ShippingRules.NO_ZIPCODE + 1, base);
+    }
+}
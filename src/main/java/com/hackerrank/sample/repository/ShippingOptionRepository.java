@@ -4,7 +4,33 @@ import com.hackerrank.sample.model.ShippingOption;
 import java.util.List;
 
 public interface ShippingOptionRepository {
+    /**
+     * Opciones de envío del item ajustadas por las reglas de la región del código postal. Las cotizaciones se
+     * reutilizan mientras no cambien las opciones base del item ni las reglas.
+     */
     List<ShippingOption> findByItemIdAndZipcode(String itemId, String zipcode);
+
+    /**
+     * Como {@link #findByItemIdAndZipcode(String, String)} para varios items: la región se resuelve una sola vez y
+     * todos se cotizan con las mismas reglas. Devuelve una lista por item, en el mismo orden.
+     */
+    List<List<ShippingOption>> findByItemIdsAndZipcode(List<String> itemIds, String zipcode);
+
+    /**
+     * Vista para cotizar todos los items en todas las regiones con las reglas vigentes, sin usar el cache.
+     */
+    ShippingMatrix shippingMatrix();
+
+    ShippingRulesStatus shippingRulesStatus();
+
+    /**
+     * Vuelve a leer y compilar el archivo de reglas de envío y lo publica de forma atómica.
+     *
+     * @throws IllegalArgumentException si el archivo es inválido; en ese caso siguen vigentes las reglas anteriores
+     */
+    ShippingRulesStatus reloadShippingRules();
+
+    ShippingQuoteCacheStats shippingQuoteCacheStats();
 }
 
 
@@ -0,0 +1,157 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.ShippingOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cotizaciones de envío ya ajustadas por (item, región). Es un LRU segmentado: una cotización nueva entra a un
+ * segmento de prueba y pasa al protegido (80% de la capacidad) recién en su segundo acierto, así los pocos códigos
+ * postales que concentran el tráfico no son desplazados por una ráfaga de consultas únicas. Cada cotización recuerda
+ * las opciones base y las reglas con las que se calculó; si el item o las reglas cambiaron deja de valer y se
+ * recalcula. Las claves se reparten por hash entre hasta {@link #MAX_SHARDS} particiones independientes, cada una con
+ * su propio lock y su parte de la capacidad, así las consultas concurrentes no se serializan en un único lock.
+ */
+@Component
+public class ShippingQuoteCache {
+
+    static final int MAX_SHARDS = 16;
+    // Por debajo de esta capacidad por partición el LRU de cada una se vuelve demasiado chico para proteger algo.
+    private static final int MIN_SHARD_CAPACITY = 64;
+
+    private record Key(String itemId, int region) {
+    }
+
+    private record Quote(List<ShippingOption> base, ShippingRules rules, List<ShippingOption> options) {
+    }
+
+    private final int capacity;
+    private final Shard[] shards;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param capacity cantidad máxima de cotizaciones; 0 desactiva el cache.
+     */
+    @Autowired
+    public ShippingQuoteCache(@Value("${shipping.quote-cache.size:10000}") int capacity) {
+        this.capacity = Math.max(capacity, 0);
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_SHARDS, this.capacity / MIN_SHARD_CAPACITY)));
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(this.capacity / count + (i < this.capacity % count ? 1 : 0));
+        }
+    }
+
+    List<ShippingOption> get(String itemId, int region, List<ShippingOption> base, ShippingRules rules) {
+        if (capacity == 0) {
+            misses.increment();
+            return rules.apply(region, base);
+        }
+        Key key = new Key(itemId, region);
+        return shards[(key.hashCode() ^ key.hashCode() >>> 16) & (shards.length - 1)].get(key, base, rules);
+    }
+
+    /**
+     * Descarta todas las cotizaciones, por ejemplo al publicar reglas nuevas.
+     */
+    void invalidateAll() {
+        for (Shard shard : shards) {
+            shard.clear();
+        }
+    }
+
+    public ShippingQuoteCacheStats stats() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return new ShippingQuoteCacheStats(capacity, size, hits.sum(), misses.sum(), evictions.sum(),
+            invalidations.sum());
+    }
+
+    private final class Shard {
+
+        private final int capacity;
+        private final int protectedCapacity;
+        private final LinkedHashMap<Key, Quote> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<Key, Quote> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+        private Shard(int capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = capacity * 4 / 5;
+        }
+
+        /**
+         * Un fallo calcula la cotización con el lock de la partición tomado: aplicar las reglas a unas pocas opciones
+         * cuesta menos que soltar el lock y volver a tomarlo para guardarla.
+         */
+        synchronized List<ShippingOption> get(Key key, List<ShippingOption> base, ShippingRules rules) {
+            Quote quote = lookup(key);
+            if (quote != null && quote.base() == base && quote.rules() == rules) {
+                hits.increment();
+                return quote.options();
+            }
+            misses.increment();
+            if (quote != null) {
+                invalidations.increment();
+            }
+            List<ShippingOption> options = rules.apply(key.region(), base);
+            if (protectedSegment.containsKey(key)) {
+                protectedSegment.put(key, new Quote(base, rules, options));
+            } else {
+                probation.put(key, new Quote(base, rules, options));
+                evictOverflow();
+            }
+            return options;
+        }
+
+        synchronized void clear() {
+            invalidations.add(probation.size() + protectedSegment.size());
+            probation.clear();
+            protectedSegment.clear();
+        }
+
+        synchronized int size() {
+            return probation.size() + protectedSegment.size();
+        }
+
+        private Quote lookup(Key key) {
+            Quote quote = protectedSegment.get(key);
+            if (quote != null) {
+                return quote;
+            }
+            quote = probation.remove(key);
+            if (quote == null) {
+                return null;
+            }
+            protectedSegment.put(key, quote);
+            if (protectedSegment.size() > protectedCapacity) {
+                // La menos usada del segmento protegido vuelve a prueba como la más reciente.
+                Iterator<Map.Entry<Key, Quote>> eldest = protectedSegment.entrySet().iterator();
+                Map.Entry<Key, Quote> demoted = eldest.next();
+                eldest.remove();
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+            return quote;
+        }
+
+        private void evictOverflow() {
+            while (probation.size() + protectedSegment.size() > capacity) {
+                LinkedHashMap<Key, Quote> segment = probation.isEmpty() ? protectedSegment : probation;
+                Iterator<Map.Entry<Key, Quote>> eldest = segment.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+}
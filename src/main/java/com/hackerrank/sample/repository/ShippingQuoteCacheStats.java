@@ -0,0 +1,15 @@
+package com.hackerrank.sample.repository;
+
+public record ShippingQuoteCacheStats(
+    int capacity,
+    int size,
+    long hits,
+    long misses,
+    long evictions,
+    long invalidations
+) {
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
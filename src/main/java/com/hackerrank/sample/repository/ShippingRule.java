@@ -0,0 +1,48 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.ShippingOption;
+import java.math.BigDecimal;
+
+/**
+ * Ajuste de una región de envío: días extra y recargo sobre el costo base de la opción, guardado en diezmilésimos
+ * para aplicarlo con aritmética entera.
+ */
+record ShippingRule(int extraDays, long surchargeUnits) {
+
+    static final long SURCHARGE_UNIT = 10_000;
+    static final ShippingRule NONE = new ShippingRule(0, SURCHARGE_UNIT);
+
+    ShippingRule {
+        if (extraDays < 0) {
+            throw new IllegalArgumentException("extraDays no puede ser negativo");
+        }
+        if (surchargeUnits <= 0) {
+            throw new IllegalArgumentException("surcharge debe ser positivo");
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException si el recargo no es positivo o tiene más de cuatro decimales
+     */
+    ShippingRule(int extraDays, BigDecimal surcharge) {
+        this(extraDays, units(surcharge));
+    }
+
+    private static long units(BigDecimal surcharge) {
+        try {
+            return surcharge.movePointRight(4).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("surcharge admite hasta cuatro decimales: " + surcharge, ex);
+        }
+    }
+
+    ShippingOption apply(ShippingOption option) {
+        return new ShippingOption(
+            option.type(),
+            option.carrier(),
+            option.cost().times(surchargeUnits, SURCHARGE_UNIT),
+            option.estimatedDeliveryDays() + extraDays,
+            option.pickupAvailable()
+        );
+    }
+}
@@ -0,0 +1,255 @@
+package com.hackerrank.sample.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hackerrank.sample.model.ShippingOption;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reglas de envío por prefijo de código postal compiladas en un trie de dígitos. Cada nodo con reglas propias define
+ * una región cuya tabla ya resuelve el ajuste de cada transportista: gana la regla del transportista con el prefijo
+ * más largo y, si no tiene, la regla general con el prefijo más largo. Los nodos sin reglas heredan la región del
+ * padre, así que buscar un código cuesta a lo sumo un salto por dígito y no crea objetos. Es inmutable.
+ *
+ * <p>Formato del archivo:
+ * <pre>
+ * {"default": {"extraDays": 1, "surcharge": "1.10"},
+ *  "rules": [{"prefixes": ["8", "9"], "extraDays": 3, "surcharge": "1.35"}],
+ *  "carriers": {"Correo Argentino": {"default": {...}, "rules": [...]}}}
+ * </pre>
+ */
+final class ShippingRules {
+
+    /**
+     * Región de un código postal vacío: no se ajusta ninguna opción.
+     */
+    static final int NO_ZIPCODE = 0;
+
+    private static final int RADIX = 10;
+
+    // children[nodo * RADIX + dígito] es el nodo hijo, 0 si no existe (el nodo 0 es la raíz y nunca es hijo).
+    private final int[] children;
+    private final int[] regions;
+    // Por región, el ajuste de cada transportista; la posición 0 es la de los transportistas sin reglas propias.
+    private final ShippingRule[][] table;
+    // Prefijo que define cada región; "" para la región por defecto y para la de código vacío.
+    private final List<String> regionPrefixes;
+    private final Map<String, Integer> carriers;
+    private final int ruleCount;
+
+    private ShippingRules(int[] children, int[] regions, ShippingRule[][] table, List<String> regionPrefixes,
+            Map<String, Integer> carriers, int ruleCount) {
+        this.children = children;
+        this.regions = regions;
+        this.table = table;
+        this.regionPrefixes = regionPrefixes;
+        this.carriers = carriers;
+        this.ruleCount = ruleCount;
+    }
+
+    /**
+     * @throws IllegalArgumentException si el archivo no respeta el formato
+     */
+    static ShippingRules compile(JsonNode root) {
+        if (root == null || !root.isObject()) {
+            throw new IllegalArgumentException("Las reglas de envío deben ser un objeto JSON");
+        }
+        Map<String, Integer> carriers = new HashMap<>();
+        JsonNode carrierNodes = root.path("carriers");
+        for (Iterator<String> names = carrierNodes.fieldNames(); names.hasNext(); ) {
+            carriers.put(names.next(), carriers.size() + 1);
+        }
+        Builder builder = new Builder(carriers.size() + 1);
+        builder.add("", 0, root.has("default") ? rule(root.get("default")) : ShippingRule.NONE);
+        builder.addAll(root.path("rules"), 0);
+        for (Map.Entry<String, Integer> carrier : carriers.entrySet()) {
+            JsonNode node = carrierNodes.get(carrier.getKey());
+            if (node.has("default")) {
+                builder.add("", carrier.getValue(), rule(node.get("default")));
+            }
+            builder.addAll(node.path("rules"), carrier.getValue());
+        }
+        return builder.build(Map.copyOf(carriers));
+    }
+
+    /**
+     * Región del código postal; se ignoran los espacios de los extremos y la búsqueda termina en el primer carácter
+     * que no es un dígito.
+     */
+    int region(CharSequence zipcode) {
+        int start = 0;
+        int end = zipcode == null ? 0 : zipcode.length();
+        while (start < end && Character.isWhitespace(zipcode.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(zipcode.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return NO_ZIPCODE;
+        }
+        int node = 0;
+        int region = regions[0];
+        for (int i = start; i < end; i++) {
+            int digit = zipcode.charAt(i) - '0';
+            if (digit < 0 || digit >= RADIX || (node = children[node * RADIX + digit]) == 0) {
+                break;
+            }
+            region = regions[node];
+        }
+        return region;
+    }
+
+    ShippingRule rule(int region, String carrier) {
+        ShippingRule[] rules = table[region];
+        Integer index = carriers.get(carrier);
+        return index == null ? rules[0] : rules[index];
+    }
+
+    List<ShippingOption> apply(int region, List<ShippingOption> options) {
+        List<ShippingOption> adjusted = new ArrayList<>(options.size());
+        for (ShippingOption option : options) {
+            adjusted.add(rule(region, option.carrier()).apply(option));
+        }
+        return List.copyOf(adjusted);
+    }
+
+    int ruleCount() {
+        return ruleCount;
+    }
+
+    int regionCount() {
+        return table.length;
+    }
+
+    String regionPrefix(int region) {
+        return regionPrefixes.get(region);
+    }
+
+    int carrierCount() {
+        return carriers.size();
+    }
+
+    private static ShippingRule rule(JsonNode node) {
+        JsonNode extraDays = node.path("extraDays");
+        JsonNode surcharge = node.path("surcharge");
+        if (!extraDays.canConvertToInt() || !(surcharge.isNumber() || surcharge.isTextual())) {
+            throw new IllegalArgumentException("Cada regla de envío necesita extraDays y surcharge: " + node);
+        }
+        try {
+            return new ShippingRule(extraDays.intValue(), new BigDecimal(surcharge.asText()));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("surcharge inválido: " + surcharge.asText(), ex);
+        }
+    }
+
+    private static final class Builder {
+
+        private final int width;
+        private int[] children = new int[RADIX * 64];
+        private final List<ShippingRule[]> own = new ArrayList<>();
+        private int ruleCount;
+
+        Builder(int width) {
+            this.width = width;
+            own.add(null);
+        }
+
+        void addAll(JsonNode rules, int carrier) {
+            for (JsonNode node : rules) {
+                ShippingRule rule = rule(node);
+                JsonNode prefixes = node.path("prefixes");
+                if (!prefixes.isArray() || prefixes.isEmpty()) {
+                    throw new IllegalArgumentException("Cada regla de envío necesita al menos un prefijo: " + node);
+                }
+                for (JsonNode prefix : prefixes) {
+                    String digits = prefix.asText();
+                    if (digits.isEmpty() || !digits.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                        throw new IllegalArgumentException("Prefijo de código postal inválido: " + prefix);
+                    }
+                    add(digits, carrier, rule);
+                }
+            }
+        }
+
+        void add(String prefix, int carrier, ShippingRule rule) {
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                int slot = node * RADIX + prefix.charAt(i) - '0';
+                if (children[slot] == 0) {
+                    children[slot] = own.size();
+                    own.add(null);
+                    if (own.size() * RADIX > children.length) {
+                        children = Arrays.copyOf(children, children.length * 2);
+                    }
+                }
+                node = children[slot];
+            }
+            if (own.get(node) == null) {
+                own.set(node, new ShippingRule[width]);
+            }
+            if (own.get(node)[carrier] != null) {
+                throw new IllegalArgumentException("Prefijo de código postal repetido: " + prefix);
+            }
+            own.get(node)[carrier] = rule;
+            ruleCount++;
+        }
+
+        ShippingRules build(Map<String, Integer> carriers) {
+            int size = own.size();
+            int[] regions = new int[size];
+            List<ShippingRule[]> table = new ArrayList<>();
+            ShippingRule[] none = new ShippingRule[width];
+            Arrays.fill(none, ShippingRule.NONE);
+            table.add(none);
+            List<String> regionPrefixes = new ArrayList<>();
+            regionPrefixes.add("");
+            String[] prefixes = new String[size];
+            prefixes[0] = "";
+            // Recorrido en profundidad llevando, por transportista, la regla del prefijo más largo visto.
+            int[] stack = new int[size];
+            ShippingRule[][] inherited = new ShippingRule[size][];
+            stack[0] = 0;
+            inherited[0] = new ShippingRule[width];
+            int depth = 1;
+            while (depth > 0) {
+                int node = stack[--depth];
+                ShippingRule[] rules = inherited[node];
+                // Los nodos sin reglas propias conservan la región del padre, asignada al apilarlos.
+                if (own.get(node) != null) {
+                    rules = rules.clone();
+                    for (int carrier = 0; carrier < width; carrier++) {
+                        if (own.get(node)[carrier] != null) {
+                            rules[carrier] = own.get(node)[carrier];
+                        }
+                    }
+                    ShippingRule[] resolved = new ShippingRule[width];
+                    for (int carrier = 0; carrier < width; carrier++) {
+                        resolved[carrier] = rules[carrier] != null ? rules[carrier]
+                            : rules[0] != null ? rules[0] : ShippingRule.NONE;
+                    }
+                    regions[node] = table.size();
+                    table.add(resolved);
+                    regionPrefixes.add(prefixes[node]);
+                }
+                // Se apilan de mayor a menor para numerar las regiones en orden de prefijo.
+                for (int digit = RADIX - 1; digit >= 0; digit--) {
+                    int child = children[node * RADIX + digit];
+                    if (child != 0) {
+                        inherited[child] = rules;
+                        regions[child] = regions[node];
+                        prefixes[child] = prefixes[node] + digit;
+                        stack[depth++] = child;
+                    }
+                }
+            }
+            return new ShippingRules(Arrays.copyOf(children, size * RADIX), regions,
+                table.toArray(ShippingRule[][]::new), List.copyOf(regionPrefixes), carriers, ruleCount);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hackerrank.sample.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carga el archivo de reglas de envío, lo compila y lo publica con un swap atómico: las consultas en curso terminan
+ * con las reglas que leyeron y las siguientes ven las nuevas. Si el archivo es inválido se conservan las anteriores.
+ */
+@Component
+public class ShippingRulesLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ShippingRulesLoader.class);
+
+    private final ObjectMapper objectMapper;
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    private final String location;
+    private final AtomicReference<Published> current = new AtomicReference<>();
+    private final Object reloadLock = new Object();
+
+    private record Published(ShippingRules rules, ShippingRulesStatus status) {
+    }
+
+    @Autowired
+    public ShippingRulesLoader(
+            ObjectMapper objectMapper,
+            @Value("${shipping.rules.location:classpath:data/shipping-rules.json}") String location
+    ) {
+        this.objectMapper = objectMapper;
+        this.location = location;
+    }
+
+    @PostConstruct
+    void start() {
+        reload();
+    }
+
+    /**
+     * @throws IllegalArgumentException si el archivo no se puede leer o no respeta el formato
+     */
+    public ShippingRulesStatus reload() {
+        synchronized (reloadLock) {
+            ShippingRules rules;
+            Resource resource = resourceResolver.getResource(location);
+            try (InputStream input = resource.getInputStream()) {
+                rules = ShippingRules.compile(objectMapper.readTree(input));
+            } catch (IOException | RuntimeException ex) {
+                log.error("Falló la carga de las reglas de envío desde {}, se mantienen las anteriores", location, ex);
+                throw new IllegalArgumentException("Reglas de envío inválidas en " + location + ": " + ex.getMessage(),
+                    ex);
+            }
+            Published previous = current.get();
+            ShippingRulesStatus status = new ShippingRulesStatus(location,
+                previous == null ? 1 : previous.status().version() + 1, rules.ruleCount(), rules.regionCount(),
+                rules.carrierCount(), Instant.now());
+            current.set(new Published(rules, status));
+            log.info("Reglas de envío versión {} publicadas desde {}: {} reglas, {} regiones, {} transportistas",
+                status.version(), location, status.rules(), status.regions(), status.carriers());
+            return status;
+        }
+    }
+
+    ShippingRules rules() {
+        return current.get().rules();
+    }
+
+    public ShippingRulesStatus status() {
+        return current.get().status();
+    }
+}
@@ -0,0 +1,13 @@
+package com.hackerrank.sample.repository;
+
+import java.time.Instant;
+
+public record ShippingRulesStatus(
+    String location,
+    long version,
+    int rules,
+    int regions,
+    int carriers,
+    Instant loadedAt
+) {
+}
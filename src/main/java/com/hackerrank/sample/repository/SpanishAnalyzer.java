@@ -0,0 +1,63 @@
+package com.hackerrank.sample.repository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tokenizador para textos en español: pasa a minúsculas, quita acentos, descarta palabras vacías y reduce cada
+ * término con un stemmer de sufijos simple (plurales, adverbios en "-mente" y vocal final de género), de modo que
+ * "Rápidos", "rápida" y "rapido" generan el mismo término.
+ */
+final class SpanishAnalyzer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+        "a", "al", "con", "de", "del", "el", "en", "es", "la", "las", "lo", "los", "me", "mi", "muy", "para",
+        "pero", "por", "que", "se", "su", "sus", "un", "una", "unos", "unas", "y", "o", "le", "les", "ya"
+    );
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private SpanishAnalyzer() {
+    }
+
+    static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        String folded = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+            .replaceAll("\\p{M}+", "");
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOPWORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    static String stem(String term) {
+        String stem = term;
+        if (stem.length() > 6 && stem.endsWith("mente")) {
+            stem = stem.substring(0, stem.length() - 5);
+        }
+        if (stem.length() > 4 && stem.endsWith("ces")) {
+            stem = stem.substring(0, stem.length() - 3) + "z";
+        } else if (stem.length() > 5 && stem.endsWith("iones")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.length() > 4 && stem.endsWith("es") && !isVowel(stem.charAt(stem.length() - 3))) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.length() > 3 && stem.endsWith("s")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        if (stem.length() > MIN_STEM_LENGTH + 1 && isVowel(stem.charAt(stem.length() - 1))) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        return stem;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
@@ -0,0 +1,356 @@
+package com.hackerrank.sample.repository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Índice invertido inmutable sobre los documentos de un item, con ranking BM25. Los documentos se identifican por
+ * su posición en la lista con la que se construyó. Los términos quedan ordenados en un arreglo y sus postings,
+ * pares (documento, frecuencia) ordenados por documento, contiguos en un único {@code int[]}: una búsqueda ubica
+ * cada término por búsqueda binaria y solo recorre las postings de los términos consultados.
+ */
+final class TextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    static final TextIndex EMPTY = of(List.of());
+
+    private final String[] terms;
+    private final int[] termStarts;
+    private final int[] postings;
+    private final int[] documentLengths;
+    private final long totalLength;
+    private final double averageLength;
+
+    private TextIndex(String[] terms, int[] termStarts, int[] postings, int[] documentLengths, long totalLength) {
+        this.terms = terms;
+        this.termStarts = termStarts;
+        this.postings = postings;
+        this.documentLengths = documentLengths;
+        this.totalLength = totalLength;
+        this.averageLength = documentLengths.length == 0 ? 0 : totalLength / (double) documentLengths.length;
+    }
+
+    static TextIndex of(List<String> documents) {
+        return of(documents, UnaryOperator.identity());
+    }
+
+    /**
+     * @param canonical permite compartir las instancias de los términos entre los índices de distintos items
+     */
+    static TextIndex of(List<String> documents, UnaryOperator<String> canonical) {
+        Map<String, int[]> building = new HashMap<>();
+        Map<String, Integer> used = new HashMap<>();
+        int[] documentLengths = new int[documents.size()];
+        long totalLength = 0;
+        for (int document = 0; document < documents.size(); document++) {
+            List<String> terms = SpanishAnalyzer.analyze(documents.get(document));
+            documentLengths[document] = terms.size();
+            totalLength += terms.size();
+            Map<String, Integer> frequencies = new HashMap<>();
+            terms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+            for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                String term = frequency.getKey();
+                int size = used.getOrDefault(term, 0);
+                int[] list = building.computeIfAbsent(term, key -> new int[4]);
+                if (size + 2 > list.length) {
+                    list = Arrays.copyOf(list, list.length * 2);
+                    building.put(term, list);
+                }
+                list[size] = document;
+                list[size + 1] = frequency.getValue();
+                used.put(term, size + 2);
+            }
+        }
+        String[] terms = building.keySet().toArray(String[]::new);
+        Arrays.sort(terms);
+        int[] termStarts = new int[terms.length + 1];
+        for (int i = 0; i < terms.length; i++) {
+            termStarts[i + 1] = termStarts[i] + used.get(terms[i]);
+        }
+        int[] postings = new int[termStarts[terms.length]];
+        for (int i = 0; i < terms.length; i++) {
+            System.arraycopy(building.get(terms[i]), 0, postings, termStarts[i], used.get(terms[i]));
+            terms[i] = canonical.apply(terms[i]);
+        }
+        return new TextIndex(terms, termStarts, postings, documentLengths, totalLength);
+    }
+
+    /**
+     * Índice con los documentos de {@code first} seguidos de los de {@code second}, sin volver a analizar textos.
+     */
+    static TextIndex concat(TextIndex first, TextIndex second) {
+        int shift = first.documentLengths.length;
+        int[] firstDocuments = new int[shift];
+        int[] secondDocuments = new int[second.documentLengths.length];
+        Arrays.setAll(firstDocuments, document -> document);
+        Arrays.setAll(secondDocuments, document -> document + shift);
+        return merge(first, firstDocuments, second, secondDocuments);
+    }
+
+    /**
+     * Índice con los documentos de ambos en las posiciones indicadas, sin volver a analizar textos: se intercalan
+     * los términos ordenados y, para los términos comunes, sus postings. Cada arreglo de posiciones debe ser
+     * creciente y entre los dos cubrir cada posición del resultado una sola vez.
+     */
+    static TextIndex merge(TextIndex first, int[] firstDocuments, TextIndex second, int[] secondDocuments) {
+        String[] terms = new String[first.terms.length + second.terms.length];
+        int[] termStarts = new int[terms.length + 1];
+        int[] postings = new int[first.postings.length + second.postings.length];
+        int count = 0;
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.terms.length || j < second.terms.length) {
+            int order = i == first.terms.length ? 1
+                : j == second.terms.length ? -1
+                : first.terms[i].compareTo(second.terms[j]);
+            terms[count] = order <= 0 ? first.terms[i] : second.terms[j];
+            int p = order <= 0 ? first.termStarts[i] : 0;
+            int pEnd = order <= 0 ? first.termStarts[i + 1] : 0;
+            int q = order >= 0 ? second.termStarts[j] : 0;
+            int qEnd = order >= 0 ? second.termStarts[j + 1] : 0;
+            while (p < pEnd || q < qEnd) {
+                if (q == qEnd || p < pEnd
+                        && firstDocuments[first.postings[p]] < secondDocuments[second.postings[q]]) {
+                    postings[size++] = firstDocuments[first.postings[p]];
+                    postings[size++] = first.postings[p + 1];
+                    p += 2;
+                } else {
+                    postings[size++] = secondDocuments[second.postings[q]];
+                    postings[size++] = second.postings[q + 1];
+                    q += 2;
+                }
+            }
+            i += order <= 0 ? 1 : 0;
+            j += order >= 0 ? 1 : 0;
+            termStarts[++count] = size;
+        }
+        int[] documentLengths = new int[firstDocuments.length + secondDocuments.length];
+        for (int document = 0; document < firstDocuments.length; document++) {
+            documentLengths[firstDocuments[document]] = first.documentLengths[document];
+        }
+        for (int document = 0; document < secondDocuments.length; document++) {
+            documentLengths[secondDocuments[document]] = second.documentLengths[document];
+        }
+        return new TextIndex(Arrays.copyOf(terms, count), Arrays.copyOf(termStarts, count + 1), postings,
+            documentLengths, first.totalLength + second.totalLength);
+    }
+
+    /**
+     * Índice con el texto de un documento reemplazado. Solo se analiza el texto nuevo: al copiar las postings se
+     * quita la entrada del documento de cada término (ubicada por búsqueda binaria) y se intercalan las de sus
+     * términos nuevos, como en {@link #concat}. Los términos que quedan sin documentos se descartan.
+     */
+    TextIndex replace(int document, String text, UnaryOperator<String> canonical) {
+        List<String> analyzed = SpanishAnalyzer.analyze(text);
+        Map<String, Integer> frequencies = new HashMap<>();
+        analyzed.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        String[] added = frequencies.keySet().toArray(String[]::new);
+        Arrays.sort(added);
+
+        String[] nextTerms = new String[terms.length + added.length];
+        int[] nextStarts = new int[nextTerms.length + 1];
+        int[] nextPostings = new int[postings.length + 2 * added.length];
+        int count = 0;
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < terms.length || j < added.length) {
+            int order = i == terms.length ? 1
+                : j == added.length ? -1
+                : terms[i].compareTo(added[j]);
+            int from = order <= 0 ? termStarts[i] : 0;
+            int to = order <= 0 ? termStarts[i + 1] : 0;
+            int split = postingIndex(from, to, document);
+            System.arraycopy(postings, from, nextPostings, size, split - from);
+            size += split - from;
+            if (order >= 0) {
+                nextPostings[size++] = document;
+                nextPostings[size++] = frequencies.get(added[j]);
+            }
+            int rest = split < to && postings[split] == document ? split + 2 : split;
+            System.arraycopy(postings, rest, nextPostings, size, to - rest);
+            size += to - rest;
+            if (size > nextStarts[count]) {
+                nextTerms[count] = order <= 0 ? terms[i] : canonical.apply(added[j]);
+                nextStarts[++count] = size;
+            }
+            if (order <= 0) {
+                i++;
+            }
+            if (order >= 0) {
+                j++;
+            }
+        }
+        int[] nextLengths = documentLengths.clone();
+        nextLengths[document] = analyzed.size();
+        return new TextIndex(Arrays.copyOf(nextTerms, count), Arrays.copyOf(nextStarts, count + 1),
+            Arrays.copyOf(nextPostings, size), nextLengths,
+            totalLength - documentLengths[document] + analyzed.size());
+    }
+
+    /**
+     * Primera posición de {@code postings[from, to)} cuyo documento no es menor que {@code document}.
+     */
+    private int postingIndex(int from, int to, int document) {
+        int low = 0;
+        int high = (to - from) / 2;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (postings[from + 2 * middle] < document) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return from + 2 * low;
+    }
+
+    /**
+     * Documentos que contienen al menos un término de la consulta, de mayor a menor puntaje (a igual puntaje, por
+     * posición), paginados. {@code total} cuenta todos los documentos encontrados. Solo se conservan los
+     * {@code offset + limit} mejores en un heap de primitivos, así que el costo es O(m log k) para m coincidencias en
+     * lugar de ordenarlas todas.
+     */
+    Hits search(String query, int offset, int limit) {
+        int[] matched = new LinkedHashSet<>(SpanishAnalyzer.analyze(query)).stream()
+            .mapToInt(term -> Arrays.binarySearch(terms, term))
+            .filter(index -> index >= 0)
+            .toArray();
+        if (matched.length == 0) {
+            return Hits.NONE;
+        }
+
+        double[] idf = new double[matched.length];
+        int[] cursors = new int[matched.length];
+        int[] ends = new int[matched.length];
+        int capacity = 0;
+        for (int i = 0; i < matched.length; i++) {
+            cursors[i] = termStarts[matched[i]];
+            ends[i] = termStarts[matched[i] + 1];
+            int frequency = (ends[i] - cursors[i]) / 2;
+            idf[i] = Math.log(1 + (documentLengths.length - frequency + 0.5) / (frequency + 0.5));
+            capacity += frequency;
+        }
+        int from = Math.max(0, offset);
+        TopHits top = new TopHits((int) Math.min((long) from + Math.max(limit, 0), capacity));
+        int total = 0;
+        while (true) {
+            int document = Integer.MAX_VALUE;
+            for (int i = 0; i < matched.length; i++) {
+                if (cursors[i] < ends[i]) {
+                    document = Math.min(document, postings[cursors[i]]);
+                }
+            }
+            if (document == Integer.MAX_VALUE) {
+                break;
+            }
+            double score = 0;
+            double norm = K1 * (1 - B + B * documentLengths[document] / averageLength);
+            for (int i = 0; i < matched.length; i++) {
+                if (cursors[i] < ends[i] && postings[cursors[i]] == document) {
+                    int termFrequency = postings[cursors[i] + 1];
+                    score += idf[i] * termFrequency * (K1 + 1) / (termFrequency + norm);
+                    cursors[i] += 2;
+                }
+            }
+            top.offer(document, score);
+            total++;
+        }
+        int[] ranked = top.ranked();
+        return new Hits(total, Arrays.copyOfRange(ranked, Math.min(from, ranked.length), ranked.length));
+    }
+
+    /**
+     * Min-heap acotado con los k mejores documentos; la raíz es el peor de los conservados. Los documentos llegan
+     * en orden creciente, así que a igual puntaje el nuevo nunca desplaza a uno conservado.
+     */
+    private static final class TopHits {
+
+        private final int[] documents;
+        private final double[] scores;
+        private int size;
+
+        TopHits(int capacity) {
+            this.documents = new int[capacity];
+            this.scores = new double[capacity];
+        }
+
+        void offer(int document, double score) {
+            if (size < documents.length) {
+                documents[size] = document;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && score > scores[0]) {
+                documents[0] = document;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Vacía el heap y devuelve los documentos del mejor al peor.
+         */
+        int[] ranked() {
+            int[] ranked = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                ranked[i] = documents[0];
+                size--;
+                documents[0] = documents[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return ranked;
+        }
+
+        private boolean worse(int left, int right) {
+            return scores[left] != scores[right] ? scores[left] < scores[right] : documents[left] > documents[right];
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!worse(index, parent)) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                    if (worse(child, worst)) {
+                        worst = child;
+                    }
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int left, int right) {
+            int document = documents[left];
+            documents[left] = documents[right];
+            documents[right] = document;
+            double score = scores[left];
+            scores[left] = scores[right];
+            scores[right] = score;
+        }
+    }
+
+    record Hits(int total, int[] documents) {
+        static final Hits NONE = new Hits(0, new int[0]);
+    }
+}
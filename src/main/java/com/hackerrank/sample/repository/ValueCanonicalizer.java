@@ -0,0 +1,114 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Item;
+import com.hackerrank.sample.model.ShippingOption;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Deduplica valores inmutables que se repiten entre items (monedas, tags, atributos, vendedores, opciones de envío,
+ * términos de los índices de texto) para que todos los items de una generación compartan la misma instancia. Es
+ * seguro para shards concurrentes. El pool vive lo que vive la generación y se acota a {@link #MAX_ENTRIES} valores:
+ * una vez lleno, los valores nuevos se usan tal cual y los ya guardados se siguen compartiendo. Un valor compuesto se
+ * busca antes de deduplicar sus partes, así un acierto no paga ni cuenta las de la copia descartada. Solo cuenta como
+ * acierto descartar una instancia distinta de la guardada, y los bytes ahorrados, una estimación del tamaño
+ * superficial de esa copia, se calculan recién en el acierto.
+ */
+final class ValueCanonicalizer {
+
+    static final int MAX_ENTRIES = 1 << 18;
+
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<Object, Object> pool = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    ValueCanonicalizer() {
+        this(MAX_ENTRIES);
+    }
+
+    ValueCanonicalizer(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    String string(String value) {
+        if (value == null) {
+            return null;
+        }
+        return canonical(value, UnaryOperator.identity(), ValueCanonicalizer::stringBytes);
+    }
+
+    List<String> strings(List<String> values) {
+        return canonical(values, list -> List.copyOf(list.stream().map(this::string).toList()),
+            list -> OBJECT_HEADER_BYTES + REFERENCE_BYTES * list.size());
+    }
+
+    Item.Seller seller(Item.Seller seller) {
+        return canonical(seller, value -> new Item.Seller(string(value.id()), string(value.nickname()),
+            value.reputation()), value -> OBJECT_HEADER_BYTES + 2 * REFERENCE_BYTES + Double.BYTES);
+    }
+
+    Item.Shipping shipping(Item.Shipping shipping) {
+        return canonical(shipping, value -> new Item.Shipping(value.freeShipping(), string(value.logisticType()),
+            strings(value.tags())), value -> OBJECT_HEADER_BYTES + 2 * REFERENCE_BYTES);
+    }
+
+    Item.Attribute attribute(Item.Attribute attribute) {
+        return canonical(attribute, value -> new Item.Attribute(string(value.id()), string(value.name()),
+            string(value.valueName())), value -> OBJECT_HEADER_BYTES + 3 * REFERENCE_BYTES);
+    }
+
+    ShippingOption shippingOption(ShippingOption option) {
+        return canonical(option, value -> new ShippingOption(string(value.type()), string(value.carrier()),
+            value.cost(), value.estimatedDeliveryDays(), value.pickupAvailable()),
+            value -> OBJECT_HEADER_BYTES + 4 * REFERENCE_BYTES);
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long bytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    int size() {
+        return pool.size();
+    }
+
+    /**
+     * @param parts copia del valor con sus partes ya deduplicadas; solo se aplica si el valor no estaba guardado
+     * @param duplicateBytes tamaño estimado de la copia descartada; solo se calcula en un acierto
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T canonical(T value, UnaryOperator<T> parts, ToLongFunction<T> duplicateBytes) {
+        Object existing = pool.get(value);
+        if (existing == null) {
+            T canonicalValue = parts.apply(value);
+            if (pool.size() >= maxEntries) {
+                return canonicalValue;
+            }
+            existing = pool.putIfAbsent(canonicalValue, canonicalValue);
+            if (existing == null) {
+                return canonicalValue;
+            }
+        }
+        if (existing != value) {
+            hits.increment();
+            bytesSaved.add(duplicateBytes.applyAsLong(value));
+        }
+        return (T) existing;
+    }
+
+    private static long stringBytes(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        long payload = OBJECT_HEADER_BYTES + (long) value.length() * (latin1 ? 1 : 2);
+        return 24 + ((payload + 7) & ~7L);
+    }
+}
@@ -0,0 +1,22 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.dto.CatalogStatusDto;
+import com.hackerrank.sample.dto.DeltaResultDto;
+import com.hackerrank.sample.dto.ShippingQuoteCacheDto;
+import com.hackerrank.sample.dto.ShippingRulesStatusDto;
+import java.io.InputStream;
+
+public interface CatalogAdminService {
+
+    CatalogStatusDto getStatus();
+
+    CatalogStatusDto reload();
+
+    DeltaResultDto applyDeltas(InputStream input);
+
+    ShippingRulesStatusDto getShippingRulesStatus();
+
+    ShippingRulesStatusDto reloadShippingRules();
+
+    ShippingQuoteCacheDto getShippingQuoteCacheStats();
+}
@@ -0,0 +1,102 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.dto.CatalogStatusDto;
+import com.hackerrank.sample.dto.DeltaResultDto;
+import com.hackerrank.sample.dto.ShippingQuoteCacheDto;
+import com.hackerrank.sample.dto.ShippingRulesStatusDto;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.exception.CatalogNotReadyException;
+import com.hackerrank.sample.repository.CatalogReadiness;
+import com.hackerrank.sample.repository.CatalogRepository;
+import com.hackerrank.sample.repository.CatalogStatus;
+import com.hackerrank.sample.repository.DeltaResult;
+import com.hackerrank.sample.repository.ShippingOptionRepository;
+import com.hackerrank.sample.repository.ShippingQuoteCacheStats;
+import com.hackerrank.sample.repository.ShippingRulesStatus;
+import java.io.InputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CatalogAdminServiceImpl implements CatalogAdminService {
+
+    private final CatalogRepository catalogRepository;
+    private final ShippingOptionRepository shippingOptionRepository;
+
+    @Autowired
+    public CatalogAdminServiceImpl(CatalogRepository catalogRepository,
+            ShippingOptionRepository shippingOptionRepository) {
+        this.catalogRepository = catalogRepository;
+        this.shippingOptionRepository = shippingOptionRepository;
+    }
+
+    @Override
+    public CatalogStatusDto getStatus() {
+        return toDto(catalogRepository.status());
+    }
+
+    @Override
+    public CatalogStatusDto reload() {
+        catalogRepository.reload();
+        return toDto(catalogRepository.status());
+    }
+
+    @Override
+    public DeltaResultDto applyDeltas(InputStream input) {
+        if (catalogRepository.status().readiness() != CatalogReadiness.READY) {
+            throw new CatalogNotReadyException("El catálogo todavía se está cargando, reintente los deltas luego");
+        }
+        try {
+            DeltaResult result = catalogRepository.applyDeltas(input);
+            return new DeltaResultDto(result.applied(), result.skipped(), result.duplicates(), result.outOfOrder(),
+                result.unknownItems(), result.watermark());
+        } catch (IllegalArgumentException ex) {
+            throw new BadResourceRequestException(ex.getMessage());
+        }
+    }
+
+    @Override
+    public ShippingRulesStatusDto getShippingRulesStatus() {
+        return toDto(shippingOptionRepository.shippingRulesStatus());
+    }
+
+    @Override
+    public ShippingRulesStatusDto reloadShippingRules() {
+        try {
+            return toDto(shippingOptionRepository.reloadShippingRules());
+        } catch (IllegalArgumentException ex) {
+            throw new BadResourceRequestException(ex.getMessage());
+        }
+    }
+
+    @Override
+    public ShippingQuoteCacheDto getShippingQuoteCacheStats() {
+        ShippingQuoteCacheStats stats = shippingOptionRepository.shippingQuoteCacheStats();
+        return new ShippingQuoteCacheDto(stats.capacity(), stats.size(), stats.hits(), stats.misses(),
+            stats.evictions(), stats.invalidations(), Math.round(stats.hitRate() * 1000) / 1000.0);
+    }
+
+    private ShippingRulesStatusDto toDto(ShippingRulesStatus status) {
+        return new ShippingRulesStatusDto(status.location(), status.version(), status.rules(), status.regions(),
+            status.carriers(), status.loadedAt());
+    }
+
+    private CatalogStatusDto toDto(CatalogStatus status) {
+        return new CatalogStatusDto(
+            status.generation(),
+            status.items(),
+            status.watermark(),
+            status.source(),
+            status.loadedAt(),
+            status.loadMillis(),
+            status.dedupBytesSaved(),
+            status.reloading(),
+            status.lastError(),
+            status.readiness().name(),
+            status.loadingItems(),
+            status.loadedShards(),
+            status.totalShards(),
+            status.nextRetryAt()
+        );
+    }
+}
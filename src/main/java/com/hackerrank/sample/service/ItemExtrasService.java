@@ -1,8 +1,15 @@
 package com.hackerrank.sample.service;
 
+import com.hackerrank.sample.dto.AnswerRequest;
 import com.hackerrank.sample.dto.QuestionDto;
+import com.hackerrank.sample.dto.QuestionPageDto;
+import com.hackerrank.sample.dto.QuestionRequest;
 import com.hackerrank.sample.dto.RelatedItemDto;
+import com.hackerrank.sample.dto.ReviewDto;
 import com.hackerrank.sample.dto.ReviewPageDto;
+import com.hackerrank.sample.dto.ReviewRequest;
+import com.hackerrank.sample.dto.ReviewTrendDto;
+import com.hackerrank.sample.dto.SearchPageDto;
 import com.hackerrank.sample.dto.SellerDetailDto;
 import com.hackerrank.sample.dto.ShippingOptionDto;
 import java.util.List;
@@ -15,7 +22,23 @@ public interface ItemExtrasService {
 
     List<QuestionDto> getQuestions(String itemId);
 
-    ReviewPageDto getReviews(String itemId, int page, int size);
+    QuestionPageDto getQuestions(String itemId, QuestionQuery query);
+
+    List<QuestionDto> getSimilarAnsweredQuestions(String itemId, String text, int limit);
+
+    QuestionDto askQuestion(String itemId, QuestionRequest request);
+
+    QuestionDto answerQuestion(String itemId, String questionId, AnswerRequest request);
+
+    ReviewPageDto getReviews(String itemId, ReviewQuery query);
+
+    ReviewTrendDto getReviewTrend(String itemId);
+
+    ReviewDto addReview(String itemId, ReviewRequest request);
+
+    SearchPageDto<ReviewDto> searchReviews(String itemId, String query, int page, int size);
+
+    SearchPageDto<QuestionDto> searchQuestions(String itemId, String query, int page, int size);
 
     List<ShippingOptionDto> getShippingOptions(String itemId, String zipcode);
 }
@@ -1,26 +1,42 @@
 package com.hackerrank.sample.service;
 
+import com.hackerrank.sample.dto.AnswerRequest;
 import com.hackerrank.sample.dto.QuestionDto;
+import com.hackerrank.sample.dto.QuestionPageDto;
+import com.hackerrank.sample.dto.QuestionRequest;
 import com.hackerrank.sample.dto.RelatedItemDto;
 import com.hackerrank.sample.dto.ReviewDto;
 import com.hackerrank.sample.dto.ReviewPageDto;
+import com.hackerrank.sample.dto.ReviewRequest;
+import com.hackerrank.sample.dto.ReviewTrendDto;
+import com.hackerrank.sample.dto.SearchPageDto;
 import com.hackerrank.sample.dto.ReviewSummaryDto;
 import com.hackerrank.sample.dto.SellerDetailDto;
 import com.hackerrank.sample.dto.ShippingOptionDto;
-import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.exception.ResourceConflictException;
+import com.hackerrank.sample.model.Question;
 import com.hackerrank.sample.model.Review;
 import com.hackerrank.sample.repository.ItemRepository;
+import com.hackerrank.sample.repository.QuestionCursor;
+import com.hackerrank.sample.repository.QuestionGroup;
 import com.hackerrank.sample.repository.QuestionRepository;
 import com.hackerrank.sample.repository.RelatedItemRepository;
+import com.hackerrank.sample.repository.ReviewCursor;
+import com.hackerrank.sample.repository.ReviewFilter;
 import com.hackerrank.sample.repository.ReviewRepository;
+import com.hackerrank.sample.repository.ReviewSort;
+import com.hackerrank.sample.repository.ReviewSummary;
+import com.hackerrank.sample.repository.SearchResult;
 import com.hackerrank.sample.repository.SellerDetailRepository;
 import com.hackerrank.sample.repository.ShippingOptionRepository;
 import com.hackerrank.sample.service.mapper.ItemExtrasMapper;
-import java.util.Comparator;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -28,6 +44,8 @@ import org.springframework.stereotype.Service;
 public class ItemExtrasServiceImpl implements ItemExtrasService {
 
     private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int DEFAULT_SIMILAR_LIMIT = 5;
+    private static final int MAX_SIMILAR_LIMIT = 20;
 
     private final ItemRepository itemRepository;
     private final RelatedItemRepository relatedItemRepository;
@@ -65,8 +83,9 @@ public class ItemExtrasServiceImpl implements ItemExtrasService {
     @Override
     public SellerDetailDto getSellerDetail(String sellerId) {
         return sellerDetailRepository.findDetailById(sellerId)
-            .map(mapper::toSellerDetailDto)
-            .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el vendedor con id " + sellerId));
+            .map(seller -> mapper.toSellerDetailDto(seller,
+                sellerDetailRepository.findResponseStatsBySellerId(sellerId)))
+            .orElseThrow(() -> notFound("No se encontró el vendedor con id " + sellerId));
     }
 
     @Override
@@ -76,44 +95,196 @@ public class ItemExtrasServiceImpl implements ItemExtrasService {
     }
 
     @Override
-    public ReviewPageDto getReviews(String itemId, int page, int size) {
+    public QuestionPageDto getQuestions(String itemId, QuestionQuery query) {
         ensureItemExists(itemId);
-        int resolvedSize = size <= 0 ? DEFAULT_PAGE_SIZE : size;
-        int resolvedPage = Math.max(page, 0);
+        if (query.collapse()) {
+            return getQuestionGroups(itemId, query);
+        }
+        int resolvedSize = query.size() <= 0 ? DEFAULT_PAGE_SIZE : query.size();
+        int resolvedPage = Math.max(query.page(), 0);
+        int totalElements = questionRepository.countQuestionsByItemId(itemId, query.answered());
+        List<Question> questions;
+        boolean hasMore;
+        if (query.cursor() != null) {
+            questions = questionRepository.findQuestionPageByItemId(itemId, decodeQuestionCursor(query.cursor()),
+                query.answered(), resolvedSize + 1);
+            hasMore = questions.size() > resolvedSize;
+            questions = hasMore ? questions.subList(0, resolvedSize) : questions;
+        } else {
+            int fromIndex = (int) Math.min((long) resolvedPage * resolvedSize, totalElements);
+            questions = questionRepository.findQuestionPageByItemId(itemId, query.answered(), fromIndex,
+                resolvedSize);
+            hasMore = fromIndex + questions.size() < totalElements;
+        }
+        String nextCursor = hasMore && !questions.isEmpty() ? QuestionCursor.of(questions.getLast()).encode() : null;
+        return new QuestionPageDto(mapper.toQuestionDtos(questions), resolvedPage, resolvedSize, totalElements,
+            (int) Math.ceil(totalElements / (double) resolvedSize), nextCursor);
+    }
 
-        List<Review> allReviews = reviewRepository.findReviewsByItemId(itemId)
-            .stream()
-            .sorted(Comparator.comparing(Review::createdAt).reversed())
-            .toList();
+    private QuestionPageDto getQuestionGroups(String itemId, QuestionQuery query) {
+        int resolvedSize = query.size() <= 0 ? DEFAULT_PAGE_SIZE : query.size();
+        int resolvedPage = Math.max(query.page(), 0);
+        int totalElements = questionRepository.countQuestionGroupsByItemId(itemId, query.answered());
+        List<QuestionGroup> groups;
+        boolean hasMore;
+        if (query.cursor() != null) {
+            groups = questionRepository.findQuestionGroupPageByItemId(itemId, decodeQuestionCursor(query.cursor()),
+                query.answered(), resolvedSize + 1);
+            hasMore = groups.size() > resolvedSize;
+            groups = hasMore ? groups.subList(0, resolvedSize) : groups;
+        } else {
+            int fromIndex = (int) Math.min((long) resolvedPage * resolvedSize, totalElements);
+            groups = questionRepository.findQuestionGroupPageByItemId(itemId, query.answered(), fromIndex,
+                resolvedSize);
+            hasMore = fromIndex + groups.size() < totalElements;
+        }
+        String nextCursor = hasMore && !groups.isEmpty()
+            ? QuestionCursor.of(groups.getLast().question()).encode()
+            : null;
+        return new QuestionPageDto(mapper.toQuestionGroupDtos(groups), resolvedPage, resolvedSize, totalElements,
+            (int) Math.ceil(totalElements / (double) resolvedSize), nextCursor);
+    }
 
-        int totalReviews = allReviews.size();
-        int fromIndex = Math.min(resolvedPage * resolvedSize, totalReviews);
-        int toIndex = Math.min(fromIndex + resolvedSize, totalReviews);
-        List<ReviewDto> reviewsPage = mapper.toReviewDtos(allReviews.subList(fromIndex, toIndex));
+    @Override
+    public List<QuestionDto> getSimilarAnsweredQuestions(String itemId, String text, int limit) {
+        ensureItemExists(itemId);
+        String resolvedText = requireParameter("text", text);
+        int resolvedLimit = limit <= 0 ? DEFAULT_SIMILAR_LIMIT : Math.min(limit, MAX_SIMILAR_LIMIT);
+        return mapper.toQuestionDtos(
+            questionRepository.findSimilarAnsweredQuestions(itemId, resolvedText, resolvedLimit));
+    }
 
-        double averageRating = allReviews.stream()
-            .mapToInt(Review::rating)
-            .average()
-            .orElse(0.0);
+    @Override
+    public ReviewPageDto getReviews(String itemId, ReviewQuery query) {
+        ensureItemExists(itemId);
+        int resolvedSize = query.size() <= 0 ? DEFAULT_PAGE_SIZE : query.size();
+        int resolvedPage = Math.max(query.page(), 0);
 
-        Map<Integer, Long> distribution = allReviews.stream()
-            .collect(Collectors.groupingBy(Review::rating, Collectors.counting()));
+        ReviewSort sort = parseSort(query.sort());
+        if (query.cursor() != null && sort != ReviewSort.NEWEST) {
+            throw new BadResourceRequestException("El cursor de reseñas solo está disponible con sort=newest");
+        }
+        ReviewFilter filter = parseFilter(query);
+        ReviewSummary summary = reviewRepository.findReviewSummaryByItemId(itemId);
+        int totalReviews = (int) summary.count();
+        int totalElements = filter.isAll() ? totalReviews : reviewRepository.countReviewsByItemId(itemId, filter);
+        List<Review> reviews;
+        boolean hasMore;
+        if (query.cursor() != null) {
+            // Se pide una fila extra para saber si hay una página siguiente sin contar las restantes.
+            reviews = reviewRepository.findReviewPageByItemId(itemId, decodeCursor(query.cursor()), filter,
+                resolvedSize + 1);
+            hasMore = reviews.size() > resolvedSize;
+            reviews = hasMore ? reviews.subList(0, resolvedSize) : reviews;
+        } else {
+            int fromIndex = (int) Math.min((long) resolvedPage * resolvedSize, totalElements);
+            int toIndex = (int) Math.min((long) fromIndex + resolvedSize, totalElements);
+            reviews = reviewRepository.findReviewPageByItemId(itemId, sort, filter, fromIndex, toIndex - fromIndex);
+            hasMore = toIndex < totalElements;
+        }
+        String nextCursor = hasMore && !reviews.isEmpty() && sort == ReviewSort.NEWEST
+            ? ReviewCursor.of(reviews.getLast()).encode()
+            : null;
 
         Map<Integer, Long> normalizedDistribution = new LinkedHashMap<>();
         for (int rating = 5; rating >= 1; rating--) {
-            normalizedDistribution.put(rating, distribution.getOrDefault(rating, 0L));
+            normalizedDistribution.put(rating, summary.count(rating));
         }
 
-        int totalPages = (int) Math.ceil(totalReviews / (double) resolvedSize);
-        ReviewSummaryDto summaryDto = mapper.toReviewSummaryDto(averageRating, totalReviews, normalizedDistribution);
+        int totalPages = (int) Math.ceil(totalElements / (double) resolvedSize);
+        ReviewSummaryDto summaryDto = mapper.toReviewSummaryDto(summary.average(), totalReviews,
+            normalizedDistribution);
 
         return new ReviewPageDto(
-            reviewsPage,
+            mapper.toReviewDtos(reviews),
             summaryDto,
             resolvedPage,
             resolvedSize,
-            totalPages
+            totalElements,
+            totalPages,
+            nextCursor
+        );
+    }
+
+    @Override
+    public QuestionDto askQuestion(String itemId, QuestionRequest request) {
+        ensureItemExists(itemId);
+        Question question = new Question(
+            UUID.randomUUID().toString(),
+            itemId,
+            requireText("text", request == null ? null : request.text()),
+            OffsetDateTime.now(ZoneOffset.UTC),
+            null,
+            null
+        );
+        if (!questionRepository.addQuestion(question)) {
+            throw notFound("No se encontró el item con id " + itemId);
+        }
+        return mapper.toQuestionDto(question);
+    }
+
+    @Override
+    public QuestionDto answerQuestion(String itemId, String questionId, AnswerRequest request) {
+        ensureItemExists(itemId);
+        String answer = requireText("answer", request == null ? null : request.answer());
+        try {
+            return questionRepository.answerQuestion(itemId, questionId, answer, OffsetDateTime.now(ZoneOffset.UTC))
+                .map(mapper::toQuestionDto)
+                .orElseThrow(() -> notFound("No se encontró la pregunta con id " + questionId));
+        } catch (IllegalStateException ex) {
+            throw new ResourceConflictException(ex.getMessage());
+        }
+    }
+
+    @Override
+    public ReviewTrendDto getReviewTrend(String itemId) {
+        ensureItemExists(itemId);
+        return mapper.toReviewTrendDto(reviewRepository.findReviewTrendByItemId(itemId));
+    }
+
+    @Override
+    public ReviewDto addReview(String itemId, ReviewRequest request) {
+        ensureItemExists(itemId);
+        if (request == null || request.rating() == null || request.rating() < 1 || request.rating() > 5) {
+            throw new BadResourceRequestException("rating debe estar entre 1 y 5");
+        }
+        Review review = new Review(
+            UUID.randomUUID().toString(),
+            itemId,
+            requireText("author", request.author()),
+            request.rating(),
+            requireText("title", request.title()),
+            requireText("comment", request.comment()),
+            OffsetDateTime.now(ZoneOffset.UTC)
         );
+        if (!reviewRepository.appendReview(review)) {
+            throw notFound("No se encontró el item con id " + itemId);
+        }
+        return mapper.toReviewDto(review);
+    }
+
+    @Override
+    public SearchPageDto<ReviewDto> searchReviews(String itemId, String query, int page, int size) {
+        ensureItemExists(itemId);
+        String resolvedQuery = requireQuery(query);
+        int resolvedSize = size <= 0 ? DEFAULT_PAGE_SIZE : size;
+        int resolvedPage = Math.max(page, 0);
+        SearchResult<Review> result = reviewRepository.searchReviewsByItemId(itemId, resolvedQuery,
+            offset(resolvedPage, resolvedSize), resolvedSize);
+        return new SearchPageDto<>(resolvedQuery, mapper.toReviewDtos(result.results()), resolvedPage, resolvedSize,
+            result.total(), (int) Math.ceil(result.total() / (double) resolvedSize));
+    }
+
+    @Override
+    public SearchPageDto<QuestionDto> searchQuestions(String itemId, String query, int page, int size) {
+        ensureItemExists(itemId);
+        String resolvedQuery = requireQuery(query);
+        int resolvedSize = size <= 0 ? DEFAULT_PAGE_SIZE : size;
+        int resolvedPage = Math.max(page, 0);
+        SearchResult<Question> result = questionRepository.searchQuestionsByItemId(itemId, resolvedQuery,
+            offset(resolvedPage, resolvedSize), resolvedSize);
+        return new SearchPageDto<>(resolvedQuery, mapper.toQuestionDtos(result.results()), resolvedPage,
+            resolvedSize, result.total(), (int) Math.ceil(result.total() / (double) resolvedSize));
     }
 
     @Override
@@ -126,7 +297,65 @@ public class ItemExtrasServiceImpl implements ItemExtrasService {
 
     private void ensureItemExists(String itemId) {
         itemRepository.findById(itemId)
-            .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el item con id " + itemId));
+            .orElseThrow(() -> notFound("No se encontró el item con id " + itemId));
+    }
+
+    private static String requireText(String field, String value) {
+        if (value == null || value.isBlank()) {
+            throw new BadResourceRequestException(field + " es obligatorio");
+        }
+        return value.trim();
+    }
+
+    private static String requireQuery(String query) {
+        return requireParameter("q", query);
+    }
+
+    private static String requireParameter(String name, String value) {
+        if (value == null || value.isBlank()) {
+            throw new BadResourceRequestException("El parámetro " + name + " es obligatorio");
+        }
+        return value.trim();
+    }
+
+    private static int offset(int page, int size) {
+        return (int) Math.min((long) page * size, Integer.MAX_VALUE);
+    }
+
+    private ReviewSort parseSort(String sort) {
+        try {
+            return ReviewSort.fromParam(sort);
+        } catch (IllegalArgumentException ex) {
+            throw new BadResourceRequestException(ex.getMessage());
+        }
+    }
+
+    private ReviewFilter parseFilter(ReviewQuery query) {
+        try {
+            return new ReviewFilter(query.rating(), query.minRating());
+        } catch (IllegalArgumentException ex) {
+            throw new BadResourceRequestException(ex.getMessage());
+        }
+    }
+
+    private ReviewCursor decodeCursor(String cursor) {
+        try {
+            return ReviewCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new BadResourceRequestException("Cursor de reseñas inválido");
+        }
+    }
+
+    private QuestionCursor decodeQuestionCursor(String cursor) {
+        try {
+            return QuestionCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new BadResourceRequestException("Cursor de preguntas inválido");
+        }
+    }
+
+    private RuntimeException notFound(String message) {
+        return NotFoundErrors.notFound(itemRepository, message);
     }
 }
 
@@ -1,6 +1,7 @@
 package com.hackerrank.sample.service;
 
 import com.hackerrank.sample.dto.ItemDetailDto;
+import com.hackerrank.sample.exception.CatalogNotReadyException;
 import com.hackerrank.sample.exception.NoSuchResourceFoundException;
 import com.hackerrank.sample.model.Item;
 import com.hackerrank.sample.repository.ItemRepository;
@@ -22,7 +23,9 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public ItemDetailDto getItemDetail(String id) {
         Item item = itemRepository.findById(id)
-            .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el item con id " + id));
+            .orElseThrow(() -> itemRepository.isLoading()
+                ? new CatalogNotReadyException("El catálogo todavía se está cargando, el item " + id + " aún no está")
+                : new NoSuchResourceFoundException("No se encontró el item con id " + id));
 
         return itemMapper.toDto(item);
     }
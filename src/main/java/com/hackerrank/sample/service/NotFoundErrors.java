@@ -0,0 +1,22 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.exception.CatalogNotReadyException;
+import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.repository.ItemRepository;
+
+/**
+ * Un recurso que no está responde 404, salvo mientras el catálogo se carga: entonces puede aparecer en cuanto termine
+ * y se responde 503 con {@code Retry-After}.
+ */
+final class NotFoundErrors {
+
+    private NotFoundErrors() {
+    }
+
+    static RuntimeException notFound(ItemRepository itemRepository, String message) {
+        if (itemRepository.isLoading()) {
+            return new CatalogNotReadyException("El catálogo todavía se está cargando: " + message);
+        }
+        return new NoSuchResourceFoundException(message);
+    }
+}
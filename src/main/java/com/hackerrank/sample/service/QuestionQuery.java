@@ -0,0 +1,12 @@
+package com.hackerrank.sample.service;
+
+/**
+ * Parámetros de consulta de preguntas. Con {@code cursor} la página continúa desde la última pregunta vista y
+ * {@code page} se ignora; {@code answered} es opcional. Con {@code collapse} cada grupo de preguntas casi iguales se
+ * devuelve como una sola pregunta.
+ */
+public record QuestionQuery(int page, int size, String cursor, Boolean answered, boolean collapse) {
+    public QuestionQuery(int page, int size, String cursor, Boolean answered) {
+        this(page, size, cursor, answered, false);
+    }
+}
@@ -0,0 +1,19 @@
+package com.hackerrank.sample.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Exportación de reseñas como NDJSON (una reseña por línea) escrita directamente sobre la respuesta.
+ */
+public interface ReviewExportService {
+
+    /**
+     * Valida que el item exista antes de empezar a escribir y devuelve sus reseñas de la más nueva a la más vieja.
+     */
+    StreamingResponseBody exportItemReviews(String itemId);
+
+    /**
+     * Reseñas de todo el catálogo, agrupadas por item en orden de id.
+     */
+    StreamingResponseBody exportAllReviews();
+}
@@ -0,0 +1,73 @@
+package com.hackerrank.sample.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.model.Review;
+import com.hackerrank.sample.repository.ItemRepository;
+import com.hackerrank.sample.repository.ReviewRepository;
+import com.hackerrank.sample.service.mapper.ItemExtrasMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Escribe cada reseña apenas se materializa, sin armar listas ni páginas: la memoria no depende de la cantidad de
+ * reseñas y, como la escritura sobre la respuesta es bloqueante, un cliente lento frena la exportación en lugar de
+ * acumular datos en el servidor.
+ */
+@Service
+public class ReviewExportServiceImpl implements ReviewExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final ItemRepository itemRepository;
+    private final ReviewRepository reviewRepository;
+    private final ItemExtrasMapper mapper;
+
+    @Autowired
+    public ReviewExportServiceImpl(ObjectMapper objectMapper, ItemRepository itemRepository,
+            ReviewRepository reviewRepository, ItemExtrasMapper mapper) {
+        this.objectMapper = objectMapper;
+        this.itemRepository = itemRepository;
+        this.reviewRepository = reviewRepository;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public StreamingResponseBody exportItemReviews(String itemId) {
+        if (itemRepository.findById(itemId).isEmpty()) {
+            throw NotFoundErrors.notFound(itemRepository, "No se encontró el item con id " + itemId);
+        }
+        return output -> write(output, action -> reviewRepository.forEachReviewByItemId(itemId, action));
+    }
+
+    @Override
+    public StreamingResponseBody exportAllReviews() {
+        return output -> write(output, reviewRepository::forEachReview);
+    }
+
+    private void write(OutputStream output, Consumer<Consumer<Review>> source) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(null);
+            int[] written = {0};
+            source.accept(review -> {
+                try {
+                    generator.writeObject(mapper.toReviewExportDto(review));
+                    generator.writeRaw('\n');
+                    if (++written[0] % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.hackerrank.sample.service;
+
+/**
+ * Parámetros de consulta de reseñas. Con {@code cursor} la página continúa desde la última reseña vista y
+ * {@code page} se ignora; el cursor solo aplica al orden por defecto. {@code sort} admite los valores de
+ * {@link com.hackerrank.sample.repository.ReviewSort}; {@code rating} y {@code minRating} son opcionales.
+ */
+public record ReviewQuery(int page, int size, String cursor, String sort, Integer rating, Integer minRating) {
+
+    public ReviewQuery(int page, int size, String cursor) {
+        this(page, size, cursor, null, null, null);
+    }
+}
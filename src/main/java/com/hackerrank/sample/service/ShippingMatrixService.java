@@ -0,0 +1,20 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.dto.ShippingMatrixReportDto;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Matriz de envío de todo el catálogo: plazo y costo de cada item en cada región, como NDJSON.
+ */
+public interface ShippingMatrixService {
+
+    /**
+     * Una línea por item y región con las opciones ajustadas, en orden de id de item y de prefijo.
+     */
+    StreamingResponseBody exportMatrix();
+
+    /**
+     * @throws com.hackerrank.sample.exception.NoSuchResourceFoundException si todavía no se exportó ninguna matriz
+     */
+    ShippingMatrixReportDto getLastReport();
+}
@@ -0,0 +1,149 @@
+package com.hackerrank.sample.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.dto.ShippingMatrixReportDto;
+import com.hackerrank.sample.dto.ShippingMatrixRowDto;
+import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.model.Item;
+import com.hackerrank.sample.model.ShippingOption;
+import com.hackerrank.sample.repository.ItemRepository;
+import com.hackerrank.sample.repository.ShippingMatrix;
+import com.hackerrank.sample.repository.ShippingOptionRepository;
+import com.hackerrank.sample.service.mapper.ItemExtrasMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Los items se procesan en tramos: cada tramo se cotiza y serializa en paralelo sobre un fork-join pool propio
+ * mientras se escribe el anterior, y a lo sumo hay dos tramos en memoria. El tamaño del tramo se elige para que
+ * tenga alrededor de {@link #ROWS_PER_CHUNK} filas, así la memoria no depende del tamaño del catálogo.
+ */
+@Service
+public class ShippingMatrixServiceImpl implements ShippingMatrixService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShippingMatrixServiceImpl.class);
+
+    static final int ROWS_PER_CHUNK = 32_768;
+
+    private final ObjectMapper objectMapper;
+    private final ItemRepository itemRepository;
+    private final ShippingOptionRepository shippingOptionRepository;
+    private final ItemExtrasMapper mapper;
+    private final ForkJoinPool pool;
+    private volatile ShippingMatrixReportDto lastReport;
+
+    private record EncodedItem(byte[] bytes, int rows) {
+    }
+
+    /**
+     * @param parallelism hilos para cotizar la matriz; 0 usa la mitad de los procesadores, así la exportación no
+     *     compite por todos los cores con los requests que se siguen atendiendo.
+     */
+    @Autowired
+    public ShippingMatrixServiceImpl(ObjectMapper objectMapper, ItemRepository itemRepository,
+            ShippingOptionRepository shippingOptionRepository, ItemExtrasMapper mapper,
+            @Value("${shipping.matrix.parallelism:0}") int parallelism) {
+        this.objectMapper = objectMapper;
+        this.itemRepository = itemRepository;
+        this.shippingOptionRepository = shippingOptionRepository;
+        this.mapper = mapper;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public StreamingResponseBody exportMatrix() {
+        ShippingMatrix matrix = shippingOptionRepository.shippingMatrix();
+        List<String> itemIds = itemRepository.findAll().stream().map(Item::getId).sorted().toList();
+        return output -> write(output, matrix, itemIds);
+    }
+
+    @Override
+    public ShippingMatrixReportDto getLastReport() {
+        ShippingMatrixReportDto report = lastReport;
+        if (report == null) {
+            throw new NoSuchResourceFoundException("Todavía no se exportó la matriz de envío");
+        }
+        return report;
+    }
+
+    private void write(OutputStream output, ShippingMatrix matrix, List<String> itemIds) throws IOException {
+        long start = System.nanoTime();
+        int chunkItems = Math.max(1, ROWS_PER_CHUNK / Math.max(1, matrix.regions().size()));
+        long rows = 0;
+        ForkJoinTask<List<EncodedItem>> next = submit(matrix, itemIds, 0, chunkItems);
+        try {
+            for (int from = 0; next != null; from += chunkItems) {
+                List<EncodedItem> chunk = next.join();
+                int nextFrom = from + chunkItems;
+                next = nextFrom < itemIds.size() ? submit(matrix, itemIds, nextFrom, chunkItems) : null;
+                for (EncodedItem item : chunk) {
+                    output.write(item.bytes());
+                    rows += item.rows();
+                }
+                output.flush();
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            if (next != null) {
+                next.cancel(true);
+            }
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        lastReport = new ShippingMatrixReportDto(Instant.now(), itemIds.size(), matrix.regions().size(), rows,
+            millis, rows * 1000 / millis, pool.getParallelism());
+        log.info("Matriz de envío exportada: {} items x {} regiones, {} filas en {} ms ({} filas/s, {} hilos)",
+            itemIds.size(), matrix.regions().size(), rows, millis, rows * 1000 / millis, pool.getParallelism());
+    }
+
+    private ForkJoinTask<List<EncodedItem>> submit(ShippingMatrix matrix, List<String> itemIds, int from,
+            int chunkItems) {
+        List<String> chunk = itemIds.subList(from, Math.min(from + chunkItems, itemIds.size()));
+        // Un stream paralelo lanzado desde una tarea del pool usa los hilos de ese pool.
+        return pool.submit(() -> chunk.parallelStream().map(itemId -> encode(matrix, itemId)).toList());
+    }
+
+    private EncodedItem encode(ShippingMatrix matrix, String itemId) {
+        List<ShippingOption> base = matrix.baseOptions(itemId);
+        if (base.isEmpty()) {
+            return new EncodedItem(new byte[0], 0);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        int rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+            generator.setRootValueSeparator(null);
+            List<String> regions = matrix.regions();
+            for (int region = 0; region < regions.size(); region++) {
+                List<ShippingOption> options = matrix.quote(base, region);
+                generator.writeObject(new ShippingMatrixRowDto(itemId, regions.get(region),
+                    mapper.toShippingOptionDtos(options)));
+                generator.writeRaw('\n');
+                rows++;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new EncodedItem(buffer.toByteArray(), rows);
+    }
+}
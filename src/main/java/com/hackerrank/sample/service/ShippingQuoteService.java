@@ -0,0 +1,15 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.dto.ShippingQuoteDto;
+import com.hackerrank.sample.dto.ShippingQuoteRequest;
+
+/**
+ * Cotización de envío de un carrito completo para un código postal.
+ */
+public interface ShippingQuoteService {
+
+    /**
+     * Cotiza todos los items en una sola pasada y, si se pide, consolida un envío por vendedor.
+     */
+    ShippingQuoteDto quote(ShippingQuoteRequest request);
+}
@@ -0,0 +1,145 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.dto.ShippingOptionDto;
+import com.hackerrank.sample.dto.ShippingQuoteDto;
+import com.hackerrank.sample.dto.ShippingQuoteRequest;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.model.Item;
+import com.hackerrank.sample.model.ShippingOption;
+import com.hackerrank.sample.repository.ItemRepository;
+import com.hackerrank.sample.repository.ShippingOptionRepository;
+import com.hackerrank.sample.service.mapper.ItemExtrasMapper;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cada línea cuesta una búsqueda del item y una cotización (normalmente del cache de cotizaciones); la región del
+ * código postal se resuelve una única vez por carrito.
+ */
+@Service
+public class ShippingQuoteServiceImpl implements ShippingQuoteService {
+
+    static final int MAX_LINES = 100;
+
+    private final ItemRepository itemRepository;
+    private final ShippingOptionRepository shippingOptionRepository;
+    private final ItemExtrasMapper mapper;
+
+    @Autowired
+    public ShippingQuoteServiceImpl(ItemRepository itemRepository, ShippingOptionRepository shippingOptionRepository,
+            ItemExtrasMapper mapper) {
+        this.itemRepository = itemRepository;
+        this.shippingOptionRepository = shippingOptionRepository;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public ShippingQuoteDto quote(ShippingQuoteRequest request) {
+        List<ShippingQuoteRequest.Line> lines = validate(request);
+        String zipcode = request.zipcode() == null ? "" : request.zipcode().trim();
+
+        List<Item> items = new ArrayList<>(lines.size());
+        List<String> itemIds = new ArrayList<>(lines.size());
+        List<String> missing = new ArrayList<>();
+        for (ShippingQuoteRequest.Line line : lines) {
+            Item item = itemRepository.findById(line.itemId()).orElse(null);
+            if (item == null) {
+                missing.add(line.itemId());
+            }
+            items.add(item);
+            itemIds.add(line.itemId());
+        }
+        if (!missing.isEmpty()) {
+            throw NotFoundErrors.notFound(itemRepository,
+                "No se encontraron los items con id " + String.join(", ", missing));
+        }
+
+        List<List<ShippingOption>> quotes = shippingOptionRepository.findByItemIdsAndZipcode(itemIds, zipcode);
+        List<ShippingQuoteDto.LineQuoteDto> lineQuotes = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            Item item = items.get(i);
+            int quantity = lines.get(i).quantity();
+            String sellerId = item.getSeller() == null ? null : item.getSeller().id();
+            lineQuotes.add(new ShippingQuoteDto.LineQuoteDto(item.getId(), sellerId, quantity,
+                item.getAvailableQuantity() >= quantity, mapper.toShippingOptionDtos(quotes.get(i))));
+        }
+        List<ShippingQuoteDto.SellerQuoteDto> sellers = Boolean.TRUE.equals(request.consolidate())
+            ? consolidate(lineQuotes)
+            : null;
+        return new ShippingQuoteDto(zipcode, lineQuotes, sellers);
+    }
+
+    private static List<ShippingQuoteRequest.Line> validate(ShippingQuoteRequest request) {
+        if (request == null || request.items() == null || request.items().isEmpty()) {
+            throw new BadResourceRequestException("items es obligatorio");
+        }
+        if (request.items().size() > MAX_LINES) {
+            throw new BadResourceRequestException("El carrito admite hasta " + MAX_LINES + " items");
+        }
+        for (ShippingQuoteRequest.Line line : request.items()) {
+            if (line == null || line.itemId() == null || line.itemId().isBlank()) {
+                throw new BadResourceRequestException("itemId es obligatorio");
+            }
+            if (line.quantity() == null || line.quantity() < 1) {
+                throw new BadResourceRequestException("quantity debe ser al menos 1");
+            }
+        }
+        return request.items();
+    }
+
+    /**
+     * Agrupa por vendedor los items disponibles y conserva las opciones (tipo y transportista) que ofrecen todos, con
+     * el mayor costo y plazo del grupo: se envían juntos en un único paquete. Un item sin vendedor no se puede juntar
+     * con otros y forma su propio grupo.
+     */
+    private static List<ShippingQuoteDto.SellerQuoteDto> consolidate(List<ShippingQuoteDto.LineQuoteDto> lines) {
+        Map<String, List<ShippingQuoteDto.LineQuoteDto>> bySeller = new LinkedHashMap<>();
+        List<List<ShippingQuoteDto.LineQuoteDto>> groups = new ArrayList<>();
+        for (ShippingQuoteDto.LineQuoteDto line : lines) {
+            if (!line.available()) {
+                continue;
+            }
+            if (line.sellerId() == null) {
+                groups.add(List.of(line));
+            } else {
+                bySeller.computeIfAbsent(line.sellerId(), sellerId -> {
+                    List<ShippingQuoteDto.LineQuoteDto> group = new ArrayList<>();
+                    groups.add(group);
+                    return group;
+                }).add(line);
+            }
+        }
+        List<ShippingQuoteDto.SellerQuoteDto> sellers = new ArrayList<>(groups.size());
+        for (List<ShippingQuoteDto.LineQuoteDto> group : groups) {
+            List<ShippingOptionDto> options = group.getFirst().options();
+            for (ShippingQuoteDto.LineQuoteDto line : group.subList(1, group.size())) {
+                options = combine(options, line.options());
+            }
+            sellers.add(new ShippingQuoteDto.SellerQuoteDto(group.getFirst().sellerId(),
+                group.stream().map(ShippingQuoteDto.LineQuoteDto::itemId).distinct().toList(), options,
+                !options.isEmpty()));
+        }
+        return sellers;
+    }
+
+    private static List<ShippingOptionDto> combine(List<ShippingOptionDto> first, List<ShippingOptionDto> second) {
+        List<ShippingOptionDto> combined = new ArrayList<>(first.size());
+        for (ShippingOptionDto option : first) {
+            for (ShippingOptionDto other : second) {
+                if (option.type().equals(other.type()) && Objects.equals(option.carrier(), other.carrier())) {
+                    combined.add(new ShippingOptionDto(option.type(), option.carrier(),
+                        option.cost().max(other.cost()),
+                        Math.max(option.estimatedDeliveryDays(), other.estimatedDeliveryDays()),
+                        option.pickupAvailable() && other.pickupAvailable()));
+                    break;
+                }
+            }
+        }
+        return combined;
+    }
+}
@@ -2,8 +2,12 @@ package com.hackerrank.sample.service.mapper;
 
 import com.hackerrank.sample.dto.QuestionDto;
 import com.hackerrank.sample.dto.RelatedItemDto;
+import com.hackerrank.sample.dto.ResponseTimeBucketDto;
 import com.hackerrank.sample.dto.ReviewDto;
+import com.hackerrank.sample.dto.ReviewExportDto;
 import com.hackerrank.sample.dto.ReviewSummaryDto;
+import com.hackerrank.sample.dto.ReviewTrendDto;
+import com.hackerrank.sample.dto.ReviewWindowDto;
 import com.hackerrank.sample.dto.SellerDetailDto;
 import com.hackerrank.sample.dto.ShippingOptionDto;
 import com.hackerrank.sample.model.Question;
@@ -11,6 +15,13 @@ import com.hackerrank.sample.model.RelatedItem;
 import com.hackerrank.sample.model.Review;
 import com.hackerrank.sample.model.SellerDetail;
 import com.hackerrank.sample.model.ShippingOption;
+import com.hackerrank.sample.repository.QuestionGroup;
+import com.hackerrank.sample.repository.ResponseStats;
+import com.hackerrank.sample.repository.ReviewSummary;
+import com.hackerrank.sample.repository.ReviewTrend;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -21,59 +32,127 @@ public class ItemExtrasMapper {
 
     public List<RelatedItemDto> toRelatedDtos(List<RelatedItem> items) {
         return items.stream()
-            .map(item -> new RelatedItemDto(item.id(), item.title(), item.price(), item.thumbnail()))
+            .map(item -> new RelatedItemDto(item.id(), item.title(), item.price().toShortestDecimal(),
+                item.thumbnail()))
             .toList();
     }
 
     public SellerDetailDto toSellerDetailDto(SellerDetail sellerDetail) {
+        return toSellerDetailDto(sellerDetail, ResponseStats.EMPTY);
+    }
+
+    /**
+     * Con preguntas registradas, la tasa y el tiempo de respuesta salen de las estadísticas en vivo; si no, se
+     * conservan los valores cargados del catálogo.
+     */
+    public SellerDetailDto toSellerDetailDto(SellerDetail sellerDetail, ResponseStats stats) {
+        boolean live = stats.asked() > 0;
+        List<ResponseTimeBucketDto> histogram = new ArrayList<>();
+        for (int bucket = 0; live && bucket < stats.buckets(); bucket++) {
+            histogram.add(new ResponseTimeBucketDto(stats.upperBoundHours(bucket), stats.count(bucket)));
+        }
         return new SellerDetailDto(
             sellerDetail.id(),
             sellerDetail.nickname(),
             sellerDetail.reputation(),
             sellerDetail.reputationLevel(),
             sellerDetail.totalSales(),
-            sellerDetail.responseRate(),
-            sellerDetail.responseTimeHours(),
-            sellerDetail.policies()
+            live ? Math.round(stats.responseRate() * 100) / 100.0 : sellerDetail.responseRate(),
+            live && stats.answered() > 0 ? stats.averageResponseHours() : sellerDetail.responseTimeHours(),
+            sellerDetail.policies(),
+            histogram
         );
     }
 
     public List<QuestionDto> toQuestionDtos(List<Question> questionList) {
         return questionList.stream()
-            .map(question -> new QuestionDto(
-                question.id(),
-                question.text(),
-                question.askedAt(),
-                question.answer(),
-                question.answeredAt()
-            ))
+            .map(this::toQuestionDto)
+            .toList();
+    }
+
+    public QuestionDto toQuestionDto(Question question) {
+        return new QuestionDto(
+            question.id(),
+            question.text(),
+            question.askedAt(),
+            question.answer(),
+            question.answeredAt()
+        );
+    }
+
+    public List<QuestionDto> toQuestionGroupDtos(List<QuestionGroup> groups) {
+        return groups.stream()
+            .map(group -> {
+                Question question = group.question();
+                return new QuestionDto(question.id(), question.text(), question.askedAt(), question.answer(),
+                    question.answeredAt(), group.size());
+            })
             .toList();
     }
 
     public List<ReviewDto> toReviewDtos(List<Review> reviewList) {
         return reviewList.stream()
-            .map(review -> new ReviewDto(
-                review.id(),
-                review.author(),
-                review.rating(),
-                review.title(),
-                review.comment(),
-                review.createdAt()
-            ))
+            .map(this::toReviewDto)
             .toList();
     }
 
+    public ReviewDto toReviewDto(Review review) {
+        return new ReviewDto(
+            review.id(),
+            review.author(),
+            review.rating(),
+            review.title(),
+            review.comment(),
+            review.createdAt()
+        );
+    }
+
+    public ReviewExportDto toReviewExportDto(Review review) {
+        return new ReviewExportDto(
+            review.itemId(),
+            review.id(),
+            review.author(),
+            review.rating(),
+            review.title(),
+            review.comment(),
+            review.createdAt()
+        );
+    }
+
     public ReviewSummaryDto toReviewSummaryDto(double averageRating, int totalReviews,
             Map<Integer, Long> distribution) {
         return new ReviewSummaryDto(averageRating, totalReviews, distribution);
     }
 
+    public ReviewTrendDto toReviewTrendDto(ReviewTrend trend) {
+        LocalDate asOf = trend.asOf();
+        List<ReviewWindowDto> weeks = new ArrayList<>(trend.weeks().size());
+        for (int week = 0; week < trend.weeks().size(); week++) {
+            weeks.add(toReviewWindowDto(trend.weeks().get(week), asOf.minusWeeks(week), 7));
+        }
+        return new ReviewTrendDto(
+            asOf,
+            toReviewWindowDto(trend.last7Days(), asOf, 7),
+            toReviewWindowDto(trend.last30Days(), asOf, 30),
+            toReviewWindowDto(trend.last90Days(), asOf, 90),
+            weeks
+        );
+    }
+
+    private ReviewWindowDto toReviewWindowDto(ReviewSummary summary, LocalDate to, int days) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int rating = 5; rating >= 1; rating--) {
+            distribution.put(rating, summary.count(rating));
+        }
+        return new ReviewWindowDto(to.minusDays(days - 1), to, summary.average(), summary.count(), distribution);
+    }
+
     public List<ShippingOptionDto> toShippingOptionDtos(List<ShippingOption> options) {
         return options.stream()
             .map(option -> new ShippingOptionDto(
                 option.type(),
                 option.carrier(),
-                option.cost(),
+                option.cost().toBigDecimal(),
                 option.estimatedDeliveryDays(),
                 option.pickupAvailable()
             ))
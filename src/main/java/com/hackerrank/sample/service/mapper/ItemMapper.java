@@ -2,13 +2,39 @@ package com.hackerrank.sample.service.mapper;
 
 import com.hackerrank.sample.dto.ItemDetailDto;
 import com.hackerrank.sample.model.Item;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ItemMapper {
 
+    private final Map<Item, Item.Content> contentCache;
+
+    public ItemMapper() {
+        this(0);
+    }
+
+    /**
+     * @param contentCacheSize cantidad máxima de contenidos decodificados (LRU) de items compactos; 0 lo desactiva.
+     */
+    @Autowired
+    public ItemMapper(@Value("${catalog.lazy-content.cache-size:0}") int contentCacheSize) {
+        this.contentCache = contentCacheSize <= 0 ? null : Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Item, Item.Content> eldest) {
+                    return size() > contentCacheSize;
+                }
+            });
+    }
+
     public ItemDetailDto toDto(Item item) {
+        Item.Content content = contentOf(item);
         return new ItemDetailDto(
             item.getId(),
             item.getTitle(),
@@ -17,17 +43,34 @@ public class ItemMapper {
             item.getPrice().currency(),
             item.getPermalink(),
             item.getWarranty(),
-            item.getDescription(),
+            content.description(),
             item.getAvailableQuantity(),
             item.getSoldQuantity(),
             item.getLastUpdated(),
             toSellerDto(item.getSeller()),
             toShippingDto(item.getShipping()),
-            toPictureDtos(item.getPictures()),
-            toAttributeDtos(item.getAttributes())
+            toPictureDtos(content.pictures()),
+            toAttributeDtos(content.attributes())
         );
     }
 
+    private Item.Content contentOf(Item item) {
+        if (contentCache == null || !item.isContentCompact()) {
+            return item.getContent();
+        }
+        Item.Content content = contentCache.get(item);
+        if (content == null) {
+            // Se decodifica fuera del lock del cache, que comparten todos los requests; si dos decodifican el mismo
+            // item a la vez, queda el primero en guardarse.
+            content = item.getContent();
+            Item.Content cached = contentCache.putIfAbsent(item, content);
+            if (cached != null) {
+                content = cached;
+            }
+        }
+        return content;
+    }
+
     private ItemDetailDto.SellerDto toSellerDto(Item.Seller seller) {
         return new ItemDetailDto.SellerDto(
             seller.id(),
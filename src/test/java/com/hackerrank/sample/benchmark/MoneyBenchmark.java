@@ -0,0 +1,145 @@
+package com.hackerrank.sample.benchmark;
+
+import com.hackerrank.sample.dto.RelatedItemDto;
+import com.hackerrank.sample.dto.ShippingOptionDto;
+import com.hackerrank.sample.model.Money;
+import com.hackerrank.sample.model.RelatedItem;
+import com.hackerrank.sample.model.ShippingOption;
+import com.hackerrank.sample.service.mapper.ItemExtrasMapper;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara los importes en {@link BigDecimal} (antes) con {@link Money} (después) en los caminos que los usan: la
+ * carga desde el {@code double} del catálogo, el recargo de envío por región con su mapeo a DTO y el mapeo de los
+ * relacionados. El camino anterior se reproduce acá porque ya no existe en el código.
+ *
+ * <pre>
+ * mvn -B test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main MoneyBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final BigDecimal SURCHARGE = new BigDecimal("1.3500");
+    private static final long SURCHARGE_UNITS = 13_500;
+    private static final long SURCHARGE_UNIT = 10_000;
+
+    @Param({"8", "64"})
+    private int size;
+
+    private final ItemExtrasMapper mapper = new ItemExtrasMapper();
+
+    private double[] catalogAmounts;
+    private List<LegacyShippingOption> legacyOptions;
+    private List<ShippingOption> options;
+    private List<LegacyRelatedItem> legacyRelated;
+    private List<RelatedItem> related;
+
+    /**
+     * Opción de envío y relacionado como se guardaban antes, con el importe en {@link BigDecimal}.
+     */
+    private record LegacyShippingOption(String type, String carrier, BigDecimal cost, int estimatedDeliveryDays,
+            boolean pickupAvailable) {
+    }
+
+    private record LegacyRelatedItem(String id, String title, BigDecimal price, String thumbnail) {
+    }
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        catalogAmounts = new double[size];
+        legacyOptions = new ArrayList<>(size);
+        options = new ArrayList<>(size);
+        legacyRelated = new ArrayList<>(size);
+        related = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double amount = random.nextLong(100, 10_000_000) / 100.0;
+            catalogAmounts[i] = amount;
+            BigDecimal legacy = new BigDecimal(String.valueOf(amount));
+            legacyOptions.add(new LegacyShippingOption("standard", "correo", legacy, 5, i % 2 == 0));
+            options.add(new ShippingOption("standard", "correo", Money.of(amount, Money.CATALOG_CURRENCY), 5,
+                i % 2 == 0));
+            legacyRelated.add(new LegacyRelatedItem("MLA" + i, "Item " + i, legacy, "https://img/" + i));
+            related.add(new RelatedItem("MLA" + i, "Item " + i, Money.of(amount, Money.CATALOG_CURRENCY),
+                "https://img/" + i));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal[] cargaConBigDecimal() {
+        BigDecimal[] amounts = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            amounts[i] = new BigDecimal(String.valueOf(catalogAmounts[i]));
+        }
+        return amounts;
+    }
+
+    @Benchmark
+    public Money[] cargaConMoney() {
+        Money[] amounts = new Money[size];
+        for (int i = 0; i < size; i++) {
+            amounts[i] = Money.of(catalogAmounts[i], Money.CATALOG_CURRENCY);
+        }
+        return amounts;
+    }
+
+    @Benchmark
+    public List<ShippingOptionDto> envioConBigDecimal() {
+        List<LegacyShippingOption> quoted = new ArrayList<>(size);
+        for (LegacyShippingOption option : legacyOptions) {
+            quoted.add(new LegacyShippingOption(option.type(), option.carrier(),
+                option.cost().multiply(SURCHARGE).setScale(2, RoundingMode.HALF_UP),
+                option.estimatedDeliveryDays() + 2, option.pickupAvailable()));
+        }
+        return quoted.stream()
+            .map(option -> new ShippingOptionDto(option.type(), option.carrier(), option.cost(),
+                option.estimatedDeliveryDays(), option.pickupAvailable()))
+            .toList();
+    }
+
+    @Benchmark
+    public List<ShippingOptionDto> envioConMoney() {
+        List<ShippingOption> quoted = new ArrayList<>(size);
+        for (ShippingOption option : options) {
+            quoted.add(new ShippingOption(option.type(), option.carrier(),
+                option.cost().times(SURCHARGE_UNITS, SURCHARGE_UNIT), option.estimatedDeliveryDays() + 2,
+                option.pickupAvailable()));
+        }
+        return mapper.toShippingOptionDtos(quoted);
+    }
+
+    @Benchmark
+    public List<RelatedItemDto> relacionadosConBigDecimal() {
+        return legacyRelated.stream()
+            .map(item -> new RelatedItemDto(item.id(), item.title(), item.price(), item.thumbnail()))
+            .toList();
+    }
+
+    @Benchmark
+    public List<RelatedItemDto> relacionadosConMoney() {
+        return mapper.toRelatedDtos(related);
+    }
+}
@@ -0,0 +1,105 @@
+package com.hackerrank.sample.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.model.Review;
+import com.hackerrank.sample.repository.ReviewFilter;
+import com.hackerrank.sample.repository.ReviewSort;
+import com.hackerrank.sample.repository.SampleDataLoader;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cientos de escritores concurrentes agregando reseñas al mismo item, solos y con lectores paginando las reseñas del
+ * item a la vez. En cada iteración cada escritor hace {@link #BATCH} altas y el puntaje es lo que tarda en hacerlas;
+ * el item crece en {@code WRITERS * BATCH} reseñas por iteración. Con un tiempo fijo por iteración el item crecería sin
+ * límite y cada alta, que copia sus columnas, costaría más cuanto más rápido fuera el camino de escritura. En máquinas
+ * con pocos núcleos conviene agregar {@code -si false}: la sincronización de iteraciones de JMH espera activamente y
+ * con cientos de hilos no deja correr a los que todavía no empezaron.
+ *
+ * <pre>
+ * mvn -B test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ReviewAppendBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = ReviewAppendBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = ReviewAppendBenchmark.BATCH)
+@Fork(1)
+public class ReviewAppendBenchmark {
+
+    static final int WRITERS = 200;
+    static final int BATCH = 50;
+
+    private static final String ITEM_ID = "MLA123456";
+    private static final OffsetDateTime BASE = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong remaining = new AtomicLong();
+    private SampleDataLoader loader;
+
+    @Setup
+    public void setUp() {
+        loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        loader.loadSampleData();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        remaining.set((long) WRITERS * BATCH);
+    }
+
+    @Benchmark
+    @Group("escritores")
+    @GroupThreads(WRITERS)
+    public boolean soloEscritores() {
+        return append();
+    }
+
+    @Benchmark
+    @Group("escritoresYLectores")
+    @GroupThreads(WRITERS)
+    public boolean escritoresConLectores() {
+        return append();
+    }
+
+    /**
+     * Pagina las reseñas del item mientras queden altas por hacer en la iteración.
+     *
+     * @return la cantidad de páginas leídas
+     */
+    @Benchmark
+    @Group("escritoresYLectores")
+    @GroupThreads(8)
+    public long lectores() {
+        long pages = 0;
+        while (remaining.get() > 0) {
+            loader.findReviewPage(ITEM_ID, ReviewSort.NEWEST, ReviewFilter.ALL, 0, 20);
+            pages++;
+        }
+        return pages;
+    }
+
+    private boolean append() {
+        long next = sequence.incrementAndGet();
+        boolean appended = loader.appendReview(new Review("B" + next, ITEM_ID, "Autor", (int) (next % 5) + 1,
+            "Título", "Comentario", BASE.plusSeconds(next)));
+        remaining.decrementAndGet();
+        return appended;
+    }
+}
@@ -0,0 +1,129 @@
+package com.hackerrank.sample.controller;
+
+import com.hackerrank.sample.dto.CatalogStatusDto;
+import com.hackerrank.sample.dto.DeltaResultDto;
+import com.hackerrank.sample.dto.ShippingMatrixReportDto;
+import com.hackerrank.sample.dto.ShippingRulesStatusDto;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.service.CatalogAdminService;
+import com.hackerrank.sample.service.ReviewExportService;
+import com.hackerrank.sample.service.ShippingMatrixService;
+import java.io.InputStream;
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CatalogAdminController.class)
+class CatalogAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CatalogAdminService catalogAdminService;
+
+    @MockBean
+    private ReviewExportService reviewExportService;
+
+    @MockBean
+    private ShippingMatrixService shippingMatrixService;
+
+    @Test
+    @DisplayName("GET /api/admin/catalog devuelve la generación publicada")
+    void getStatus_devuelveGeneracion() throws Exception {
+        when(catalogAdminService.getStatus()).thenReturn(
+            new CatalogStatusDto(3, 120, 0, "json", Instant.parse("2024-06-01T12:00:00Z"), 850, 2048, false, null,
+                "READY", 0, 1, 1, null));
+
+        mockMvc.perform(get("/api/admin/catalog"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.generation").value(3))
+            .andExpect(jsonPath("$.loadMillis").value(850))
+            .andExpect(jsonPath("$.dedupBytesSaved").value(2048))
+            .andExpect(jsonPath("$.readiness").value("READY"));
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/catalog/reload responde 202 mientras recarga en segundo plano")
+    void reload_devuelveAccepted() throws Exception {
+        when(catalogAdminService.reload()).thenReturn(
+            new CatalogStatusDto(3, 120, 0, "json", Instant.parse("2024-06-01T12:00:00Z"), 850, 2048, true, null,
+                "READY", 0, 1, 1, null));
+
+        mockMvc.perform(post("/api/admin/catalog/reload"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.reloading").value(true));
+
+        verify(catalogAdminService).reload();
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/catalog/deltas aplica el feed NDJSON y devuelve la marca de agua")
+    void applyDeltas_devuelveMarcaDeAgua() throws Exception {
+        when(catalogAdminService.applyDeltas(any(InputStream.class))).thenReturn(new DeltaResultDto(2, 1, 0, 0, 1, 42));
+
+        mockMvc.perform(post("/api/admin/catalog/deltas")
+                .contentType("application/x-ndjson")
+                .content("{\"seq\":42,\"op\":\"delete\",\"type\":\"item\",\"id\":\"MLA1\"}\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.applied").value(2))
+            .andExpect(jsonPath("$.unknownItems").value(1))
+            .andExpect(jsonPath("$.watermark").value(42));
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/catalog/deltas responde 400 ante un feed inválido")
+    void applyDeltas_feedInvalido() throws Exception {
+        when(catalogAdminService.applyDeltas(any(InputStream.class)))
+            .thenThrow(new BadResourceRequestException("Delta inválido"));
+
+        mockMvc.perform(post("/api/admin/catalog/deltas")
+                .contentType("application/x-ndjson")
+                .content("{"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/catalog/shipping-rules/reload publica las reglas o responde 400 si son inválidas")
+    void reloadShippingRules_publicaReglas() throws Exception {
+        when(catalogAdminService.reloadShippingRules())
+            .thenReturn(new ShippingRulesStatusDto("classpath:data/shipping-rules.json", 2, 5, 5, 0,
+                Instant.parse("2024-06-01T12:00:00Z")))
+            .thenThrow(new BadResourceRequestException("Reglas de envío inválidas"));
+
+        mockMvc.perform(post("/api/admin/catalog/shipping-rules/reload"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(2))
+            .andExpect(jsonPath("$.regions").value(5));
+        mockMvc.perform(post("/api/admin/catalog/shipping-rules/reload"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /shipping-matrix/report devuelve la última exportación o 404 si no hubo ninguna")
+    void getShippingMatrixReport() throws Exception {
+        when(shippingMatrixService.getLastReport())
+            .thenReturn(new ShippingMatrixReportDto(Instant.parse("2024-06-01T12:00:00Z"), 2, 5, 10, 4, 2500, 8))
+            .thenThrow(new NoSuchResourceFoundException("Todavía no se exportó la matriz de envío"));
+
+        mockMvc.perform(get("/api/admin/catalog/shipping-matrix/report"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows").value(10))
+            .andExpect(jsonPath("$.rowsPerSecond").value(2500));
+        mockMvc.perform(get("/api/admin/catalog/shipping-matrix/report"))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -1,20 +1,35 @@
 package com.hackerrank.sample.controller;
 
 import com.hackerrank.sample.dto.ItemDetailDto;
+import com.hackerrank.sample.dto.AnswerRequest;
 import com.hackerrank.sample.dto.QuestionDto;
+import com.hackerrank.sample.dto.QuestionPageDto;
+import com.hackerrank.sample.dto.QuestionRequest;
 import com.hackerrank.sample.dto.RelatedItemDto;
 import com.hackerrank.sample.dto.ReviewDto;
 import com.hackerrank.sample.dto.ReviewPageDto;
+import com.hackerrank.sample.dto.ReviewRequest;
 import com.hackerrank.sample.dto.ReviewSummaryDto;
+import com.hackerrank.sample.dto.ReviewTrendDto;
+import com.hackerrank.sample.dto.ReviewWindowDto;
+import com.hackerrank.sample.dto.SearchPageDto;
 import com.hackerrank.sample.dto.ShippingOptionDto;
+import com.hackerrank.sample.exception.CatalogNotReadyException;
 import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.exception.ResourceConflictException;
 import com.hackerrank.sample.service.ItemExtrasService;
 import com.hackerrank.sample.service.ItemService;
+import com.hackerrank.sample.service.QuestionQuery;
+import com.hackerrank.sample.service.ReviewExportService;
+import com.hackerrank.sample.service.ReviewQuery;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,12 +37,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
@@ -44,6 +64,9 @@ class ItemControllerTest {
     @MockBean
     private ItemExtrasService itemExtrasService;
 
+    @MockBean
+    private ReviewExportService reviewExportService;
+
     @Test
     @DisplayName("GET /api/items/{id} devuelve 200 y el cuerpo esperado cuando el item existe")
     void getItemDetail_devuelveItemCuandoExiste() throws Exception {
@@ -61,6 +84,16 @@ class ItemControllerTest {
         verify(itemService).getItemDetail(ITEM_ID);
     }
 
+    @Test
+    @DisplayName("GET /api/items/{id} devuelve 503 con Retry-After mientras el catálogo se carga")
+    void getItemDetail_devuelveServiceUnavailableMientrasCarga() throws Exception {
+        when(itemService.getItemDetail(ITEM_ID)).thenThrow(new CatalogNotReadyException("Cargando"));
+
+        mockMvc.perform(get("/api/items/{id}", ITEM_ID))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "5"));
+    }
+
     @Test
     @DisplayName("GET /api/items/{id} devuelve 404 cuando el item no existe")
     void getItemDetail_devuelveNotFoundCuandoNoExiste() throws Exception {
@@ -90,8 +123,8 @@ class ItemControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/items/{id}/questions devuelve las preguntas y respuestas")
-    void getQuestions_devuelvePreguntas() throws Exception {
+    @DisplayName("GET /api/items/{id}/questions sin parámetros devuelve la lista completa como antes")
+    void getQuestions_sinParametrosDevuelveLista() throws Exception {
         List<QuestionDto> questions = List.of(
             new QuestionDto("Q1", "¿Listo para retirar?", OffsetDateTime.now(ZoneOffset.UTC), "Sí", OffsetDateTime.now(ZoneOffset.UTC))
         );
@@ -105,6 +138,54 @@ class ItemControllerTest {
         verify(itemExtrasService).getQuestions(ITEM_ID);
     }
 
+    @Test
+    @DisplayName("GET /api/items/{id}/questions devuelve la página de preguntas filtrada")
+    void getQuestions_devuelvePreguntas() throws Exception {
+        List<QuestionDto> questions = List.of(
+            new QuestionDto("Q1", "¿Listo para retirar?", OffsetDateTime.now(ZoneOffset.UTC), "Sí", OffsetDateTime.now(ZoneOffset.UTC))
+        );
+        QuestionQuery query = new QuestionQuery(0, 5, null, true);
+        when(itemExtrasService.getQuestions(ITEM_ID, query))
+            .thenReturn(new QuestionPageDto(questions, 0, 5, 1, 1, null));
+
+        mockMvc.perform(get("/api/items/{id}/questions", ITEM_ID).param("size", "5").param("answered", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.questions[0].id").value("Q1"))
+            .andExpect(jsonPath("$.questions[0].answer").value("Sí"))
+            .andExpect(jsonPath("$.totalElements").value(1))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(itemExtrasService).getQuestions(ITEM_ID, query);
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id}/questions?collapse=true incluye el tamaño de cada grupo")
+    void getQuestions_agrupaCasiIguales() throws Exception {
+        List<QuestionDto> questions = List.of(
+            new QuestionDto("Q1", "¿Tiene garantía?", OffsetDateTime.now(ZoneOffset.UTC), "Sí", null, 3)
+        );
+        QuestionQuery query = new QuestionQuery(0, 10, null, null, true);
+        when(itemExtrasService.getQuestions(ITEM_ID, query))
+            .thenReturn(new QuestionPageDto(questions, 0, 10, 1, 1, null));
+
+        mockMvc.perform(get("/api/items/{id}/questions", ITEM_ID).param("collapse", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.questions[0].similarCount").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id}/questions/similar devuelve las respondidas casi iguales")
+    void getSimilarQuestions_devuelveRespondidas() throws Exception {
+        when(itemExtrasService.getSimilarAnsweredQuestions(ITEM_ID, "¿Tiene garantía?", 5)).thenReturn(List.of(
+            new QuestionDto("Q1", "Tiene garantia?", OffsetDateTime.now(ZoneOffset.UTC), "Sí", null)
+        ));
+
+        mockMvc.perform(get("/api/items/{id}/questions/similar", ITEM_ID).param("text", "¿Tiene garantía?"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].answer").value("Sí"))
+            .andExpect(jsonPath("$[0].similarCount").doesNotExist());
+    }
+
     @Test
     @DisplayName("GET /api/items/{id}/reviews retorna la paginación y métricas")
     void getReviews_devuelvePagina() throws Exception {
@@ -115,17 +196,140 @@ class ItemControllerTest {
             new ReviewSummaryDto(4.5, 10, Map.of(5, 7L, 4, 2L, 3, 1L, 2, 0L, 1, 0L)),
             0,
             10,
-            1
+            10,
+            1,
+            null
         );
-        when(itemExtrasService.getReviews(ITEM_ID, 0, 10)).thenReturn(pageDto);
+        when(itemExtrasService.getReviews(ITEM_ID, new ReviewQuery(0, 10, null))).thenReturn(pageDto);
 
         mockMvc.perform(get("/api/items/{id}/reviews", ITEM_ID))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.reviews[0].id").value("R1"))
             .andExpect(jsonPath("$.summary.averageRating").value(4.5))
-            .andExpect(jsonPath("$.totalPages").value(1));
+            .andExpect(jsonPath("$.totalPages").value(1))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(itemExtrasService).getReviews(ITEM_ID, new ReviewQuery(0, 10, null));
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id}/reviews?cursor= pagina a partir del cursor recibido")
+    void getReviews_conCursor() throws Exception {
+        ReviewPageDto pageDto = new ReviewPageDto(List.of(), new ReviewSummaryDto(0.0, 0, Map.of()), 0, 5, 0, 0, "abc");
+        when(itemExtrasService.getReviews(ITEM_ID, new ReviewQuery(0, 5, "xyz"))).thenReturn(pageDto);
+
+        mockMvc.perform(get("/api/items/{id}/reviews", ITEM_ID).param("size", "5").param("cursor", "xyz"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nextCursor").value("abc"));
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id}/reviews?sort=&rating=&minRating= pasa orden y filtros al servicio")
+    void getReviews_conOrden() throws Exception {
+        ReviewPageDto pageDto = new ReviewPageDto(List.of(), new ReviewSummaryDto(0.0, 0, Map.of()), 0, 10, 0, 0, null);
+        ReviewQuery query = new ReviewQuery(0, 10, null, "rating_desc", 5, 4);
+        when(itemExtrasService.getReviews(ITEM_ID, query)).thenReturn(pageDto);
+
+        mockMvc.perform(get("/api/items/{id}/reviews", ITEM_ID).param("sort", "rating_desc")
+                .param("rating", "5").param("minRating", "4"))
+            .andExpect(status().isOk());
+
+        verify(itemExtrasService).getReviews(ITEM_ID, query);
+    }
+
+    @Test
+    @DisplayName("POST /api/items/{id}/reviews crea la reseña y responde 201")
+    void addReview_responde201() throws Exception {
+        ReviewRequest request = new ReviewRequest("Ana", 5, "Excelente", "Muy bueno");
+        ReviewDto created = new ReviewDto("R1", "Ana", 5, "Excelente", "Muy bueno", OffsetDateTime.now(ZoneOffset.UTC));
+        when(itemExtrasService.addReview(ITEM_ID, request)).thenReturn(created);
+
+        mockMvc.perform(post("/api/items/{id}/reviews", ITEM_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"author\":\"Ana\",\"rating\":5,\"title\":\"Excelente\",\"comment\":\"Muy bueno\"}"))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").value("R1"));
+    }
+
+    @Test
+    @DisplayName("POST /api/items/{id}/questions crea la pregunta y responde 201")
+    void askQuestion_responde201() throws Exception {
+        QuestionDto created = new QuestionDto("Q9", "¿Tiene garantía?", OffsetDateTime.now(ZoneOffset.UTC), null, null);
+        when(itemExtrasService.askQuestion(ITEM_ID, new QuestionRequest("¿Tiene garantía?"))).thenReturn(created);
+
+        mockMvc.perform(post("/api/items/{id}/questions", ITEM_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"¿Tiene garantía?\"}"))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").value("Q9"))
+            .andExpect(jsonPath("$.answer").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/items/{id}/questions/{questionId}/answer responde 409 si ya estaba respondida")
+    void answerQuestion_yaRespondida() throws Exception {
+        when(itemExtrasService.answerQuestion(ITEM_ID, "Q1", new AnswerRequest("Sí")))
+            .thenThrow(new ResourceConflictException("La pregunta Q1 ya fue respondida"));
+
+        mockMvc.perform(post("/api/items/{id}/questions/{questionId}/answer", ITEM_ID, "Q1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"answer\":\"Sí\"}"))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id}/reviews/export transmite las reseñas como NDJSON")
+    void exportReviews_transmiteNdjson() throws Exception {
+        when(reviewExportService.exportItemReviews(ITEM_ID))
+            .thenReturn(output -> output.write("{\"id\":\"R1\"}\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mockMvc.perform(get("/api/items/{id}/reviews/export", ITEM_ID))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        // Sin límite de exportación el timeout asíncrono es 0, que asyncDispatch toma como no esperar el resultado.
+        result.getAsyncResult(TimeUnit.SECONDS.toMillis(5));
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(content().string("{\"id\":\"R1\"}\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id}/reviews/trend responde con las ventanas y las semanas")
+    void getReviewTrend_devuelveVentanas() throws Exception {
+        LocalDate asOf = LocalDate.parse("2024-06-03");
+        ReviewWindowDto window = new ReviewWindowDto(asOf.minusDays(6), asOf, 4.5, 2, Map.of(5, 1L, 4, 1L));
+        when(itemExtrasService.getReviewTrend(ITEM_ID))
+            .thenReturn(new ReviewTrendDto(asOf, window, window, window, List.of(window)));
 
-        verify(itemExtrasService).getReviews(ITEM_ID, 0, 10);
+        mockMvc.perform(get("/api/items/{id}/reviews/trend", ITEM_ID))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.asOf").value("2024-06-03"))
+            .andExpect(jsonPath("$.last7Days.from").value("2024-05-28"))
+            .andExpect(jsonPath("$.last7Days.averageRating").value(4.5))
+            .andExpect(jsonPath("$.weeks[0].totalReviews").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id}/reviews/search?q= responde con los resultados rankeados")
+    void searchReviews_devuelveResultados() throws Exception {
+        SearchPageDto<ReviewDto> pageDto = new SearchPageDto<>("batería", List.of(
+            new ReviewDto("R1", "Autor", 5, "Titulo", "Gran batería", OffsetDateTime.now(ZoneOffset.UTC))
+        ), 0, 10, 1, 1);
+        when(itemExtrasService.searchReviews(ITEM_ID, "batería", 0, 10)).thenReturn(pageDto);
+
+        mockMvc.perform(get("/api/items/{id}/reviews/search", ITEM_ID).param("q", "batería"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[0].id").value("R1"))
+            .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id}/questions/search sin q responde 400")
+    void searchQuestions_sinConsulta() throws Exception {
+        mockMvc.perform(get("/api/items/{id}/questions/search", ITEM_ID))
+            .andExpect(status().isBadRequest());
     }
 
     @Test
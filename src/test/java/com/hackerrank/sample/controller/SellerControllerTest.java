@@ -1,5 +1,6 @@
 package com.hackerrank.sample.controller;
 
+import com.hackerrank.sample.dto.ResponseTimeBucketDto;
 import com.hackerrank.sample.dto.SellerDetailDto;
 import com.hackerrank.sample.service.ItemExtrasService;
 import java.util.List;
@@ -36,7 +37,8 @@ class SellerControllerTest {
             1200,
             0.95,
             6,
-            List.of("Devoluciones gratis", "Atención 24/7")
+            List.of("Devoluciones gratis", "Atención 24/7"),
+            List.of(new ResponseTimeBucketDto(1, 12), new ResponseTimeBucketDto(null, 2))
         );
 
         when(itemExtrasService.getSellerDetail("S123")).thenReturn(seller);
@@ -45,7 +47,9 @@ class SellerControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.id").value("S123"))
             .andExpect(jsonPath("$.totalSales").value(1200))
-            .andExpect(jsonPath("$.policies[0]").value("Devoluciones gratis"));
+            .andExpect(jsonPath("$.policies[0]").value("Devoluciones gratis"))
+            .andExpect(jsonPath("$.responseTimeHistogram[0].upToHours").value(1))
+            .andExpect(jsonPath("$.responseTimeHistogram[1].count").value(2));
 
         verify(itemExtrasService).getSellerDetail("S123");
     }
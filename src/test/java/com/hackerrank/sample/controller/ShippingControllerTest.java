@@ -0,0 +1,65 @@
+package com.hackerrank.sample.controller;
+
+import com.hackerrank.sample.dto.ShippingOptionDto;
+import com.hackerrank.sample.dto.ShippingQuoteDto;
+import com.hackerrank.sample.dto.ShippingQuoteRequest;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.service.ShippingQuoteService;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ShippingController.class)
+class ShippingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ShippingQuoteService shippingQuoteService;
+
+    @Test
+    @DisplayName("POST /api/shipping/quotes cotiza el carrito en una sola respuesta")
+    void quote_devuelveCotizacion() throws Exception {
+        ShippingQuoteRequest request = new ShippingQuoteRequest("1000",
+            List.of(new ShippingQuoteRequest.Line("MLA123456", 2)), null);
+        when(shippingQuoteService.quote(request)).thenReturn(new ShippingQuoteDto("1000", List.of(
+            new ShippingQuoteDto.LineQuoteDto("MLA123456", "S123", 2, true, List.of(
+                new ShippingOptionDto("standard", "Correo Argentino", new BigDecimal("1999.99"), 3, false)))
+        ), null));
+
+        mockMvc.perform(post("/api/shipping/quotes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"zipcode\":\"1000\",\"items\":[{\"itemId\":\"MLA123456\",\"quantity\":2}]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].sellerId").value("S123"))
+            .andExpect(jsonPath("$.items[0].options[0].cost").value(1999.99))
+            .andExpect(jsonPath("$.sellers").doesNotExist());
+
+        verify(shippingQuoteService).quote(request);
+    }
+
+    @Test
+    @DisplayName("POST /api/shipping/quotes responde 400 ante un carrito inválido")
+    void quote_carritoInvalido() throws Exception {
+        when(shippingQuoteService.quote(any())).thenThrow(new BadResourceRequestException("items es obligatorio"));
+
+        mockMvc.perform(post("/api/shipping/quotes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"zipcode\":\"1000\",\"items\":[]}"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,96 @@
+package com.hackerrank.sample.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import com.hackerrank.sample.service.ReviewExportService;
+import com.hackerrank.sample.service.ShippingMatrixService;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ExportTimeoutE2ETest {
+
+    private static final long CONTAINER_TIMEOUT_MS = 300;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @MockBean
+    private ShippingMatrixService shippingMatrixService;
+
+    @MockBean
+    private ReviewExportService reviewExportService;
+
+    /**
+     * Baja el límite por defecto del contenedor para que la exportación lo supere sin alargar el test; Tomcat revisa
+     * los límites una vez por segundo, así que la exportación dura varios segundos.
+     */
+    @TestConfiguration
+    static class ShortContainerTimeout {
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> shortAsyncTimeout() {
+            return factory -> factory.addConnectorCustomizers(
+                connector -> connector.setAsyncTimeout(CONTAINER_TIMEOUT_MS));
+        }
+    }
+
+    @Test
+    @DisplayName("una exportación de la matriz más larga que el límite por defecto del contenedor llega completa (E2E)")
+    void exportMatrix_superaElLimiteDelContenedor() {
+        given(shippingMatrixService.exportMatrix()).willReturn(slowExport());
+
+        assertComplete(restTemplate.getForEntity(url("/api/admin/catalog/shipping-matrix"), String.class));
+    }
+
+    @Test
+    @DisplayName("las exportaciones de reseñas más largas que el límite por defecto del contenedor llegan completas (E2E)")
+    void exportReviews_superanElLimiteDelContenedor() {
+        given(reviewExportService.exportAllReviews()).willReturn(slowExport());
+        given(reviewExportService.exportItemReviews("MLA123456")).willReturn(slowExport());
+
+        assertComplete(restTemplate.getForEntity(url("/api/admin/catalog/reviews/export"), String.class));
+        assertComplete(restTemplate.getForEntity(url("/api/items/MLA123456/reviews/export"), String.class));
+    }
+
+    private static StreamingResponseBody slowExport() {
+        return output -> {
+            for (int line = 0; line < 10; line++) {
+                output.write(("{\"line\":" + line + "}\n").getBytes(StandardCharsets.UTF_8));
+                output.flush();
+                try {
+                    Thread.sleep(CONTAINER_TIMEOUT_MS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        };
+    }
+
+    private static void assertComplete(ResponseEntity<String> response) {
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().split("\n")).hasSize(10).endsWith("{\"line\":9}");
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+}
@@ -48,6 +48,21 @@ class ItemApiE2ETest {
         assertThat(tags).contains("envios_gratis");
     }
 
+    @Test
+    @DisplayName("GET /api/items/{id}/reviews/export transmite todas las reseñas como NDJSON (E2E)")
+    void exportReviews_endToEnd() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            url("/api/items/MLA123456/reviews/export"),
+            String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("application/x-ndjson");
+        assertThat(response.getBody()).isNotNull();
+        String[] lines = response.getBody().split("\n");
+        assertThat(lines).isNotEmpty().allSatisfy(line -> assertThat(line).startsWith("{\"itemId\":\"MLA123456\""));
+    }
+
     @Test
     @DisplayName("GET /api/items/{id} devuelve 404 cuando no existe (E2E)")
     void getItemDetail_endToEndNotFound() {
@@ -59,6 +59,35 @@ class ItemTest {
             .isInstanceOf(UnsupportedOperationException.class);
     }
 
+    @Test
+    @DisplayName("compact codifica descripción, imágenes y atributos y los decodifica sin cambios")
+    void compact_conservaElContenido() {
+        Item item = Item.builder()
+            .id("MLA0002")
+            .title("Parlante")
+            .description("Parlante portátil con batería de 12 horas.")
+            .price(new Item.Price(new BigDecimal("35000.00"), "ARS"))
+            .seller(new Item.Seller("S0002", "AudioShop", 4.8))
+            .shipping(new Item.Shipping(false, "custom", List.of()))
+            .pictures(List.of(
+                new Item.Picture("http://mlstatic.com/p1.jpg", "https://mlstatic.com/p1.jpg", "principal", 1),
+                new Item.Picture("http://mlstatic.com/p2.jpg", null, null, 2)
+            ))
+            .attributes(List.of(new Item.Attribute("COLOR", "Color", null)))
+            .build();
+
+        Item compact = item.compact();
+
+        assertThat(compact.isContentCompact()).isTrue();
+        assertThat(compact.compact()).isSameAs(compact);
+        assertThat(compact.getDescription()).isEqualTo(item.getDescription());
+        assertThat(compact.getPictures()).isEqualTo(item.getPictures());
+        assertThat(compact.getAttributes()).isEqualTo(item.getAttributes());
+        assertThat(compact.getSeller()).isSameAs(item.getSeller());
+        assertThatThrownBy(() -> compact.getPictures().clear())
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
     @Test
     @DisplayName("build lanza NullPointerException cuando faltan campos obligatorios")
     void builder_fallaCuandoFaltanCamposObligatorios() {
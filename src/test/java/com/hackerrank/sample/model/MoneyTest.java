@@ -0,0 +1,71 @@
+package com.hackerrank.sample.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("toShortestDecimal reproduce el BigDecimal que se armaba desde el double del catálogo")
+    void toShortestDecimal_igualAlDouble() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 100_000; i++) {
+            long minor = i < 50_000 ? random.nextLong(2_000_000_000L) : random.nextLong(1L << 40);
+            double amount = minor / 100.0;
+            BigDecimal legacy = new BigDecimal(String.valueOf(amount));
+
+            Money money = Money.of(amount, "ARS");
+
+            assertThat(money.minor()).isEqualTo(minor);
+            assertThat(money.toShortestDecimal()).isEqualTo(legacy);
+        }
+        assertThat(new Money(0, "ARS").toShortestDecimal().toString()).isEqualTo("0.0");
+        assertThat(Money.of(79999.90, "ARS").toShortestDecimal().toString()).isEqualTo("79999.9");
+        assertThat(Money.of(15_000_000.0, "ARS").toShortestDecimal().toString()).isEqualTo("1.5E+7");
+    }
+
+    @Test
+    @DisplayName("times redondea HALF_UP a centavos igual que multiply y setScale")
+    void times_igualABigDecimal() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100_000; i++) {
+            long minor = random.nextLong(-10_000_000_000L, 10_000_000_000L);
+            long factor = random.nextLong(1, 50_000);
+            BigDecimal legacy = BigDecimal.valueOf(minor, 2).multiply(BigDecimal.valueOf(factor, 4))
+                .setScale(2, RoundingMode.HALF_UP);
+
+            assertThat(new Money(minor, "ARS").times(factor, 10_000).toBigDecimal()).isEqualTo(legacy);
+        }
+        assertThat(Money.of(new BigDecimal("1999.99"), "ARS").times(13_500, 10_000).toBigDecimal())
+            .isEqualTo(new BigDecimal("2699.99"));
+    }
+
+    @Test
+    @DisplayName("compara solo importes de la misma moneda")
+    void max_exigeMismaMoneda() {
+        Money ars = Money.of(new BigDecimal("10.00"), "ARS");
+
+        assertThat(ars.max(Money.of(new BigDecimal("10.01"), "ARS")).minor()).isEqualTo(1001);
+        assertThatThrownBy(() -> ars.max(Money.of(new BigDecimal("1"), "USD")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("rechaza importes exactos con más decimales que centavos y redondea los leídos del catálogo")
+    void of_rechazaMasDeDosDecimales() {
+        assertThat(Money.of(new BigDecimal("12.500"), "ARS").minor()).isEqualTo(1250);
+        assertThat(Money.of(new BigDecimal("1E+2"), "ARS").minor()).isEqualTo(10_000);
+
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.005"), "ARS"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("0.005");
+        assertThat(Money.of(19.995, "ARS").minor()).isEqualTo(2000);
+        assertThat(Money.of(19.994, "ARS").minor()).isEqualTo(1999);
+    }
+}
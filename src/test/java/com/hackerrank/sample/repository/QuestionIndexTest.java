@@ -0,0 +1,173 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Question;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class QuestionIndexTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.parse("2024-06-01T10:00:00Z");
+
+    private static final List<Question> QUESTIONS = List.of(
+        new Question("Q1", "MLA1", "¿Tiene garantía?", BASE, "Sí, 12 meses", BASE.plusHours(1)),
+        new Question("Q2", "MLA1", "¿Viene en rojo?", BASE.plusDays(2), null, null),
+        new Question("Q3", "MLA1", "¿Hacen factura A?", BASE.plusDays(1), "Sí", BASE.plusDays(1)),
+        new Question("Q4", "MLA1", "¿Sirve para PS5?", BASE.plusDays(3), null, null),
+        new Question("Q0", "MLA1", "¿Envían hoy?", BASE.plusDays(2), "No", BASE.plusDays(3))
+    );
+
+    @Test
+    @DisplayName("page ordena de la más nueva a la más vieja y filtra por respondidas")
+    void page_ordenaYFiltra() {
+        QuestionIndex index = QuestionIndex.of("S1", QUESTIONS, UnaryOperator.identity());
+
+        assertThat(index.page(null, 0, 10)).extracting(Question::id).containsExactly("Q4", "Q0", "Q2", "Q3", "Q1");
+        assertThat(index.page(true, 1, 10)).extracting(Question::id).containsExactly("Q3", "Q1");
+        assertThat(index.page(false, 0, 1)).extracting(Question::id).containsExactly("Q4");
+        assertThat(index.count(true)).isEqualTo(3);
+        assertThat(index.count(false)).isEqualTo(2);
+        assertThat(index.page(null, 10, 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("questions devuelve el orden de origen aunque las fechas estén desordenadas, también al agregar")
+    void questions_ordenDeOrigen() {
+        QuestionIndex index = QuestionIndex.of("S1", QUESTIONS, UnaryOperator.identity());
+        Question newest = new Question("Q5", "MLA1", "¿Tiene garantía extendida?", BASE.plusDays(4), null, null);
+        Question older = new Question("Q6", "MLA1", "¿Trae cargador?", BASE.minusDays(1), null, null);
+
+        assertThat(index.questions()).extracting(Question::id).containsExactly("Q1", "Q2", "Q3", "Q4", "Q0");
+        assertThat(index.question(0).id()).isEqualTo("Q4");
+        QuestionIndex updated = index.plus(newest, UnaryOperator.identity()).plus(older, UnaryOperator.identity());
+        assertThat(updated.questions()).extracting(Question::id)
+            .containsExactly("Q1", "Q2", "Q3", "Q4", "Q0", "Q5", "Q6");
+        assertThat(updated.page(null, 0, 10)).extracting(Question::id)
+            .containsExactly("Q5", "Q4", "Q0", "Q2", "Q3", "Q1", "Q6");
+    }
+
+    @Test
+    @DisplayName("pageAfter continúa después del cursor con o sin filtro")
+    void pageAfter_continuaDesdeElCursor() {
+        QuestionIndex index = QuestionIndex.of("S1", QUESTIONS, UnaryOperator.identity());
+        QuestionCursor afterQ0 = QuestionCursor.decode(QuestionCursor.of(QUESTIONS.get(4)).encode());
+
+        assertThat(index.pageAfter(afterQ0, null, 2)).extracting(Question::id).containsExactly("Q2", "Q3");
+        assertThat(index.pageAfter(afterQ0, false, 5)).extracting(Question::id).containsExactly("Q2");
+        assertThat(index.search("garantia", 0, 10).results()).extracting(Question::id).containsExactly("Q1");
+    }
+
+    @Test
+    @DisplayName("plus y replace equivalen a reconstruir el índice y ajustan las estadísticas")
+    void plusYReplace_equivalenAReconstruir() {
+        QuestionIndex index = QuestionIndex.of("S1", QUESTIONS, UnaryOperator.identity());
+        Question newest = new Question("Q5", "MLA1", "¿Tiene garantía extendida?", BASE.plusDays(4), null, null);
+        Question answered = new Question("Q2", "MLA1", "¿Viene en rojo?", BASE.plusDays(2), "Solo negro",
+            BASE.plusDays(2).plusHours(5));
+
+        QuestionIndex updated = index.plus(newest, UnaryOperator.identity())
+            .replace(index.position("Q2") + 1, answered, UnaryOperator.identity());
+
+        QuestionIndex expected = QuestionIndex.of("S1", List.of(QUESTIONS.get(0), answered, QUESTIONS.get(2),
+            QUESTIONS.get(3), QUESTIONS.get(4), newest), UnaryOperator.identity());
+        assertThat(updated.questions()).isEqualTo(expected.questions());
+        assertThat(updated.stats()).isEqualTo(expected.stats());
+        assertThat(updated.stats().asked()).isEqualTo(6);
+        assertThat(updated.stats().answered()).isEqualTo(4);
+        assertThat(updated.count(false)).isEqualTo(2);
+        assertThat(updated.search("rojo negro", 0, 10).results()).extracting(Question::id).containsExactly("Q2");
+        assertThat(updated.search("garantia", 0, 10).total()).isEqualTo(2);
+        assertThat(index.withSeller("S1")).isSameAs(index);
+        assertThat(index.withSeller("S2").sellerId()).isEqualTo("S2");
+    }
+
+    @Test
+    @DisplayName("collapse agrupa las preguntas casi iguales bajo la más nueva respondida")
+    void groupPage_agrupaCasiIguales() {
+        List<Question> questions = List.of(
+            new Question("G1", "MLA1", "¿Tiene garantía?", BASE, "Sí, 12 meses", BASE.plusHours(1)),
+            new Question("G2", "MLA1", "Tiene garantia??", BASE.plusDays(1), null, null),
+            new Question("G3", "MLA1", "¿TIENE GARANTÍA?", BASE.plusDays(2), null, null),
+            new Question("G4", "MLA1", "¿Viene con cargador?", BASE.plusDays(3), null, null),
+            new Question("G5", "MLA1", "¿Hacen envíos a Córdoba?", BASE.plusDays(4), "Sí", BASE.plusDays(4))
+        );
+        QuestionIndex index = QuestionIndex.of("S1", questions, UnaryOperator.identity());
+
+        assertThat(index.countGroups(null)).isEqualTo(3);
+        assertThat(index.groupPage(null, 0, 10))
+            .extracting(group -> group.question().id(), QuestionGroup::size)
+            .containsExactly(tuple("G5", 1), tuple("G4", 1), tuple("G1", 3));
+        assertThat(index.countGroups(false)).isEqualTo(1);
+        assertThat(index.groupPage(true, 1, 10)).extracting(group -> group.question().id()).containsExactly("G1");
+        QuestionCursor afterG4 = QuestionCursor.of(questions.get(3));
+        assertThat(index.groupPageAfter(afterG4, null, 5)).extracting(group -> group.question().id())
+            .containsExactly("G1");
+
+        assertThat(index.similarAnswered("tiene garantía", 5)).extracting(Question::id).containsExactly("G1");
+        assertThat(index.similarAnswered("¿tiene cargador?", 5)).isEmpty();
+        assertThat(index.similarAnswered("¿?", 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("plus agrega la pregunta nueva a su grupo sin recalcular las firmas existentes")
+    void plus_agregaAlGrupo() {
+        QuestionIndex index = QuestionIndex.of("S1", QUESTIONS, UnaryOperator.identity());
+
+        QuestionIndex updated = index.plus(new Question("Q5", "MLA1", "Tiene garantia?", BASE.plusDays(4), null, null),
+            UnaryOperator.identity());
+
+        assertThat(updated.countGroups(null)).isEqualTo(5);
+        assertThat(updated.groupPage(null, 0, 10))
+            .filteredOn(group -> group.size() == 2)
+            .extracting(group -> group.question().id())
+            .containsExactly("Q1");
+        assertThat(updated.groupPage(false, 0, 10)).extracting(group -> group.question().id())
+            .containsExactly("Q4", "Q2");
+    }
+
+    @Test
+    @DisplayName("agregar las preguntas de a una con plus agrupa igual que construir el índice de una vez")
+    void plus_agrupaIgualQueReconstruir() {
+        List<Question> questions = List.of(
+            new Question("H1", "MLA1", "¿Tiene garantía?", BASE, null, null),
+            new Question("H2", "MLA1", "¿Viene con cargador?", BASE.plusDays(1), "Sí", BASE.plusDays(1)),
+            new Question("H3", "MLA1", "¿?", BASE.plusDays(2), null, null),
+            new Question("H4", "MLA1", "Tiene garantia??", BASE.plusDays(3), null, null),
+            new Question("H5", "MLA1", "¿viene con cargador?", BASE.plusDays(4), null, null),
+            new Question("H6", "MLA1", "¿TIENE GARANTÍA?", BASE.plusDays(5), "Sí", BASE.plusDays(5)));
+        QuestionIndex incremental = QuestionIndex.of("S1", List.of(), UnaryOperator.identity());
+        for (Question question : questions) {
+            incremental = incremental.plus(question, UnaryOperator.identity());
+        }
+
+        QuestionIndex rebuilt = QuestionIndex.of("S1", questions, UnaryOperator.identity());
+
+        assertThat(incremental.countGroups(null)).isEqualTo(rebuilt.countGroups(null)).isEqualTo(3);
+        assertThat(incremental.groupPage(null, 0, 10)).isEqualTo(rebuilt.groupPage(null, 0, 10));
+        assertThat(incremental.groupPage(false, 0, 10)).isEqualTo(rebuilt.groupPage(false, 0, 10));
+    }
+
+    @Test
+    @DisplayName("miles de copias de la misma pregunta quedan en un solo grupo, al construir y al agregar")
+    void groupPage_milesDeCopias() {
+        String[] variants = {"¿Tiene garantía?", "tiene garantia??", "¿TIENE GARANTÍA?"};
+        List<Question> copies = IntStream.range(0, 5000)
+            .mapToObj(i -> new Question("C" + i, "MLA1", variants[i % variants.length], BASE.plusMinutes(i), null, null))
+            .toList();
+
+        QuestionIndex index = QuestionIndex.of("S1", copies, UnaryOperator.identity());
+        QuestionIndex updated = index.plus(new Question("C5000", "MLA1", "Tiene garantía", BASE.plusDays(10), null, null),
+            UnaryOperator.identity());
+
+        assertThat(index.countGroups(null)).isEqualTo(1);
+        assertThat(index.groupPage(null, 0, 10)).containsExactly(new QuestionGroup(copies.get(4999), 5000));
+        assertThat(updated.countGroups(null)).isEqualTo(1);
+        assertThat(updated.groupPage(null, 0, 10)).extracting(QuestionGroup::size).containsExactly(5001);
+    }
+}
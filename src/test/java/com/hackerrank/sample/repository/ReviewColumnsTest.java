@@ -0,0 +1,212 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Review;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewColumnsTest {
+
+    private static final List<Review> REVIEWS = List.of(
+        new Review("R1", "MLA1", "Ana", 5, "Excelente", "Llegó rápido", OffsetDateTime.parse("2024-05-01T10:00:00Z")),
+        new Review("R2", "MLA1", "José", 2, "Regular", "Se calienta", OffsetDateTime.parse("2024-06-01T10:00:00Z")),
+        new Review("R3", "MLA1", "Lía", 4, "Bueno", "", OffsetDateTime.parse("2024-05-15T07:00:00.250-03:00"))
+    );
+
+    private static final long TODAY = LocalDate.parse("2024-06-03").toEpochDay();
+
+    @Test
+    @DisplayName("of ordena las reseñas de la más nueva a la más vieja y las materializa sin cambios")
+    void of_ordenaYConservaLosValores() {
+        ReviewColumns columns = ReviewColumns.of("MLA1", REVIEWS);
+
+        assertThat(columns.toList()).containsExactly(REVIEWS.get(1), REVIEWS.get(2), REVIEWS.get(0));
+        assertThat(columns.review(1).createdAt()).isEqualTo(REVIEWS.get(2).createdAt());
+    }
+
+    @Test
+    @DisplayName("page devuelve solo las filas pedidas y tolera rangos fuera de límites")
+    void page_materializaSoloElRango() {
+        ReviewColumns columns = ReviewColumns.of("MLA1", REVIEWS);
+
+        assertThat(columns.page(1, 10)).extracting(Review::id).containsExactly("R3", "R1");
+        assertThat(columns.page(5, 10)).isEmpty();
+        assertThat(ReviewColumns.EMPTY.page(0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("page recorre las permutaciones precalculadas de cada orden alternativo")
+    void page_ordenesAlternativos() {
+        List<Review> reviews = new ArrayList<>(REVIEWS);
+        reviews.add(new Review("R4", "MLA1", "Eva", 5, "Genial", "Muy completo y detallado",
+            OffsetDateTime.parse("2024-04-01T10:00:00Z")));
+        ReviewColumns columns = ReviewColumns.of("MLA1", reviews);
+
+        assertThat(columns.page(ReviewSort.RATING_DESC, 0, 10)).extracting(Review::id)
+            .containsExactly("R1", "R4", "R3", "R2");
+        assertThat(columns.page(ReviewSort.RATING_ASC, 0, 10)).extracting(Review::id)
+            .containsExactly("R2", "R3", "R1", "R4");
+        assertThat(columns.page(ReviewSort.MOST_DETAILED, 0, 10)).extracting(Review::id)
+            .containsExactly("R4", "R1", "R2", "R3");
+        assertThat(columns.page(ReviewSort.RATING_DESC, 2, 1)).extracting(Review::id).containsExactly("R3");
+        assertThat(ReviewColumns.EMPTY.page(ReviewSort.MOST_DETAILED, 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("page y count combinan los bitmaps por puntaje en cualquier orden")
+    void page_filtraPorPuntaje() {
+        List<Review> reviews = new ArrayList<>(REVIEWS);
+        reviews.add(new Review("R4", "MLA1", "Eva", 5, "Genial", "Muy completo y detallado",
+            OffsetDateTime.parse("2024-04-01T10:00:00Z")));
+        ReviewColumns columns = ReviewColumns.of("MLA1", reviews);
+        ReviewFilter atLeastFour = new ReviewFilter(null, 4);
+
+        assertThat(columns.count(atLeastFour)).isEqualTo(3);
+        assertThat(columns.count(new ReviewFilter(5, 4))).isEqualTo(2);
+        assertThat(columns.count(new ReviewFilter(2, 4))).isZero();
+        assertThat(columns.page(ReviewSort.NEWEST, atLeastFour, 1, 10)).extracting(Review::id)
+            .containsExactly("R1", "R4");
+        assertThat(columns.page(ReviewSort.RATING_ASC, atLeastFour, 0, 2)).extracting(Review::id)
+            .containsExactly("R3", "R1");
+        assertThat(columns.page(ReviewSort.MOST_DETAILED, new ReviewFilter(5, null), 1, 10)).extracting(Review::id)
+            .containsExactly("R1");
+        assertThat(columns.pageAfter(ReviewCursor.of(reviews.get(1)), new ReviewFilter(5, null), 10))
+            .extracting(Review::id).containsExactly("R1", "R4");
+        assertThat(columns.page(ReviewSort.NEWEST, new ReviewFilter(1, null), 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("page con filtro coincide con filtrar el orden completo en cualquier offset")
+    void page_filtradaEquivaleAFiltrarTodo() {
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            reviews.add(new Review("R" + i, "MLA1", "Ana", i * 7 % 5 + 1, "T", "x".repeat(i * 13 % 40),
+                OffsetDateTime.parse("2024-01-01T00:00:00Z").plusHours(i)));
+        }
+        ReviewColumns columns = ReviewColumns.of("MLA1", reviews);
+
+        for (ReviewFilter filter : List.of(new ReviewFilter(3, null), new ReviewFilter(null, 4),
+                new ReviewFilter(5, 2))) {
+            for (ReviewSort sort : List.of(ReviewSort.NEWEST, ReviewSort.MOST_DETAILED)) {
+                List<Review> expected = columns.page(sort, 0, 300).stream()
+                    .filter(review -> filter.includes(review.rating()))
+                    .toList();
+                for (int offset : new int[] {0, 1, 63, 64, 65, 100}) {
+                    assertThat(columns.page(sort, filter, offset, 7))
+                        .isEqualTo(expected.subList(Math.min(offset, expected.size()),
+                            Math.min(offset + 7, expected.size())));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("append intercala el lote entre las reseñas existentes igual que una reconstrucción")
+    void append_equivaleAReconstruir() {
+        ReviewColumns columns = ReviewColumns.of("MLA1", REVIEWS);
+        List<Review> newer = List.of(
+            new Review("R5", "MLA1", "Eva", 1, "Malo", "Batería floja", OffsetDateTime.parse("2024-07-01T10:00:00Z")),
+            new Review("R6", "MLA1", "Leo", 4, "Bien", "Buena batería",
+                OffsetDateTime.parse("2024-06-02T10:00:00.5+02:00")));
+        List<Review> older = List.of(
+            new Review("R7", "MLA1", "Sol", 3, "Ok", "Batería normal", OffsetDateTime.parse("2024-01-01T00:00:00Z")));
+        List<Review> interleaved = List.of(
+            new Review("R8", "MLA1", "Ivo", 5, "Genial", "La batería dura mucho y carga rápido",
+                OffsetDateTime.parse("2024-05-20T10:00:00Z")),
+            new Review("R0", "MLA1", "Flor", 2, "Flojo", "Se calienta", OffsetDateTime.parse("2024-06-01T10:00:00Z")),
+            new Review("R9", "MLA1", "Gus", 4, "Bueno", "", OffsetDateTime.parse("2024-06-15T10:00:00Z")));
+
+        for (List<Review> batch : List.of(newer, older, interleaved)) {
+            List<Review> all = new ArrayList<>(REVIEWS);
+            all.addAll(batch);
+            ReviewColumns expected = ReviewColumns.of("MLA1", all);
+            ReviewColumns appended = columns.append(batch, UnaryOperator.identity(), TODAY);
+
+            assertThat(appended.toList()).isEqualTo(expected.toList());
+            assertThat(appended.summary()).isEqualTo(expected.summary());
+            for (ReviewSort sort : ReviewSort.values()) {
+                assertThat(appended.page(sort, 0, 10)).isEqualTo(expected.page(sort, 0, 10));
+                assertThat(appended.page(sort, new ReviewFilter(null, 2), 1, 10))
+                    .isEqualTo(expected.page(sort, new ReviewFilter(null, 2), 1, 10));
+            }
+            assertThat(appended.search("baterias", 0, 10)).isEqualTo(expected.search("baterias", 0, 10));
+        }
+        assertThat(ReviewColumns.EMPTY.append(newer, UnaryOperator.identity(), TODAY).size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("pageAfter continúa después del cursor aunque la fila del cursor ya no exista")
+    void pageAfter_continuaDesdeElCursor() {
+        ReviewColumns columns = ReviewColumns.of("MLA1", REVIEWS);
+        ReviewCursor afterNewest = ReviewCursor.decode(ReviewCursor.of(REVIEWS.get(1)).encode());
+        ReviewCursor deleted = ReviewCursor.of(new Review("R0", "MLA1", "Eva", 3, "Ok", "Ok",
+            OffsetDateTime.parse("2024-05-20T00:00:00Z")));
+
+        assertThat(columns.pageAfter(afterNewest, 1)).extracting(Review::id).containsExactly("R3");
+        assertThat(columns.pageAfter(deleted, 10)).extracting(Review::id).containsExactly("R3", "R1");
+        assertThat(columns.pageAfter(ReviewCursor.of(REVIEWS.get(0)), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("trend suma por ventana los conteos diarios y se actualiza al agregar reseñas")
+    void trend_ventanasYSemanas() {
+        ReviewColumns columns = ReviewColumns.of("MLA1", REVIEWS, UnaryOperator.identity(), TODAY);
+
+        ReviewTrend trend = columns.trend(TODAY);
+        assertThat(trend.asOf()).isEqualTo(LocalDate.parse("2024-06-03"));
+        assertThat(trend.last7Days()).isEqualTo(ReviewSummary.of(0, 1, 0, 0, 0));
+        assertThat(trend.last30Days()).isEqualTo(ReviewSummary.of(0, 1, 0, 1, 0));
+        assertThat(trend.last90Days()).isEqualTo(ReviewSummary.of(0, 1, 0, 1, 1));
+        assertThat(trend.weeks()).hasSize(13);
+        assertThat(trend.weeks().get(0)).isEqualTo(trend.last7Days());
+        assertThat(trend.weeks().get(2)).isEqualTo(ReviewSummary.of(0, 0, 0, 1, 0));
+
+        ReviewColumns appended = columns.append(List.of(
+            new Review("R8", "MLA1", "Eva", 5, "Genial", "Genial", OffsetDateTime.parse("2024-06-03T08:00:00Z")),
+            new Review("R9", "MLA1", "Leo", 1, "Futuro", "Futuro", OffsetDateTime.parse("2024-06-09T08:00:00Z"))),
+            UnaryOperator.identity(), TODAY);
+        assertThat(appended.trend(TODAY).last7Days()).isEqualTo(ReviewSummary.of(0, 1, 0, 0, 1));
+        assertThat(columns.trend(TODAY)).isEqualTo(trend);
+    }
+
+    @Test
+    @DisplayName("trend ignora los días que ya salieron de la ventana y agregar reseñas los descarta")
+    void trend_descartaDiasViejos() {
+        ReviewColumns columns = ReviewColumns.of("MLA1", REVIEWS, UnaryOperator.identity(), TODAY);
+        long later = TODAY + 91;
+
+        assertThat(columns.trend(later).last90Days().count()).isZero();
+
+        ReviewColumns appended = columns.append(List.of(
+            new Review("R8", "MLA1", "Eva", 3, "Ok", "Ok", OffsetDateTime.parse("2024-09-02T08:00:00Z"))),
+            UnaryOperator.identity(), later);
+        assertThat(appended.trend(later).last90Days()).isEqualTo(ReviewSummary.of(0, 0, 1, 0, 0));
+
+        long soon = TODAY + 30;
+        ReviewColumns partial = columns.append(List.of(
+            new Review("R8", "MLA1", "Eva", 3, "Ok", "Ok", OffsetDateTime.parse("2024-07-03T08:00:00Z"))),
+            UnaryOperator.identity(), soon);
+        assertThat(partial.trend(soon).last90Days())
+            .isEqualTo(columns.trend(soon).last90Days().plus(ReviewSummary.of(0, 0, 1, 0, 0)));
+        assertThat(partial.trend(soon).last7Days()).isEqualTo(ReviewSummary.of(0, 0, 1, 0, 0));
+        assertThat(ReviewColumns.EMPTY.trend(TODAY).weeks()).allMatch(week -> week.count() == 0);
+    }
+
+    @Test
+    @DisplayName("summary mantiene cantidad, suma e histograma de puntajes")
+    void summary_cuentaPorPuntaje() {
+        ReviewSummary summary = ReviewColumns.of("MLA1", REVIEWS).summary();
+
+        assertThat(summary).isEqualTo(ReviewSummary.of(0, 1, 0, 1, 1));
+        assertThat(summary.count()).isEqualTo(3);
+        assertThat(summary.ratingSum()).isEqualTo(11);
+        assertThat(summary.average()).isEqualTo(11 / 3.0);
+        assertThat(ReviewColumns.EMPTY.summary().average()).isZero();
+    }
+}
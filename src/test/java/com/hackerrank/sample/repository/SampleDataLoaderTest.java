@@ -0,0 +1,636 @@
+package com.hackerrank.sample.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.model.Item;
+import com.hackerrank.sample.model.Question;
+import com.hackerrank.sample.model.Review;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SampleDataLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("loadSampleData mantiene compatibilidad con el catálogo de un solo item")
+    void loadSampleData_catalogoDeUnItem() {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+
+        loader.loadSampleData();
+
+        assertThat(loader.findItemById("MLA123456")).isPresent();
+        assertThat(loader.findSellerById("S123")).isPresent();
+        assertThat(loader.findReviews("MLA123456")).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("loadSampleData procesa NDJSON registro por registro")
+    void loadSampleData_ndjson() throws IOException {
+        Path file = tempDir.resolve("catalog.ndjson");
+        Files.writeString(file, record("MLA1", "S1") + "\n" + record("MLA2", "S2") + "\n" + record("MLA3", "S1") + "\n",
+            StandardCharsets.UTF_8);
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), file.toUri().toString());
+
+        loader.loadSampleData();
+
+        assertThat(loader.findAllItems()).hasSize(3);
+        assertThat(loader.findSellerById("S2")).isPresent();
+        assertThat(loader.findReviews("MLA2"))
+            .extracting(Review::itemId)
+            .containsExactly("MLA2");
+        assertThat(loader.findShippingOptions("MLA3")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("loadSampleData redondea a centavos los importes con más decimales sin descartar el item")
+    void loadSampleData_importesConTresDecimales() throws IOException {
+        Path file = tempDir.resolve("catalog.ndjson");
+        Files.writeString(file, record("MLA1", "S1").replace("100.5", "100.125").replace("1000.0", "1000.004") + "\n"
+            + record("MLA2", "S1") + "\n", StandardCharsets.UTF_8);
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), file.toUri().toString());
+
+        loader.loadSampleData();
+
+        assertThat(loader.findAllItems()).hasSize(2);
+        assertThat(loader.findItemById("MLA1")).map(item -> item.getPrice().amount())
+            .hasValue(new BigDecimal("100.13"));
+        assertThat(loader.findShippingOptions("MLA1")).extracting(option -> option.cost().toBigDecimal())
+            .containsExactly(new BigDecimal("1000.00"));
+    }
+
+    @Test
+    @DisplayName("loadSampleData acepta un arreglo JSON de registros")
+    void loadSampleData_arregloDeRegistros() throws IOException {
+        Path file = tempDir.resolve("catalog.json");
+        Files.writeString(file, "[" + record("MLA1", "S1") + "," + record("MLA2", "S1") + "]", StandardCharsets.UTF_8);
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), file.toUri().toString());
+
+        loader.loadSampleData();
+
+        assertThat(loader.findAllItems()).hasSize(2);
+        assertThat(loader.findQuestions("MLA1")).hasSize(1);
+        assertThat(loader.findRelatedItems("MLA2")).isEqualTo(List.of());
+    }
+
+    @Test
+    @DisplayName("loadSampleData carga en paralelo todos los shards que coinciden con el patrón")
+    void loadSampleData_variosShards() throws IOException {
+        Files.writeString(tempDir.resolve("catalog-1.ndjson"), record("MLA1", "S1"), StandardCharsets.UTF_8);
+        Files.writeString(tempDir.resolve("catalog-2.ndjson"), record("MLA2", "S2"), StandardCharsets.UTF_8);
+        Files.writeString(tempDir.resolve("catalog-3.json"), "[" + record("MLA3", "S3") + "]", StandardCharsets.UTF_8);
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), tempDir.toUri() + "catalog-*", 3, 64, null,
+            false, false);
+
+        loader.loadSampleData();
+
+        assertThat(loader.findAllItems()).extracting(item -> item.getId())
+            .containsExactlyInAnyOrder("MLA1", "MLA2", "MLA3");
+        assertThat(loader.findSellerById("S3")).isPresent();
+    }
+
+    @Test
+    @DisplayName("loadSampleData divide un NDJSON grande en rangos de líneas completas")
+    void loadSampleData_divideNdjsonPorRangos() throws IOException {
+        Path file = tempDir.resolve("big.ndjson");
+        StringBuilder content = new StringBuilder();
+        int records = 2_000;
+        for (int i = 0; i < records; i++) {
+            content.append(record("MLA" + i, "S" + (i % 7))).append('\n');
+        }
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        assertThat(Files.size(file)).isGreaterThan(2L * 1024 * 1024);
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), file.toUri().toString(), 4, 1, null,
+            false, false);
+
+        loader.loadSampleData();
+
+        assertThat(loader.findAllItems()).hasSize(records);
+        assertThat(loader.findReviews("MLA1999")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("loadSampleData comparte las instancias de valores repetidos entre items")
+    void loadSampleData_deduplicaValoresRepetidos() throws IOException {
+        Path file = tempDir.resolve("catalog.ndjson");
+        Files.writeString(file, record("MLA1", "S1") + "\n" + record("MLA2", "S1"), StandardCharsets.UTF_8);
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), file.toUri().toString());
+
+        loader.loadSampleData();
+
+        Item first = loader.findItemById("MLA1").orElseThrow();
+        Item second = loader.findItemById("MLA2").orElseThrow();
+        assertThat(second.getSeller()).isSameAs(first.getSeller());
+        assertThat(second.getShipping()).isSameAs(first.getShipping());
+        assertThat(second.getPrice().currency()).isSameAs(first.getPrice().currency());
+        assertThat(loader.findShippingOptions("MLA2").get(0)).isSameAs(loader.findShippingOptions("MLA1").get(0));
+        assertThat(loader.status().dedupBytesSaved()).isPositive();
+    }
+
+    @Test
+    @DisplayName("loadSampleData con lazy-content guarda el contenido pesado de los items codificado")
+    void loadSampleData_contenidoCompacto() {
+        SampleDataLoader eager = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        SampleDataLoader lazy = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json", 1, 64, null,
+            true, false);
+
+        eager.loadSampleData();
+        lazy.loadSampleData();
+
+        Item item = lazy.findItemById("MLA123456").orElseThrow();
+        assertThat(item.isContentCompact()).isTrue();
+        assertThat(item.getContent()).isEqualTo(eager.findItemById("MLA123456").orElseThrow().getContent());
+    }
+
+    @Test
+    @DisplayName("start con carga asíncrona no bloquea y termina publicando el catálogo completo")
+    void start_cargaAsincrona() throws Exception {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json", 1, 64, null,
+            false, true);
+        assertThat(loader.status().readiness()).isEqualTo(CatalogReadiness.NOT_READY);
+
+        loader.start();
+        CatalogStatus status = loader.reload().get(10, TimeUnit.SECONDS);
+
+        assertThat(loader.isReady()).isTrue();
+        assertThat(status.readiness()).isEqualTo(CatalogReadiness.READY);
+        assertThat(status.loadedShards()).isEqualTo(status.totalShards()).isEqualTo(1);
+        assertThat(loader.findItemById("MLA123456")).isPresent();
+    }
+
+    @Test
+    @DisplayName("loadSampleData restaura el catálogo desde el snapshot binario sin reescribirlo")
+    void loadSampleData_restauraDesdeSnapshot() throws IOException {
+        Path source = tempDir.resolve("catalog.ndjson");
+        Files.writeString(source, record("MLA1", "S1") + "\n" + record("MLA2", "S2"), StandardCharsets.UTF_8);
+        Path snapshot = tempDir.resolve("snapshot/catalog.bin");
+        SampleDataLoader first = new SampleDataLoader(new ObjectMapper(), source.toUri().toString(), 1, 64,
+            snapshot.toString(), false, false);
+        first.loadSampleData();
+        FileTime writtenAt = Files.getLastModifiedTime(snapshot);
+
+        SampleDataLoader restored = new SampleDataLoader(new ObjectMapper(), source.toUri().toString(), 1, 64,
+            snapshot.toString(), false, false);
+        restored.loadSampleData();
+
+        assertThat(Files.getLastModifiedTime(snapshot)).isEqualTo(writtenAt);
+        assertThat(restored.findItemById("MLA2")).get()
+            .usingRecursiveComparison()
+            .isEqualTo(first.findItemById("MLA2").orElseThrow());
+        assertThat(restored.findReviews("MLA1")).isEqualTo(first.findReviews("MLA1"));
+        assertThat(restored.findQuestions("MLA1")).isEqualTo(first.findQuestions("MLA1"));
+        assertThat(restored.findShippingOptions("MLA2")).isEqualTo(first.findShippingOptions("MLA2"));
+        assertThat(restored.findSellerById("S2")).isEqualTo(first.findSellerById("S2"));
+    }
+
+    @Test
+    @DisplayName("loadSampleData vuelve a JSON cuando el snapshot está corrupto")
+    void loadSampleData_snapshotCorrupto() throws IOException {
+        Path source = tempDir.resolve("catalog.ndjson");
+        Files.writeString(source, record("MLA1", "S1"), StandardCharsets.UTF_8);
+        Path snapshot = tempDir.resolve("catalog.bin");
+        new SampleDataLoader(new ObjectMapper(), source.toUri().toString(), 1, 64, snapshot.toString(), false, false)
+            .loadSampleData();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(snapshot, bytes);
+
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), source.toUri().toString(), 1, 64,
+            snapshot.toString(), false, false);
+        loader.loadSampleData();
+
+        assertThat(loader.findItemById("MLA1")).isPresent();
+        assertThat(Files.readAllBytes(snapshot)).isNotEqualTo(bytes);
+    }
+
+    @Test
+    @DisplayName("un snapshot que superaría el tamaño legible no se escribe y se conserva el anterior")
+    void snapshot_rechazaTamañoIlegible() throws IOException {
+        Path source = tempDir.resolve("catalog.ndjson");
+        Files.writeString(source, record("MLA1", "S1") + "\n" + record("MLA2", "S2"), StandardCharsets.UTF_8);
+        Path snapshot = tempDir.resolve("catalog.bin");
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), source.toUri().toString(), 1, 64,
+            snapshot.toString(), false, false);
+        loader.loadSampleData();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        List<CatalogEntry> entries = loader.findAllItems().stream()
+            .map(item -> new CatalogEntry(item, List.of(), loader.findQuestions(item.getId()),
+                loader.findReviews(item.getId()), loader.findShippingOptions(item.getId())))
+            .toList();
+
+        assertThatThrownBy(() -> CatalogSnapshotFile.write(snapshot, "otra", List.of(), entries, bytes.length / 2))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("supera");
+        assertThat(Files.readAllBytes(snapshot)).isEqualTo(bytes);
+    }
+
+    @Test
+    @DisplayName("reload publica una nueva generación completa sin afectar a la anterior")
+    void reload_publicaNuevaGeneracion() throws Exception {
+        Path source = tempDir.resolve("catalog.ndjson");
+        Files.writeString(source, record("MLA1", "S1"), StandardCharsets.UTF_8);
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), source.toUri().toString());
+        loader.loadSampleData();
+        assertThat(loader.status().generation()).isEqualTo(1);
+
+        Files.writeString(source, record("MLA2", "S2") + "\n" + record("MLA3", "S2"), StandardCharsets.UTF_8);
+        CatalogStatus status = loader.reload().get(10, TimeUnit.SECONDS);
+
+        assertThat(status.generation()).isEqualTo(2);
+        assertThat(status.items()).isEqualTo(2);
+        assertThat(status.source()).isEqualTo("json");
+        assertThat(loader.findItemById("MLA1")).isEmpty();
+        assertThat(loader.findItemById("MLA3")).isPresent();
+    }
+
+    @Test
+    @DisplayName("si la carga inicial asíncrona falla se retiran los items parciales, se informa y se reintenta")
+    void start_cargaAsincronaFallida() throws Exception {
+        Path source = tempDir.resolve("catalog.ndjson");
+        Files.writeString(source, record("MLA1", "S1") + "\n{\"item\": {", StandardCharsets.UTF_8);
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), source.toUri().toString(), 1, 64, null,
+            false, true);
+
+        loader.start();
+
+        assertThatThrownBy(() -> loader.reload().get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class);
+        CatalogStatus status = loader.status();
+        assertThat(status.readiness()).isEqualTo(CatalogReadiness.FAILED);
+        assertThat(status.items()).isZero();
+        assertThat(status.lastError()).isNotNull();
+        assertThat(status.nextRetryAt()).isNotNull();
+        assertThat(loader.findItemById("MLA1")).isEmpty();
+
+        Files.writeString(source, record("MLA1", "S1"), StandardCharsets.UTF_8);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!loader.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        status = loader.status();
+        assertThat(status.readiness()).isEqualTo(CatalogReadiness.READY);
+        assertThat(status.lastError()).isNull();
+        assertThat(status.nextRetryAt()).isNull();
+        assertThat(loader.findItemById("MLA1")).isPresent();
+        loader.shutdown();
+    }
+
+    @Test
+    @DisplayName("reload conserva la generación vigente cuando la nueva carga falla")
+    void reload_conservaGeneracionAnteError() throws Exception {
+        Path source = tempDir.resolve("catalog.ndjson");
+        Files.writeString(source, record("MLA1", "S1"), StandardCharsets.UTF_8);
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), source.toUri().toString());
+        loader.loadSampleData();
+
+        Files.writeString(source, "{\"item\": {", StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> loader.reload().get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class);
+        assertThat(loader.status().generation()).isEqualTo(1);
+        assertThat(loader.status().lastError()).isNotNull();
+        assertThat(loader.findItemById("MLA1")).isPresent();
+    }
+
+    @Test
+    @DisplayName("applyDeltas aplica upserts y bajas en orden y avanza la marca de agua")
+    void applyDeltas_aplicaCambiosEnOrden() {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        loader.loadSampleData();
+        String feed = String.join("\n",
+            "{\"seq\":1,\"op\":\"upsert\",\"type\":\"review\",\"data\":{\"id\":\"R9\",\"itemId\":\"MLA123456\","
+                + "\"author\":\"Ana\",\"rating\":2,\"title\":\"Regular\",\"comment\":\"Se cortan\","
+                + "\"createdAt\":\"2024-07-01T10:00:00Z\"}}",
+            "{\"seq\":2,\"op\":\"delete\",\"type\":\"review\",\"itemId\":\"MLA123456\",\"id\":\"R1\"}",
+            "{\"seq\":3,\"op\":\"delete\",\"type\":\"question\",\"itemId\":\"MLA123456\",\"id\":\"Q2\"}",
+            "{\"seq\":4,\"op\":\"upsert\",\"type\":\"item\",\"data\":" + record("MLA7", "S7") + "}",
+            "{\"seq\":5,\"op\":\"upsert\",\"type\":\"review\",\"data\":{\"id\":\"R1\",\"itemId\":\"MLA000\","
+                + "\"author\":\"Ana\",\"rating\":2,\"title\":\"x\",\"comment\":\"x\","
+                + "\"createdAt\":\"2024-07-01T10:00:00Z\"}}");
+
+        DeltaResult result = loader.applyDeltas(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result).isEqualTo(new DeltaResult(4, 0, 0, 1, 5));
+        assertThat(loader.findReviews("MLA123456"))
+            .extracting(Review::id)
+            .containsExactly("R9", "R2", "R3", "R4");
+        assertThat(loader.findQuestions("MLA123456")).hasSize(1);
+        assertThat(loader.searchReviews("MLA123456", "cortan", 0, 10).results())
+            .extracting(Review::id)
+            .containsExactly("R9");
+        assertThat(loader.searchQuestions("MLA123456", "plegar", 0, 10).total()).isZero();
+        assertThat(loader.findItemById("MLA7")).isPresent();
+        assertThat(loader.findSellerById("S7")).isPresent();
+        assertThat(loader.status().watermark()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("appendReview con cientos de escritores concurrentes sobre el mismo item no pierde reseñas")
+    void appendReview_escritoresConcurrentes() throws Exception {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        loader.loadSampleData();
+        int initial = loader.findReviews("MLA123456").size();
+        int writers = 200;
+        int reviewsPerWriter = 25;
+        OffsetDateTime base = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                int current = writer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < reviewsPerWriter; i++) {
+                        int sequence = current * reviewsPerWriter + i;
+                        loader.appendReview(new Review("W" + sequence, "MLA123456", "Autor", sequence % 5 + 1,
+                            "Título", "Comentario", base.plusSeconds(sequence)));
+                        assertThat(loader.findReviewSummary("MLA123456").count()).isGreaterThanOrEqualTo(initial);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = initial + writers * reviewsPerWriter;
+        ReviewSummary summary = loader.findReviewSummary("MLA123456");
+        assertThat(summary.count()).isEqualTo(total);
+        assertThat(summary.count(3)).isGreaterThanOrEqualTo(writers * reviewsPerWriter / 5);
+        assertThat(loader.findReviews("MLA123456")).extracting(Review::id).doesNotHaveDuplicates().hasSize(total);
+        assertThat(loader.findReviewPage("MLA123456", ReviewSort.NEWEST, ReviewFilter.ALL, 0, 1))
+            .extracting(Review::id)
+            .containsExactly("W" + (writers * reviewsPerWriter - 1));
+        assertThat(loader.appendReview(new Review("X1", "MLA000", "Autor", 5, "Título", "Comentario", base)))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("appendReview publica la reseña de un item dado de alta por un delta sin reseñas")
+    void appendReview_itemSinReseñasDesdeDelta() {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        loader.loadSampleData();
+        String item = record("MLA8", "S8").replaceFirst("\"reviews\":\\[.*?],", "");
+        loader.applyDeltas(new ByteArrayInputStream(("{\"seq\":1,\"op\":\"upsert\",\"type\":\"item\",\"data\":"
+            + item + "}").getBytes(StandardCharsets.UTF_8)));
+        assertThat(loader.findReviews("MLA8")).isEmpty();
+
+        Review review = new Review("N1", "MLA8", "Autor", 4, "Título", "Comentario",
+            OffsetDateTime.parse("2024-06-03T10:00:00Z"));
+        assertThat(loader.appendReview(review)).isTrue();
+
+        assertThat(loader.findReviews("MLA8")).containsExactly(review);
+        assertThat(loader.findReviewSummary("MLA8").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findReviewTrend usa el reloj del cargador y refleja las reseñas agregadas")
+    void findReviewTrend_cargaYEscritura() {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json",
+            Clock.fixed(Instant.parse("2024-06-03T12:00:00Z"), ZoneOffset.UTC));
+        loader.loadSampleData();
+
+        ReviewTrend trend = loader.findReviewTrend("MLA123456");
+        assertThat(trend.last7Days()).isEqualTo(ReviewSummary.of(0, 0, 0, 1, 1));
+        assertThat(trend.last30Days().count()).isEqualTo(3);
+        assertThat(trend.last90Days().count()).isEqualTo(4);
+
+        loader.appendReview(new Review("N1", "MLA123456", "Autor", 1, "Título", "Comentario",
+            OffsetDateTime.parse("2024-06-03T10:00:00Z")));
+        assertThat(loader.findReviewTrend("MLA123456").last7Days()).isEqualTo(ReviewSummary.of(1, 0, 0, 1, 1));
+        assertThat(loader.findReviewTrend("MLA000").last90Days().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("preguntas y respuestas concurrentes mantienen al día las estadísticas del vendedor")
+    void addQuestion_actualizaEstadisticasDelVendedor() throws Exception {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        loader.loadSampleData();
+        ResponseStats initial = loader.findResponseStats("S123");
+        int initialQuestions = loader.findQuestions("MLA123456").size();
+        assertThat(initial.asked()).isEqualTo(initialQuestions);
+        int writers = 50;
+        OffsetDateTime base = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                int current = writer;
+                futures.add(executor.submit(() -> {
+                    String id = "NQ" + current;
+                    OffsetDateTime askedAt = base.plusMinutes(current);
+                    loader.addQuestion(new Question(id, "MLA123456", "¿Pregunta " + current + "?", askedAt, null,
+                        null));
+                    if (current % 2 == 0) {
+                        assertThat(loader.answerQuestion("MLA123456", id, "Sí", askedAt.plusHours(2))).isPresent();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ResponseStats stats = loader.findResponseStats("S123");
+        assertThat(stats.asked()).isEqualTo(initial.asked() + writers);
+        assertThat(stats.answered()).isEqualTo(initial.answered() + writers / 2);
+        assertThat(stats.count(1)).isEqualTo(initial.count(1) + writers / 2);
+        assertThat(loader.countQuestions("MLA123456", false)).isEqualTo(writers / 2);
+        assertThat(loader.findQuestionPage("MLA123456", null, 0, 1)).extracting(Question::id).containsExactly("NQ49");
+        assertThatThrownBy(() -> loader.answerQuestion("MLA123456", "NQ0", "Otra", base))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(loader.answerQuestion("MLA123456", "NQX", "Sí", base)).isEmpty();
+
+        loader.applyDeltas(new ByteArrayInputStream(
+            "{\"seq\":1,\"op\":\"delete\",\"type\":\"item\",\"id\":\"MLA123456\"}".getBytes(StandardCharsets.UTF_8)));
+        assertThat(loader.findResponseStats("S123")).isEqualTo(ResponseStats.EMPTY);
+    }
+
+    @Test
+    @DisplayName("applyDeltas ignora secuencias ya aplicadas al reintentar un feed")
+    void applyDeltas_esIdempotente() {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        loader.loadSampleData();
+        String feed = "{\"seq\":10,\"op\":\"delete\",\"type\":\"review\",\"itemId\":\"MLA123456\",\"id\":\"R4\"}\n"
+            + "{\"seq\":11,\"op\":\"delete\",\"type\":\"item\",\"id\":\"MLA123456\"}";
+        loader.applyDeltas(new ByteArrayInputStream(feed.substring(0, feed.indexOf('\n')).getBytes(StandardCharsets.UTF_8)));
+
+        DeltaResult result = loader.applyDeltas(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result).isEqualTo(new DeltaResult(1, 1, 0, 0, 11));
+        assertThat(loader.findItemById("MLA123456")).isEmpty();
+        assertThat(loader.findReviews("MLA123456")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("applyDeltas informa cambios fuera de orden y sobre items inexistentes sin aplicarlos")
+    void applyDeltas_informaCambiosOmitidos() {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        loader.loadSampleData();
+        String feed = String.join("\n",
+            "{\"seq\":3,\"op\":\"delete\",\"type\":\"review\",\"itemId\":\"MLA123456\",\"id\":\"R4\"}",
+            "{\"seq\":2,\"op\":\"delete\",\"type\":\"review\",\"itemId\":\"MLA123456\",\"id\":\"R3\"}",
+            "{\"seq\":3,\"op\":\"delete\",\"type\":\"review\",\"itemId\":\"MLA123456\",\"id\":\"R2\"}",
+            "{\"seq\":4,\"op\":\"delete\",\"type\":\"item\",\"id\":\"MLA000\"}");
+
+        DeltaResult result = loader.applyDeltas(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result).isEqualTo(new DeltaResult(1, 0, 2, 1, 4));
+        assertThat(result.skipped()).isEqualTo(3);
+        assertThat(loader.findReviews("MLA123456")).extracting(Review::id).containsExactly("R1", "R2", "R3");
+    }
+
+    @Test
+    @DisplayName("una recarga completa vuelve a aplicar los deltas y reintentar el feed no los duplica")
+    void applyDeltas_sobrevivenARecargas() throws Exception {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        loader.loadSampleData();
+        byte[] feed = String.join("\n",
+            "{\"seq\":7,\"op\":\"delete\",\"type\":\"review\",\"itemId\":\"MLA123456\",\"id\":\"R4\"}",
+            "{\"seq\":8,\"op\":\"delete\",\"type\":\"item\",\"id\":\"MLA000\"}")
+            .getBytes(StandardCharsets.UTF_8);
+        loader.applyDeltas(new ByteArrayInputStream(feed));
+
+        loader.reload().get(10, TimeUnit.SECONDS);
+        DeltaResult result = loader.applyDeltas(new ByteArrayInputStream(feed));
+
+        assertThat(loader.status().generation()).isEqualTo(2);
+        assertThat(loader.status().watermark()).isEqualTo(8);
+        assertThat(result).isEqualTo(new DeltaResult(0, 2, 0, 0, 8));
+        assertThat(loader.findReviews("MLA123456")).extracting(Review::id).containsExactly("R1", "R2", "R3");
+    }
+
+    @Test
+    @DisplayName("las reseñas, preguntas y respuestas aceptadas sobreviven a una recarga completa")
+    void appendReview_sobreviveARecargas() throws Exception {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        loader.loadSampleData();
+        OffsetDateTime base = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        loader.appendReview(new Review("N1", "MLA123456", "Autor", 5, "Título", "Comentario", base));
+        loader.addQuestion(new Question("NQ1", "MLA123456", "¿Tiene garantía?", base, null, null));
+        loader.addQuestion(new Question("NQ2", "MLA123456", "¿Viene en rojo?", base.plusMinutes(1), null, null));
+        loader.answerQuestion("MLA123456", "NQ1", "Sí, un año.", base.plusHours(1));
+
+        loader.reload().get(10, TimeUnit.SECONDS);
+
+        assertThat(loader.status().generation()).isEqualTo(2);
+        assertThat(loader.findReviews("MLA123456")).extracting(Review::id)
+            .containsExactly("N1", "R1", "R2", "R3", "R4");
+        assertThat(loader.findQuestions("MLA123456")).extracting(Question::id).contains("NQ1", "NQ2", "Q1", "Q2");
+        assertThat(loader.findQuestions("MLA123456")).filteredOn(question -> question.id().equals("NQ1"))
+            .extracting(Question::answer).containsExactly("Sí, un año.");
+        assertThat(loader.findResponseStats("S123").asked()).isEqualTo(4);
+        assertThatThrownBy(() -> loader.answerQuestion("MLA123456", "NQ1", "Otra", base.plusHours(2)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("las reseñas que llegan durante una recarga quedan en la generación nueva")
+    void appendReview_duranteRecargas() throws Exception {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        loader.loadSampleData();
+        int initial = loader.findReviews("MLA123456").size();
+        int writers = 8;
+        int reviewsPerWriter = 200;
+        OffsetDateTime base = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                int current = writer;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < reviewsPerWriter; i++) {
+                        int sequence = current * reviewsPerWriter + i;
+                        assertThat(loader.appendReview(new Review("W" + sequence, "MLA123456", "Autor", 4, "Título",
+                            "Comentario", base.plusSeconds(sequence)))).isTrue();
+                    }
+                    return null;
+                }));
+            }
+            for (int reload = 0; reload < 5; reload++) {
+                loader.reload().get(10, TimeUnit.SECONDS);
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loader.findReviews("MLA123456")).extracting(Review::id).doesNotHaveDuplicates()
+            .hasSize(initial + writers * reviewsPerWriter);
+        loader.reload().get(10, TimeUnit.SECONDS);
+        assertThat(loader.findReviewSummary("MLA123456").count()).isEqualTo(initial + writers * reviewsPerWriter);
+    }
+
+    @Test
+    @DisplayName("applyDeltas rechaza operaciones desconocidas")
+    void applyDeltas_operacionDesconocida() {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(), "classpath:data/catalog.json");
+        loader.loadSampleData();
+
+        assertThatThrownBy(() -> loader.applyDeltas(new ByteArrayInputStream(
+            "{\"seq\":1,\"op\":\"merge\",\"type\":\"item\",\"id\":\"MLA1\"}".getBytes(StandardCharsets.UTF_8))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("loadSampleData falla cuando el archivo no existe")
+    void loadSampleData_archivoInexistente() {
+        SampleDataLoader loader = new SampleDataLoader(new ObjectMapper(),
+            tempDir.resolve("missing.json").toUri().toString());
+
+        assertThatThrownBy(loader::loadSampleData)
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    static String record(String itemId, String sellerId) {
+        return """
+            {"item":{"id":"%1$s","title":"Item %1$s","permalink":"https://example.com/%1$s","condition":"new",\
+            "warranty":"12 meses","description":"desc","price":{"amount":100.5,"currency":"ARS"},\
+            "availableQuantity":1,"soldQuantity":0,"lastUpdated":"2024-05-20T10:30:00Z",\
+            "seller":{"id":"%2$s","nickname":"Seller %2$s","reputation":4.5},\
+            "shipping":{"freeShipping":true,"logisticType":"fulfillment","tags":["envios_gratis"]},\
+            "pictures":[{"url":"http://img/%1$s.jpg","secureUrl":"https://img/%1$s.jpg","type":"principal","order":1}],\
+            "attributes":[{"id":"COLOR","name":"Color","valueName":"Negro"}]},\
+            "seller":{"id":"%2$s","nickname":"Seller %2$s","reputation":4.5,"reputationLevel":"oro",\
+            "totalSales":10,"responseRate":0.9,"responseTimeHours":3,"policies":["Devolución gratis"]},\
+            "questions":[{"id":"Q-%1$s","itemId":"%1$s","text":"¿Tiene garantía?","askedAt":"2024-06-01T14:05:00Z",\
+            "answer":"Sí","answeredAt":"2024-06-01T15:05:00Z"}],\
+            "reviews":[{"id":"R-%1$s","itemId":"%1$s","author":"Ana","rating":5,"title":"Bueno",\
+            "comment":"Muy bueno","createdAt":"2024-06-02T09:20:00Z"}],\
+            "shippingOptions":[{"type":"standard","carrier":"Correo","cost":1000.0,\
+            "estimatedDeliveryDays":3,"pickupAvailable":false}]}""".formatted(itemId, sellerId);
+    }
+}
@@ -0,0 +1,124 @@
+package com.hackerrank.sample.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.model.ShippingOption;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShippingQuoteCacheTest {
+
+    private static final List<ShippingOption> BASE = List.of(
+        new ShippingOption("standard", "Correo Argentino", new BigDecimal("1999.99"), 3, false)
+    );
+
+    private ShippingRules rules;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        rules = ShippingRules.compile(new ObjectMapper().readTree("""
+            {"default": {"extraDays": 1, "surcharge": "1.10"},
+             "rules": [{"prefixes": ["9"], "extraDays": 3, "surcharge": "1.35"}]}
+            """));
+    }
+
+    @Test
+    @DisplayName("reutiliza la cotización de la misma región y la recalcula si cambian las opciones o las reglas")
+    void get_reutilizaEInvalida() throws IOException {
+        ShippingQuoteCache cache = new ShippingQuoteCache(10);
+
+        List<ShippingOption> first = cache.get("MLA1", rules.region("9410"), BASE, rules);
+        assertThat(cache.get("MLA1", rules.region("9000"), BASE, rules)).isSameAs(first);
+        assertThat(first.get(0).cost().toBigDecimal()).isEqualByComparingTo("2699.99");
+
+        List<ShippingOption> changedBase = List.of(
+            new ShippingOption("standard", "Correo Argentino", new BigDecimal("1000.00"), 3, false));
+        assertThat(cache.get("MLA1", rules.region("9410"), changedBase, rules).get(0).cost().toBigDecimal())
+            .isEqualByComparingTo("1350.00");
+        ShippingRules reloaded = ShippingRules.compile(new ObjectMapper().readTree("{\"rules\": []}"));
+        assertThat(cache.get("MLA1", reloaded.region("9410"), changedBase, reloaded).get(0).cost().toBigDecimal())
+            .isEqualByComparingTo("1000.00");
+
+        assertThat(cache.stats()).isEqualTo(new ShippingQuoteCacheStats(10, 2, 1, 3, 0, 1));
+        cache.invalidateAll();
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.stats().invalidations()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("las regiones frecuentes sobreviven a una ráfaga de consultas únicas")
+    void get_protegeLasFrecuentes() {
+        ShippingQuoteCache cache = new ShippingQuoteCache(5);
+        int hot = rules.region("9410");
+        cache.get("HOT", hot, BASE, rules);
+        cache.get("HOT", hot, BASE, rules);
+
+        for (int i = 0; i < 50; i++) {
+            cache.get("MLA" + i, hot, BASE, rules);
+        }
+
+        ShippingQuoteCacheStats before = cache.stats();
+        cache.get("HOT", hot, BASE, rules);
+        assertThat(cache.stats().hits()).isEqualTo(before.hits() + 1);
+        assertThat(before.size()).isEqualTo(5);
+        assertThat(before.evictions()).isEqualTo(46);
+    }
+
+    @Test
+    @DisplayName("con capacidad 0 calcula siempre y cuenta los fallos")
+    void get_sinCapacidad() {
+        ShippingQuoteCache cache = new ShippingQuoteCache(0);
+
+        cache.get("MLA1", rules.region("1000"), BASE, rules);
+        cache.get("MLA1", rules.region("1000"), BASE, rules);
+
+        assertThat(cache.stats()).isEqualTo(new ShippingQuoteCacheStats(0, 0, 0, 2, 0, 0));
+        assertThat(cache.stats().hitRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("con consultas concurrentes respeta la capacidad y cuenta cada consulta una vez")
+    void get_concurrente() throws Exception {
+        ShippingQuoteCache cache = new ShippingQuoteCache(1024);
+        int threads = 8;
+        int lookupsPerThread = 5000;
+        int hot = rules.region("9410");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int current = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < lookupsPerThread; i++) {
+                        // La mitad de las consultas se repite entre hilos y la otra mitad es única.
+                        String itemId = i % 2 == 0 ? "MLA" + (i % 200) : "T" + current + "-" + i;
+                        assertThat(cache.get(itemId, hot, BASE, rules).get(0).cost().toBigDecimal())
+                            .isEqualByComparingTo("2699.99");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ShippingQuoteCacheStats stats = cache.stats();
+        assertThat(stats.size()).isEqualTo(1024);
+        assertThat(stats.hits() + stats.misses()).isEqualTo((long) threads * lookupsPerThread);
+        assertThat(stats.misses() - stats.evictions()).isEqualTo(stats.size());
+        assertThat(stats.hits()).isPositive();
+    }
+}
@@ -0,0 +1,122 @@
+package com.hackerrank.sample.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackerrank.sample.model.ShippingOption;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShippingRulesTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final List<ShippingOption> OPTIONS = List.of(
+        new ShippingOption("standard", "Correo Argentino", new BigDecimal("1999.99"), 3, false),
+        new ShippingOption("express", "Mercado Envíos Flex", new BigDecimal("0.00"), 1, true)
+    );
+
+    @Test
+    @DisplayName("las reglas incluidas reproducen los ajustes por primer dígito del código postal")
+    void reglasIncluidas_reproducenAjustes() {
+        ShippingRulesLoader loader = new ShippingRulesLoader(MAPPER, "classpath:data/shipping-rules.json");
+        loader.reload();
+        ShippingRules rules = loader.rules();
+
+        assertThat(adjust(rules, null)).containsExactly(cost("1999.99", 3), cost("0.00", 1));
+        assertThat(adjust(rules, "  ")).containsExactly(cost("1999.99", 3), cost("0.00", 1));
+        assertThat(adjust(rules, "1425")).containsExactly(cost("1999.99", 3), cost("0.00", 1));
+        assertThat(adjust(rules, "5000")).containsExactly(cost("2199.99", 4), cost("0.00", 2));
+        assertThat(adjust(rules, " 7600 ")).containsExactly(cost("2399.99", 5), cost("0.00", 3));
+        assertThat(adjust(rules, "9410")).containsExactly(cost("2699.99", 6), cost("0.00", 4));
+        assertThat(adjust(rules, "8000")).isEqualTo(adjust(rules, "9"));
+        assertThat(adjust(rules, "B1640")).isEqualTo(adjust(rules, "5000"));
+        assertThat(rules.region("1")).isEqualTo(rules.region("1999"));
+        assertThat(rules.region("8")).isNotEqualTo(rules.region("9"));
+        assertThat(rules.ruleCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("la matriz recorre las regiones en orden de prefijo y cotiza igual que por código postal")
+    void matriz_cotizaCadaRegion() {
+        ShippingRulesLoader loader = new ShippingRulesLoader(MAPPER, "classpath:data/shipping-rules.json");
+        loader.reload();
+        ShippingRules rules = loader.rules();
+        ShippingMatrix matrix = new ShippingMatrix(rules, itemId -> itemId.equals("MLA1") ? OPTIONS : List.of());
+
+        assertThat(matrix.regions()).containsExactly(ShippingMatrix.DEFAULT_REGION, "1", "7", "8", "9");
+        List<ShippingOption> base = matrix.baseOptions("MLA1");
+        assertThat(base).isEqualTo(OPTIONS);
+        assertThat(matrix.quote(base, 0)).isEqualTo(rules.apply(rules.region("5000"), OPTIONS));
+        assertThat(matrix.quote(base, 2)).isEqualTo(rules.apply(rules.region("7600"), OPTIONS));
+        assertThat(matrix.quote(base, 4)).isEqualTo(rules.apply(rules.region("9410"), OPTIONS));
+        assertThat(matrix.quote(matrix.baseOptions("MLA2"), 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("gana la regla del transportista con el prefijo más largo y luego la general más larga")
+    void transportista_ganaSobreGeneral() throws IOException {
+        ShippingRules rules = ShippingRules.compile(MAPPER.readTree("""
+            {"default": {"extraDays": 1, "surcharge": "1.10"},
+             "rules": [{"prefixes": ["94"], "extraDays": 4, "surcharge": "1.50"},
+                       {"prefixes": ["9"], "extraDays": 3, "surcharge": "1.35"}],
+             "carriers": {"Correo Argentino": {
+                 "default": {"extraDays": 0, "surcharge": 1},
+                 "rules": [{"prefixes": ["9"], "extraDays": 2, "surcharge": "1.20"}]}}}
+            """));
+
+        assertThat(rules.rule(rules.region("9410"), "Correo Argentino")).isEqualTo(rule(2, "1.20"));
+        assertThat(rules.rule(rules.region("9410"), "Mercado Envíos Flex")).isEqualTo(rule(4, "1.50"));
+        assertThat(rules.rule(rules.region("9000"), "Mercado Envíos Flex")).isEqualTo(rule(3, "1.35"));
+        assertThat(rules.rule(rules.region("5000"), "Correo Argentino")).isEqualTo(rule(0, "1"));
+        assertThat(rules.rule(rules.region("5000"), "Otro")).isEqualTo(rule(1, "1.10"));
+        assertThat(rules.rule(rules.region(""), "Correo Argentino")).isEqualTo(ShippingRule.NONE);
+        assertThat(rules.carrierCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("un archivo inválido se rechaza y siguen vigentes las reglas anteriores")
+    void reload_conservaReglasAnteHaberError(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("shipping-rules.json");
+        Files.writeString(file, """
+            {"default": {"extraDays": 1, "surcharge": "1.10"}, "rules": []}
+            """);
+        ShippingRulesLoader loader = new ShippingRulesLoader(MAPPER, file.toUri().toString());
+        ShippingRulesStatus first = loader.reload();
+
+        Files.writeString(file, """
+            {"rules": [{"prefixes": ["7"], "extraDays": 2, "surcharge": "1.20"},
+                       {"prefixes": ["7"], "extraDays": 3, "surcharge": "1.35"}]}
+            """);
+        assertThatThrownBy(loader::reload).isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("repetido");
+        Files.writeString(file, """
+            {"rules": [{"prefixes": ["7A"], "extraDays": 2, "surcharge": "1.20"}]}
+            """);
+        assertThatThrownBy(loader::reload).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(loader.status()).isEqualTo(first);
+        assertThat(loader.rules().rule(loader.rules().region("7600"), "Correo")).isEqualTo(rule(1, "1.10"));
+    }
+
+    private static List<ShippingOption> adjust(ShippingRules rules, String zipcode) {
+        return rules.apply(rules.region(zipcode), OPTIONS).stream()
+            .map(option -> cost(option.cost().toBigDecimal().toPlainString(), option.estimatedDeliveryDays()))
+            .toList();
+    }
+
+    private static ShippingOption cost(String cost, int days) {
+        return new ShippingOption("-", "-", new BigDecimal(cost), days, false);
+    }
+
+    private static ShippingRule rule(int extraDays, String surcharge) {
+        return new ShippingRule(extraDays, new BigDecimal(surcharge));
+    }
+}
@@ -0,0 +1,86 @@
+package com.hackerrank.sample.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextIndexTest {
+
+    @Test
+    @DisplayName("analyze pasa a minúsculas, quita acentos y palabras vacías y reduce plurales y género")
+    void analyze_normalizaTerminos() {
+        assertThat(SpanishAnalyzer.analyze("Las baterías RÁPIDAS"))
+            .containsExactly("bateri", "rapid");
+        assertThat(SpanishAnalyzer.analyze("batería rápido")).containsExactly("bateri", "rapid");
+        assertThat(SpanishAnalyzer.analyze("Colores y luces, cómodamente")).containsExactly("color", "luz", "comod");
+        assertThat(SpanishAnalyzer.analyze("  ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search ordena por BM25, pagina y cuenta todas las coincidencias")
+    void search_rankeaYPagina() {
+        TextIndex index = TextIndex.of(List.of(
+            "Buen sonido",
+            "La batería dura poco, batería floja",
+            "Excelente batería y buen sonido en general para el precio que tiene",
+            "Nada que destacar"
+        ));
+
+        TextIndex.Hits hits = index.search("baterias", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.documents()).containsExactly(1, 2);
+        assertThat(index.search("batería sonido", 0, 10).total()).isEqualTo(3);
+        assertThat(index.search("batería sonido", 0, 1).documents()).containsExactly(2);
+        assertThat(index.search("batería sonido", 3, 10).documents()).isEmpty();
+        assertThat(index.search("envío", 0, 10)).isEqualTo(TextIndex.Hits.NONE);
+        assertThat(TextIndex.EMPTY.search("sonido", 0, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("search pagina sobre el mismo ranking en cualquier offset y desempata por posición")
+    void search_paginaSobreElRankingCompleto() {
+        List<String> documents = IntStream.range(0, 200)
+            .mapToObj(i -> "sonido ".repeat(i % 5 + 1) + "bueno")
+            .toList();
+        TextIndex index = TextIndex.of(documents);
+
+        int[] ranking = index.search("sonido", 0, 1000).documents();
+
+        assertThat(ranking).hasSize(200);
+        for (int i = 1; i < ranking.length; i++) {
+            if (ranking[i] % 5 == ranking[i - 1] % 5) {
+                assertThat(ranking[i]).isGreaterThan(ranking[i - 1]);
+            }
+        }
+        for (int offset : new int[] {0, 1, 39, 40, 41, 195, 200}) {
+            assertThat(index.search("sonido", offset, 7).documents())
+                .containsExactly(Arrays.copyOfRange(ranking, Math.min(offset, 200), Math.min(offset + 7, 200)));
+        }
+        assertThat(index.search("sonido", 0, 0).total()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("replace reemplaza un documento igual que reconstruir el índice")
+    void replace_equivaleAReconstruir() {
+        List<String> documents = List.of("Buen sonido", "¿Tiene batería?", "Batería floja", "Nada que destacar");
+        List<String> replaced = List.of("Buen sonido", "¿Tiene batería? Sí, de litio con buen sonido",
+            "Batería floja", "Nada que destacar");
+
+        TextIndex updated = TextIndex.of(documents).replace(1, replaced.get(1), UnaryOperator.identity());
+        TextIndex expected = TextIndex.of(replaced);
+
+        for (String query : List.of("batería", "sonido", "litio", "tiene", "destacar")) {
+            assertThat(updated.search(query, 0, 10).total()).isEqualTo(expected.search(query, 0, 10).total());
+            assertThat(updated.search(query, 0, 10).documents()).containsExactly(expected.search(query, 0, 10)
+                .documents());
+        }
+        TextIndex emptied = TextIndex.of(documents).replace(3, "", UnaryOperator.identity());
+        assertThat(emptied.search("destacar", 0, 10)).isEqualTo(TextIndex.Hits.NONE);
+    }
+}
@@ -0,0 +1,50 @@
+package com.hackerrank.sample.repository;
+
+import com.hackerrank.sample.model.Item;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValueCanonicalizerTest {
+
+    @Test
+    @DisplayName("comparte la instancia guardada y solo cuenta como acierto descartar una copia distinta")
+    void canonical_cuentaSoloCopias() {
+        ValueCanonicalizer canonicalizer = new ValueCanonicalizer();
+
+        String first = canonicalizer.string(new String("ARS"));
+        assertThat(canonicalizer.string(new String("ARS"))).isSameAs(first);
+        assertThat(canonicalizer.string(first)).isSameAs(first);
+        assertThat(canonicalizer.hits()).isEqualTo(1);
+        assertThat(canonicalizer.bytesSaved()).isEqualTo(48);
+
+        Item.Seller seller = canonicalizer.seller(new Item.Seller(new String("S1"), new String("tienda"), 4.5));
+        assertThat(seller.id()).isSameAs(canonicalizer.string("S1"));
+        long hits = canonicalizer.hits();
+        assertThat(canonicalizer.seller(new Item.Seller(new String("S1"), new String("tienda"), 4.5)))
+            .isSameAs(seller);
+        // La copia del vendedor se descarta entera: sus textos no se deduplican ni se cuentan.
+        assertThat(canonicalizer.hits()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @DisplayName("con el pool lleno usa los valores nuevos tal cual y sigue compartiendo los guardados")
+    void canonical_acotado() {
+        ValueCanonicalizer canonicalizer = new ValueCanonicalizer(2);
+        String first = canonicalizer.string(new String("uno"));
+        canonicalizer.string(new String("dos"));
+
+        List<String> extra = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            extra.add(canonicalizer.string("valor" + i));
+        }
+
+        assertThat(canonicalizer.size()).isEqualTo(2);
+        assertThat(extra).hasSize(100);
+        assertThat(canonicalizer.string(new String("uno"))).isSameAs(first);
+        assertThat(canonicalizer.hits()).isEqualTo(1);
+    }
+}
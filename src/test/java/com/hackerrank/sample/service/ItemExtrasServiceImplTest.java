@@ -1,13 +1,21 @@
 package com.hackerrank.sample.service;
 
+import com.hackerrank.sample.dto.AnswerRequest;
 import com.hackerrank.sample.dto.QuestionDto;
+import com.hackerrank.sample.dto.QuestionPageDto;
+import com.hackerrank.sample.dto.QuestionRequest;
 import com.hackerrank.sample.dto.RelatedItemDto;
 import com.hackerrank.sample.dto.ReviewDto;
 import com.hackerrank.sample.dto.ReviewPageDto;
+import com.hackerrank.sample.dto.ReviewRequest;
 import com.hackerrank.sample.dto.ReviewSummaryDto;
+import com.hackerrank.sample.dto.ReviewTrendDto;
+import com.hackerrank.sample.dto.SearchPageDto;
 import com.hackerrank.sample.dto.SellerDetailDto;
 import com.hackerrank.sample.dto.ShippingOptionDto;
+import com.hackerrank.sample.exception.BadResourceRequestException;
 import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.exception.ResourceConflictException;
 import com.hackerrank.sample.model.Item;
 import com.hackerrank.sample.model.Question;
 import com.hackerrank.sample.model.RelatedItem;
@@ -15,13 +23,23 @@ import com.hackerrank.sample.model.Review;
 import com.hackerrank.sample.model.SellerDetail;
 import com.hackerrank.sample.model.ShippingOption;
 import com.hackerrank.sample.repository.ItemRepository;
+import com.hackerrank.sample.repository.QuestionCursor;
+import com.hackerrank.sample.repository.QuestionGroup;
 import com.hackerrank.sample.repository.QuestionRepository;
 import com.hackerrank.sample.repository.RelatedItemRepository;
+import com.hackerrank.sample.repository.ResponseStats;
+import com.hackerrank.sample.repository.ReviewCursor;
+import com.hackerrank.sample.repository.ReviewFilter;
 import com.hackerrank.sample.repository.ReviewRepository;
+import com.hackerrank.sample.repository.ReviewSort;
+import com.hackerrank.sample.repository.ReviewSummary;
+import com.hackerrank.sample.repository.ReviewTrend;
+import com.hackerrank.sample.repository.SearchResult;
 import com.hackerrank.sample.repository.SellerDetailRepository;
 import com.hackerrank.sample.repository.ShippingOptionRepository;
 import com.hackerrank.sample.service.mapper.ItemExtrasMapper;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
@@ -37,7 +55,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -110,6 +131,93 @@ class ItemExtrasServiceImplTest {
         verify(mapper).toRelatedDtos(related);
     }
 
+    @Test
+    @DisplayName("getReviewTrend mapea las ventanas con sus fechas y el histograma semanal")
+    void getReviewTrend_mapeaVentanas() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        ReviewSummary week = ReviewSummary.of(0, 0, 1, 0, 1);
+        ReviewTrend trend = new ReviewTrend(LocalDate.parse("2024-06-03"), week, ReviewSummary.of(0, 0, 1, 1, 1),
+            ReviewSummary.of(1, 0, 1, 1, 1), List.of(week, ReviewSummary.EMPTY));
+        given(reviewRepository.findReviewTrendByItemId(ITEM_ID)).willReturn(trend);
+        ReviewTrendDto mapped = new ItemExtrasMapper().toReviewTrendDto(trend);
+        given(mapper.toReviewTrendDto(trend)).willReturn(mapped);
+
+        ReviewTrendDto result = itemExtrasService.getReviewTrend(ITEM_ID);
+
+        assertThat(result).isEqualTo(mapped);
+        assertThat(result.last7Days().from()).isEqualTo(LocalDate.parse("2024-05-28"));
+        assertThat(result.last7Days().averageRating()).isEqualTo(4.0);
+        assertThat(result.last30Days().totalReviews()).isEqualTo(3);
+        assertThat(result.last90Days().ratingDistribution()).containsEntry(1, 1L);
+        assertThat(result.weeks()).extracting(window -> window.to())
+            .containsExactly(LocalDate.parse("2024-06-03"), LocalDate.parse("2024-05-27"));
+    }
+
+    @Test
+    @DisplayName("getReviewTrend lanza excepción cuando no existe el item")
+    void getReviewTrend_itemInexistente() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> itemExtrasService.getReviewTrend(ITEM_ID))
+            .isInstanceOf(NoSuchResourceFoundException.class);
+        verify(reviewRepository, never()).findReviewTrendByItemId(any());
+    }
+
+    @Test
+    @DisplayName("getSellerDetail usa las estadísticas de respuesta en vivo cuando hay preguntas")
+    void getSellerDetail_estadisticasEnVivo() {
+        SellerDetail seller = new SellerDetail(SELLER_ID, "Seller", 4.5, "oro", 10, 0.5, 48, List.of());
+        OffsetDateTime askedAt = OffsetDateTime.parse("2024-06-01T10:00:00Z");
+        ResponseStats stats = ResponseStats.EMPTY
+            .plus(ResponseStats.of(new Question("Q1", ITEM_ID, "¿?", askedAt, "Sí", askedAt.plusMinutes(90))))
+            .plus(ResponseStats.of(new Question("Q2", ITEM_ID, "¿?", askedAt, "Sí", askedAt.plusHours(30))))
+            .plus(ResponseStats.of(new Question("Q3", ITEM_ID, "¿?", askedAt, null, null)));
+        given(sellerDetailRepository.findDetailById(SELLER_ID)).willReturn(Optional.of(seller));
+        given(sellerDetailRepository.findResponseStatsBySellerId(SELLER_ID)).willReturn(stats);
+        SellerDetailDto mapped = new ItemExtrasMapper().toSellerDetailDto(seller, stats);
+        given(mapper.toSellerDetailDto(seller, stats)).willReturn(mapped);
+
+        SellerDetailDto result = itemExtrasService.getSellerDetail(SELLER_ID);
+
+        assertThat(result.responseRate()).isEqualTo(0.67);
+        assertThat(result.responseTimeHours()).isEqualTo(16);
+        assertThat(result.responseTimeHistogram()).extracting(bucket -> bucket.count())
+            .containsExactly(0L, 1L, 0L, 0L, 0L, 1L, 0L);
+        assertThat(new ItemExtrasMapper().toSellerDetailDto(seller).responseRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("askQuestion agrega la pregunta sin respuesta y la devuelve mapeada")
+    void askQuestion_agregaLaPregunta() {
+        QuestionDto dto = new QuestionDto("Q", "¿Color?", OffsetDateTime.now(ZoneOffset.UTC), null, null);
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(questionRepository.addQuestion(any(Question.class))).willReturn(true);
+        given(mapper.toQuestionDto(any(Question.class))).willReturn(dto);
+
+        QuestionDto result = itemExtrasService.askQuestion(ITEM_ID, new QuestionRequest(" ¿Color? "));
+
+        assertThat(result).isEqualTo(dto);
+        verify(questionRepository).addQuestion(argThat(question -> question.itemId().equals(ITEM_ID)
+            && question.text().equals("¿Color?") && question.answer() == null));
+        assertThatThrownBy(() -> itemExtrasService.askQuestion(ITEM_ID, new QuestionRequest(" ")))
+            .isInstanceOf(BadResourceRequestException.class);
+    }
+
+    @Test
+    @DisplayName("answerQuestion responde 404 si la pregunta no existe y 409 si ya tenía respuesta")
+    void answerQuestion_validaLaPregunta() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(questionRepository.answerQuestion(any(), any(), any(), any())).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> itemExtrasService.answerQuestion(ITEM_ID, "Q0", new AnswerRequest("Sí")))
+            .isInstanceOf(NoSuchResourceFoundException.class);
+
+        given(questionRepository.answerQuestion(any(), any(), any(), any()))
+            .willThrow(new IllegalStateException("La pregunta Q1 ya fue respondida"));
+        assertThatThrownBy(() -> itemExtrasService.answerQuestion(ITEM_ID, "Q1", new AnswerRequest("Sí")))
+            .isInstanceOf(ResourceConflictException.class);
+    }
+
     @Test
     @DisplayName("getSellerDetail lanza excepción cuando no existe el vendedor")
     void getSellerDetail_vendedorInexistente() {
@@ -120,7 +228,23 @@ class ItemExtrasServiceImplTest {
     }
 
     @Test
-    @DisplayName("getQuestions retorna lista de preguntas mapeada")
+    @DisplayName("getQuestions sin consulta retorna la lista completa de preguntas mapeada")
+    void getQuestions_devuelveListaCompleta() {
+        List<Question> questionList = List.of(
+            new Question("Q1", ITEM_ID, "¿Hay stock?", OffsetDateTime.now(ZoneOffset.UTC), "Sí", OffsetDateTime.now(ZoneOffset.UTC))
+        );
+        List<QuestionDto> dtoList = List.of(
+            new QuestionDto("Q1", "¿Hay stock?", questionList.get(0).askedAt(), "Sí", questionList.get(0).answeredAt())
+        );
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(questionRepository.findQuestionsByItemId(ITEM_ID)).willReturn(questionList);
+        given(mapper.toQuestionDtos(questionList)).willReturn(dtoList);
+
+        assertThat(itemExtrasService.getQuestions(ITEM_ID)).isEqualTo(dtoList);
+    }
+
+    @Test
+    @DisplayName("getQuestions devuelve la página pedida mapeada y el cursor siguiente")
     void getQuestions_devuelvePreguntas() {
         List<Question> questionList = List.of(
             new Question("Q1", ITEM_ID, "¿Hay stock?", OffsetDateTime.now(ZoneOffset.UTC), "Sí", OffsetDateTime.now(ZoneOffset.UTC))
@@ -130,12 +254,65 @@ class ItemExtrasServiceImplTest {
         );
 
         given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
-        given(questionRepository.findQuestionsByItemId(ITEM_ID)).willReturn(questionList);
+        given(questionRepository.countQuestionsByItemId(ITEM_ID, true)).willReturn(3);
+        given(questionRepository.findQuestionPageByItemId(ITEM_ID, true, 1, 1)).willReturn(questionList);
         given(mapper.toQuestionDtos(questionList)).willReturn(dtoList);
 
-        List<QuestionDto> result = itemExtrasService.getQuestions(ITEM_ID);
+        QuestionPageDto result = itemExtrasService.getQuestions(ITEM_ID, new QuestionQuery(1, 1, null, true));
+
+        assertThat(result.questions()).isEqualTo(dtoList);
+        assertThat(result.totalElements()).isEqualTo(3);
+        assertThat(result.totalPages()).isEqualTo(3);
+        assertThat(result.nextCursor()).isEqualTo(QuestionCursor.of(questionList.get(0)).encode());
+        verify(questionRepository, never()).findQuestionsByItemId(any());
+    }
+
+    @Test
+    @DisplayName("getQuestions con cursor pide una fila extra y omite el cursor en la última página")
+    void getQuestions_paginaPorCursor() {
+        OffsetDateTime askedAt = OffsetDateTime.parse("2024-06-01T10:00:00Z");
+        QuestionCursor cursor = new QuestionCursor(askedAt.toEpochSecond(), 0, "Q1");
+        List<Question> questionList = List.of(new Question("Q2", ITEM_ID, "¿Color?", askedAt.minusDays(1), null, null));
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(questionRepository.countQuestionsByItemId(ITEM_ID, null)).willReturn(2);
+        given(questionRepository.findQuestionPageByItemId(ITEM_ID, cursor, null, 3)).willReturn(questionList);
+        given(mapper.toQuestionDtos(questionList)).willReturn(List.of());
+
+        QuestionPageDto result = itemExtrasService.getQuestions(ITEM_ID,
+            new QuestionQuery(0, 2, cursor.encode(), null));
+
+        assertThat(result.nextCursor()).isNull();
+        assertThatThrownBy(() -> itemExtrasService.getQuestions(ITEM_ID, new QuestionQuery(0, 2, "%%", null)))
+            .isInstanceOf(BadResourceRequestException.class);
+    }
+
+    @Test
+    @DisplayName("getQuestions con collapse pagina los grupos y toma el cursor de la representativa")
+    void getQuestions_agrupaCasiIguales() {
+        Question representative = new Question("Q3", ITEM_ID, "¿Tiene garantía?",
+            OffsetDateTime.parse("2024-06-03T10:00:00Z"), "Sí", OffsetDateTime.parse("2024-06-03T11:00:00Z"));
+        List<QuestionGroup> groups = List.of(new QuestionGroup(representative, 3));
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(questionRepository.countQuestionGroupsByItemId(ITEM_ID, null)).willReturn(2);
+        given(questionRepository.findQuestionGroupPageByItemId(ITEM_ID, null, 0, 1)).willReturn(groups);
+        given(mapper.toQuestionGroupDtos(groups)).willReturn(List.of());
 
-        assertThat(result).isEqualTo(dtoList);
+        QuestionPageDto result = itemExtrasService.getQuestions(ITEM_ID, new QuestionQuery(0, 1, null, null, true));
+
+        assertThat(result.totalElements()).isEqualTo(2);
+        assertThat(result.nextCursor()).isEqualTo(QuestionCursor.of(representative).encode());
+        verify(questionRepository, never()).countQuestionsByItemId(any(), any());
+    }
+
+    @Test
+    @DisplayName("getSimilarAnsweredQuestions acota el límite y exige el texto")
+    void getSimilarAnsweredQuestions_acotaYValida() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(questionRepository.findSimilarAnsweredQuestions(ITEM_ID, "¿Tiene garantía?", 20)).willReturn(List.of());
+
+        assertThat(itemExtrasService.getSimilarAnsweredQuestions(ITEM_ID, " ¿Tiene garantía? ", 500)).isEmpty();
+        assertThatThrownBy(() -> itemExtrasService.getSimilarAnsweredQuestions(ITEM_ID, " ", 5))
+            .isInstanceOf(BadResourceRequestException.class);
     }
 
     @Test
@@ -152,18 +329,173 @@ class ItemExtrasServiceImplTest {
             new ReviewDto("R2", "Autor 2", 3, "Normal", "Está bien", review3.createdAt())
         );
         given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
-        given(reviewRepository.findReviewsByItemId(ITEM_ID)).willReturn(reviews);
+        given(reviewRepository.findReviewSummaryByItemId(ITEM_ID)).willReturn(ReviewSummary.of(0, 0, 1, 0, 1));
+        given(reviewRepository.findReviewPageByItemId(ITEM_ID, ReviewSort.NEWEST, ReviewFilter.ALL, 0, 2))
+            .willReturn(reviews);
         given(mapper.toReviewDtos(reviews)).willReturn(reviewDtos);
         given(mapper.toReviewSummaryDto(4.0, 2, Map.of(5, 1L, 4, 0L, 3, 1L, 2, 0L, 1, 0L)))
             .willReturn(new ReviewSummaryDto(4.0, 2, Map.of(5, 1L, 4, 0L, 3, 1L, 2, 0L, 1, 0L)));
 
-        ReviewPageDto result = itemExtrasService.getReviews(ITEM_ID, 0, 10);
+        ReviewPageDto result = itemExtrasService.getReviews(ITEM_ID, new ReviewQuery(0, 10, null));
 
         assertThat(result.reviews()).hasSize(2);
         assertThat(result.summary().averageRating()).isEqualTo(4.0);
         assertThat(result.summary().ratingDistribution()).containsEntry(5, 1L);
     }
 
+    @Test
+    @DisplayName("getReviews materializa solo la página pedida")
+    void getReviews_pideSoloLaPagina() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(reviewRepository.findReviewSummaryByItemId(ITEM_ID)).willReturn(ReviewSummary.of(0, 0, 0, 0, 25));
+        given(reviewRepository.findReviewPageByItemId(ITEM_ID, ReviewSort.NEWEST, ReviewFilter.ALL, 20, 5))
+            .willReturn(List.of());
+        given(mapper.toReviewDtos(List.of())).willReturn(List.of());
+
+        ReviewPageDto result = itemExtrasService.getReviews(ITEM_ID, new ReviewQuery(2, 10, null));
+
+        assertThat(result.totalPages()).isEqualTo(3);
+        verify(reviewRepository).findReviewPageByItemId(ITEM_ID, ReviewSort.NEWEST, ReviewFilter.ALL, 20, 5);
+    }
+
+    @Test
+    @DisplayName("getReviews con cursor continúa desde la última reseña vista y devuelve el siguiente cursor")
+    void getReviews_paginaPorCursor() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        Review first = new Review("R5", ITEM_ID, "Autor", 5, "Título", "Comentario", now.minusDays(1));
+        Review second = new Review("R6", ITEM_ID, "Autor", 4, "Título", "Comentario", now.minusDays(2));
+        Review extra = new Review("R7", ITEM_ID, "Autor", 3, "Título", "Comentario", now.minusDays(3));
+        ReviewCursor cursor = ReviewCursor.of(new Review("R4", ITEM_ID, "Autor", 5, "Título", "Comentario", now));
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(reviewRepository.findReviewSummaryByItemId(ITEM_ID)).willReturn(ReviewSummary.of(0, 0, 1, 1, 5));
+        given(reviewRepository.findReviewPageByItemId(ITEM_ID, cursor, ReviewFilter.ALL, 3))
+            .willReturn(List.of(first, second, extra));
+        given(mapper.toReviewDtos(List.of(first, second))).willReturn(List.of());
+
+        ReviewPageDto result = itemExtrasService.getReviews(ITEM_ID, new ReviewQuery(0, 2, cursor.encode()));
+
+        assertThat(result.nextCursor()).isEqualTo(ReviewCursor.of(second).encode());
+    }
+
+    @Test
+    @DisplayName("addReview agrega la reseña al item y la devuelve mapeada")
+    void addReview_agregaLaResena() {
+        ReviewDto dto = new ReviewDto("R", "Ana", 4, "Bueno", "Cumple", OffsetDateTime.now(ZoneOffset.UTC));
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(reviewRepository.appendReview(any(Review.class))).willReturn(true);
+        given(mapper.toReviewDto(any(Review.class))).willReturn(dto);
+
+        ReviewDto result = itemExtrasService.addReview(ITEM_ID, new ReviewRequest(" Ana ", 4, "Bueno", "Cumple"));
+
+        assertThat(result).isEqualTo(dto);
+        verify(reviewRepository).appendReview(argThat(review -> review.itemId().equals(ITEM_ID)
+            && review.author().equals("Ana") && review.rating() == 4));
+    }
+
+    @Test
+    @DisplayName("addReview rechaza puntajes fuera de rango y textos vacíos")
+    void addReview_validaLaSolicitud() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+
+        assertThatThrownBy(() -> itemExtrasService.addReview(ITEM_ID, new ReviewRequest("Ana", 0, "Bueno", "Cumple")))
+            .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> itemExtrasService.addReview(ITEM_ID, new ReviewRequest("Ana", 4, " ", "Cumple")))
+            .isInstanceOf(BadResourceRequestException.class);
+        verify(reviewRepository, never()).appendReview(any());
+    }
+
+    @Test
+    @DisplayName("getReviews con sort pagina sobre el orden pedido y no emite cursor")
+    void getReviews_ordenAlternativo() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(reviewRepository.findReviewSummaryByItemId(ITEM_ID)).willReturn(ReviewSummary.of(0, 0, 0, 0, 25));
+        given(reviewRepository.findReviewPageByItemId(ITEM_ID, ReviewSort.RATING_ASC, ReviewFilter.ALL, 10, 10))
+            .willReturn(List.of());
+        given(mapper.toReviewDtos(List.of())).willReturn(List.of());
+
+        ReviewQuery query = new ReviewQuery(1, 10, null, "rating_asc", null, null);
+        ReviewPageDto result = itemExtrasService.getReviews(ITEM_ID, query);
+
+        assertThat(result.nextCursor()).isNull();
+        verify(reviewRepository).findReviewPageByItemId(ITEM_ID, ReviewSort.RATING_ASC, ReviewFilter.ALL, 10, 10);
+    }
+
+    @Test
+    @DisplayName("getReviews con filtros pagina y calcula los totales sobre las reseñas filtradas")
+    void getReviews_filtraPorPuntaje() {
+        ReviewFilter filter = new ReviewFilter(null, 4);
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(reviewRepository.findReviewSummaryByItemId(ITEM_ID)).willReturn(ReviewSummary.of(10, 0, 0, 5, 10));
+        given(reviewRepository.countReviewsByItemId(ITEM_ID, filter)).willReturn(15);
+        given(reviewRepository.findReviewPageByItemId(ITEM_ID, ReviewSort.NEWEST, filter, 10, 5)).willReturn(List.of());
+        given(mapper.toReviewDtos(List.of())).willReturn(List.of());
+
+        ReviewPageDto result = itemExtrasService.getReviews(ITEM_ID, new ReviewQuery(1, 10, null, null, null, 4));
+
+        assertThat(result.totalElements()).isEqualTo(15);
+        assertThat(result.totalPages()).isEqualTo(2);
+        verify(reviewRepository).findReviewPageByItemId(ITEM_ID, ReviewSort.NEWEST, filter, 10, 5);
+    }
+
+    @Test
+    @DisplayName("getReviews rechaza puntajes de filtro fuera de rango")
+    void getReviews_filtroInvalido() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+
+        assertThatThrownBy(() -> itemExtrasService.getReviews(ITEM_ID, new ReviewQuery(0, 10, null, null, 6, null)))
+            .isInstanceOf(BadResourceRequestException.class);
+    }
+
+    @Test
+    @DisplayName("getReviews rechaza un orden desconocido o un cursor con un orden distinto al por defecto")
+    void getReviews_ordenInvalido() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+
+        ReviewQuery unknownSort = new ReviewQuery(0, 10, null, "random", null, null);
+        ReviewQuery cursorWithSort = new ReviewQuery(0, 10, "abc", "rating_desc", null, null);
+
+        assertThatThrownBy(() -> itemExtrasService.getReviews(ITEM_ID, unknownSort))
+            .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> itemExtrasService.getReviews(ITEM_ID, cursorWithSort))
+            .isInstanceOf(BadResourceRequestException.class);
+    }
+
+    @Test
+    @DisplayName("searchReviews pagina los resultados de la búsqueda y calcula el total de páginas")
+    void searchReviews_paginaResultados() {
+        Review review = new Review("R1", ITEM_ID, "Autor", 5, "Excelente", "Gran batería",
+            OffsetDateTime.now(ZoneOffset.UTC));
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(reviewRepository.searchReviewsByItemId(ITEM_ID, "batería", 5, 5))
+            .willReturn(new SearchResult<>(11, List.of(review)));
+        given(mapper.toReviewDtos(List.of(review))).willReturn(List.of());
+
+        SearchPageDto<ReviewDto> result = itemExtrasService.searchReviews(ITEM_ID, " batería ", 1, 5);
+
+        assertThat(result.query()).isEqualTo("batería");
+        assertThat(result.totalElements()).isEqualTo(11);
+        assertThat(result.totalPages()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("searchQuestions rechaza una consulta vacía")
+    void searchQuestions_consultaVacia() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+
+        assertThatThrownBy(() -> itemExtrasService.searchQuestions(ITEM_ID, " ", 0, 10))
+            .isInstanceOf(BadResourceRequestException.class);
+    }
+
+    @Test
+    @DisplayName("getReviews rechaza un cursor que no fue emitido por la API")
+    void getReviews_cursorInvalido() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(sampleItem));
+        given(reviewRepository.findReviewSummaryByItemId(ITEM_ID)).willReturn(ReviewSummary.EMPTY);
+
+        assertThatThrownBy(() -> itemExtrasService.getReviews(ITEM_ID, new ReviewQuery(0, 10, "%%%")))
+            .isInstanceOf(BadResourceRequestException.class);
+    }
+
     @Test
     @DisplayName("getShippingOptions delega en el repositorio")
     void getShippingOptions_devuelveOpciones() {
@@ -1,6 +1,7 @@
 package com.hackerrank.sample.service;
 
 import com.hackerrank.sample.dto.ItemDetailDto;
+import com.hackerrank.sample.exception.CatalogNotReadyException;
 import com.hackerrank.sample.exception.NoSuchResourceFoundException;
 import com.hackerrank.sample.model.Item;
 import com.hackerrank.sample.repository.ItemRepository;
@@ -122,6 +123,14 @@ class ItemServiceImplTest {
             .isInstanceOf(NoSuchResourceFoundException.class)
             .hasMessageContaining(ITEM_ID);
     }
-}
 
+    @Test
+    void getItemDetail_lanzaCatalogNotReadyMientrasCargaElCatalogo() {
+        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.empty());
+        when(itemRepository.isLoading()).thenReturn(true);
 
+        assertThatThrownBy(() -> itemService.getItemDetail(ITEM_ID))
+            .isInstanceOf(CatalogNotReadyException.class)
+            .hasMessageContaining(ITEM_ID);
+    }
+}
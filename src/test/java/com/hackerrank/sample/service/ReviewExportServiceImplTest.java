@@ -0,0 +1,86 @@
+package com.hackerrank.sample.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.model.Item;
+import com.hackerrank.sample.model.Review;
+import com.hackerrank.sample.repository.ItemRepository;
+import com.hackerrank.sample.repository.ReviewRepository;
+import com.hackerrank.sample.service.mapper.ItemExtrasMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewExportServiceImplTest {
+
+    private static final String ITEM_ID = "MLA123456";
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    private ReviewExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ReviewExportServiceImpl(objectMapper, itemRepository, reviewRepository,
+            new ItemExtrasMapper());
+    }
+
+    @Test
+    @DisplayName("exportItemReviews escribe una reseña por línea en el orden del repositorio")
+    void exportItemReviews_escribeNdjson() throws Exception {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.of(mock(Item.class)));
+        willAnswer(invocation -> {
+            Consumer<Review> action = invocation.getArgument(1);
+            action.accept(review("R2", 4));
+            action.accept(review("R1", 5));
+            return null;
+        }).given(reviewRepository).forEachReviewByItemId(eq(ITEM_ID), any());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.exportItemReviews(ITEM_ID).writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"itemId\":\"MLA123456\",\"id\":\"R2\"").contains("\"rating\":4");
+        assertThat(lines[1]).startsWith("{\"itemId\":\"MLA123456\",\"id\":\"R1\"")
+            .contains("\"createdAt\":\"2024-05-01T10:00:00Z\"");
+    }
+
+    @Test
+    @DisplayName("exportItemReviews responde 404 antes de empezar a escribir si el item no existe")
+    void exportItemReviews_itemInexistente() {
+        given(itemRepository.findById(ITEM_ID)).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> exportService.exportItemReviews(ITEM_ID))
+            .isInstanceOf(NoSuchResourceFoundException.class);
+    }
+
+    private static Review review(String id, int rating) {
+        return new Review(id, ITEM_ID, "Ana", rating, "Título", "Comentario",
+            OffsetDateTime.parse("2024-05-01T10:00:00Z"));
+    }
+}
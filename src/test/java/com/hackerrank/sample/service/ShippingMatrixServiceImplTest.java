@@ -0,0 +1,109 @@
+package com.hackerrank.sample.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hackerrank.sample.dto.ShippingMatrixReportDto;
+import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.model.Item;
+import com.hackerrank.sample.model.ShippingOption;
+import com.hackerrank.sample.repository.ItemRepository;
+import com.hackerrank.sample.repository.ShippingMatrix;
+import com.hackerrank.sample.repository.ShippingOptionRepository;
+import com.hackerrank.sample.service.mapper.ItemExtrasMapper;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ShippingMatrixServiceImplTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ShippingOptionRepository shippingOptionRepository;
+
+    @Mock
+    private ShippingMatrix matrix;
+
+    private ShippingMatrixServiceImpl matrixService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        matrixService = new ShippingMatrixServiceImpl(objectMapper, itemRepository, shippingOptionRepository,
+            new ItemExtrasMapper(), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matrixService.stop();
+    }
+
+    @Test
+    @DisplayName("exportMatrix escribe una línea por item y región, en orden, aunque ocupe varios tramos")
+    void exportMatrix_escribeTodasLasFilasEnOrden() throws Exception {
+        List<String> regions = IntStream.range(0, 1000).mapToObj(String::valueOf).toList();
+        List<Item> items = IntStream.range(0, 100).mapToObj(i -> item("MLA%03d".formatted(99 - i))).toList();
+        given(shippingOptionRepository.shippingMatrix()).willReturn(matrix);
+        given(matrix.regions()).willReturn(regions);
+        given(itemRepository.findAll()).willReturn(items);
+        given(matrix.baseOptions(anyString())).willAnswer(invocation -> invocation.<String>getArgument(0)
+            .equals("MLA050") ? List.of() : List.of(option(0)));
+        given(matrix.quote(anyList(), anyInt())).willAnswer(invocation -> List.of(option(invocation.getArgument(1))));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        matrixService.exportMatrix().writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(99 * 1000);
+        assertThat(lines[0]).startsWith("{\"itemId\":\"MLA000\",\"region\":\"0\",\"options\":[")
+            .contains("\"cost\":0.00");
+        assertThat(lines[1]).startsWith("{\"itemId\":\"MLA000\",\"region\":\"1\"").contains("\"cost\":1.00");
+        assertThat(lines[50 * 1000]).startsWith("{\"itemId\":\"MLA051\",\"region\":\"0\"");
+        assertThat(lines[lines.length - 1]).startsWith("{\"itemId\":\"MLA099\",\"region\":\"999\"");
+
+        ShippingMatrixReportDto report = matrixService.getLastReport();
+        assertThat(report.items()).isEqualTo(100);
+        assertThat(report.regions()).isEqualTo(1000);
+        assertThat(report.rows()).isEqualTo(99 * 1000);
+        assertThat(report.parallelism()).isEqualTo(4);
+        verify(matrix, times(100)).baseOptions(anyString());
+    }
+
+    @Test
+    @DisplayName("getLastReport responde 404 si todavía no se exportó la matriz")
+    void getLastReport_sinExportar() {
+        assertThatThrownBy(() -> matrixService.getLastReport()).isInstanceOf(NoSuchResourceFoundException.class);
+    }
+
+    private static Item item(String id) {
+        Item item = mock(Item.class);
+        given(item.getId()).willReturn(id);
+        return item;
+    }
+
+    private static ShippingOption option(int region) {
+        return new ShippingOption("standard", "Correo Argentino", BigDecimal.valueOf(region), 3, false);
+    }
+}
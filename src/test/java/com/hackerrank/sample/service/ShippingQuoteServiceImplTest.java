@@ -0,0 +1,185 @@
+package com.hackerrank.sample.service;
+
+import com.hackerrank.sample.dto.ShippingOptionDto;
+import com.hackerrank.sample.dto.ShippingQuoteDto;
+import com.hackerrank.sample.dto.ShippingQuoteRequest;
+import com.hackerrank.sample.exception.BadResourceRequestException;
+import com.hackerrank.sample.exception.CatalogNotReadyException;
+import com.hackerrank.sample.exception.NoSuchResourceFoundException;
+import com.hackerrank.sample.model.Item;
+import com.hackerrank.sample.model.ShippingOption;
+import com.hackerrank.sample.repository.ItemRepository;
+import com.hackerrank.sample.repository.ShippingOptionRepository;
+import com.hackerrank.sample.service.mapper.ItemExtrasMapper;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ShippingQuoteServiceImplTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ShippingOptionRepository shippingOptionRepository;
+
+    private ShippingQuoteServiceImpl shippingQuoteService;
+
+    @BeforeEach
+    void setUp() {
+        shippingQuoteService = new ShippingQuoteServiceImpl(itemRepository, shippingOptionRepository,
+            new ItemExtrasMapper());
+    }
+
+    @Test
+    @DisplayName("quote cotiza todo el carrito de una vez y consolida un envío por vendedor")
+    void quote_cotizaYConsolida() {
+        given(itemRepository.findById("MLA1")).willReturn(Optional.of(item("MLA1", "S1", 5)));
+        given(itemRepository.findById("MLA2")).willReturn(Optional.of(item("MLA2", "S1", 5)));
+        given(itemRepository.findById("MLA3")).willReturn(Optional.of(item("MLA3", "S2", 1)));
+        given(shippingOptionRepository.findByItemIdsAndZipcode(List.of("MLA1", "MLA2", "MLA3"), "7600"))
+            .willReturn(List.of(
+                List.of(option("standard", "1100.00", 4, false), option("pickup", "0.00", 2, true)),
+                List.of(option("standard", "2200.00", 5, false), option("express", "3300.00", 2, false)),
+                List.of(option("standard", "1100.00", 4, false))
+            ));
+
+        ShippingQuoteDto result = shippingQuoteService.quote(new ShippingQuoteRequest(" 7600 ", List.of(
+            new ShippingQuoteRequest.Line("MLA1", 1),
+            new ShippingQuoteRequest.Line("MLA2", 2),
+            new ShippingQuoteRequest.Line("MLA3", 3)
+        ), true));
+
+        assertThat(result.zipcode()).isEqualTo("7600");
+        assertThat(result.items()).extracting(ShippingQuoteDto.LineQuoteDto::available)
+            .containsExactly(true, true, false);
+        assertThat(result.items().get(0).options()).hasSize(2);
+        assertThat(result.sellers()).hasSize(1);
+        ShippingQuoteDto.SellerQuoteDto seller = result.sellers().get(0);
+        assertThat(seller.itemIds()).containsExactly("MLA1", "MLA2");
+        assertThat(seller.options()).containsExactly(
+            new ShippingOptionDto("standard", "Correo", new BigDecimal("2200.00"), 5, false));
+        assertThat(seller.shippableTogether()).isTrue();
+        verify(shippingOptionRepository, never()).findByItemIdAndZipcode(any(), any());
+    }
+
+    @Test
+    @DisplayName("quote rechaza carritos inválidos e informa todos los items inexistentes")
+    void quote_validaCarrito() {
+        given(itemRepository.findById(any())).willAnswer(invocation -> "MLA1".equals(invocation.getArgument(0))
+            ? Optional.of(item("MLA1", "S1", 5))
+            : Optional.empty());
+
+        assertThatThrownBy(() -> shippingQuoteService.quote(new ShippingQuoteRequest("1000", List.of(), null)))
+            .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> shippingQuoteService.quote(new ShippingQuoteRequest("1000",
+            List.of(new ShippingQuoteRequest.Line("MLA1", 0)), null)))
+            .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> shippingQuoteService.quote(new ShippingQuoteRequest("1000",
+            Collections.nCopies(ShippingQuoteServiceImpl.MAX_LINES + 1, new ShippingQuoteRequest.Line("MLA1", 1)),
+            null)))
+            .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> shippingQuoteService.quote(new ShippingQuoteRequest("1000", List.of(
+            new ShippingQuoteRequest.Line("MLA1", 1),
+            new ShippingQuoteRequest.Line("MLA8", 1),
+            new ShippingQuoteRequest.Line("MLA9", 1)
+        ), null)))
+            .isInstanceOf(NoSuchResourceFoundException.class)
+            .hasMessageContaining("MLA8, MLA9");
+        verify(shippingOptionRepository, never()).findByItemIdsAndZipcode(any(), any());
+    }
+
+    @Test
+    @DisplayName("quote cotiza items sin vendedor por separado e informa los grupos sin opciones en común")
+    void quote_sinVendedorYSinOpcionesComunes() {
+        given(itemRepository.findById("MLA1")).willReturn(Optional.of(item("MLA1", "S1", 5)));
+        given(itemRepository.findById("MLA2")).willReturn(Optional.of(item("MLA2", "S1", 5)));
+        Item withoutSeller = withoutSeller("MLA3");
+        Item otherWithoutSeller = withoutSeller("MLA4");
+        given(itemRepository.findById("MLA3")).willReturn(Optional.of(withoutSeller));
+        given(itemRepository.findById("MLA4")).willReturn(Optional.of(otherWithoutSeller));
+        given(shippingOptionRepository.findByItemIdsAndZipcode(List.of("MLA1", "MLA2", "MLA3", "MLA4"), "7600"))
+            .willReturn(List.of(
+                List.of(option("standard", "1100.00", 4, false)),
+                List.of(option("express", "3300.00", 2, false)),
+                List.of(option("standard", "1100.00", 4, false)),
+                List.of(option("standard", "1200.00", 3, false))
+            ));
+
+        ShippingQuoteDto result = shippingQuoteService.quote(new ShippingQuoteRequest("7600", List.of(
+            new ShippingQuoteRequest.Line("MLA1", 1),
+            new ShippingQuoteRequest.Line("MLA2", 1),
+            new ShippingQuoteRequest.Line("MLA3", 1),
+            new ShippingQuoteRequest.Line("MLA4", 1)
+        ), true));
+
+        assertThat(result.items()).extracting(ShippingQuoteDto.LineQuoteDto::sellerId)
+            .containsExactly("S1", "S1", null, null);
+        assertThat(result.sellers()).extracting(ShippingQuoteDto.SellerQuoteDto::sellerId,
+                ShippingQuoteDto.SellerQuoteDto::itemIds, ShippingQuoteDto.SellerQuoteDto::shippableTogether)
+            .containsExactly(
+                tuple("S1", List.of("MLA1", "MLA2"), false),
+                tuple(null, List.of("MLA3"), true),
+                tuple(null, List.of("MLA4"), true));
+        assertThat(result.sellers().get(0).options()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("quote responde que el catálogo se está cargando si faltan items durante la carga")
+    void quote_duranteLaCarga() {
+        given(itemRepository.findById("MLA8")).willReturn(Optional.empty());
+        given(itemRepository.isLoading()).willReturn(true);
+
+        assertThatThrownBy(() -> shippingQuoteService.quote(new ShippingQuoteRequest("1000",
+            List.of(new ShippingQuoteRequest.Line("MLA8", 1)), null)))
+            .isInstanceOf(CatalogNotReadyException.class)
+            .hasMessageContaining("MLA8");
+    }
+
+    /**
+     * El modelo exige vendedor; un item sin él solo puede llegar armado a mano, como este mock.
+     */
+    private static Item withoutSeller(String id) {
+        Item item = mock(Item.class);
+        given(item.getId()).willReturn(id);
+        given(item.getAvailableQuantity()).willReturn(5);
+        return item;
+    }
+
+    private static Item item(String id, String sellerId, int availableQuantity) {
+        return Item.builder()
+            .id(id)
+            .title("Item " + id)
+            .permalink("https://example.com/" + id)
+            .condition("new")
+            .price(new Item.Price(new BigDecimal("100.00"), "ARS"))
+            .availableQuantity(availableQuantity)
+            .lastUpdated(OffsetDateTime.now(ZoneOffset.UTC))
+            .seller(new Item.Seller(sellerId, "Seller", 4.5))
+            .shipping(new Item.Shipping(true, "fulfillment", List.of()))
+            .build();
+    }
+
+    private static ShippingOption option(String type, String cost, int days, boolean pickup) {
+        return new ShippingOption(type, "Correo", new BigDecimal(cost), days, pickup);
+    }
+}
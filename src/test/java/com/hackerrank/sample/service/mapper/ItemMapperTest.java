@@ -7,10 +7,15 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 class ItemMapperTest {
 
@@ -102,6 +107,59 @@ class ItemMapperTest {
         assertThatThrownBy(() -> dto.attributes().clear())
             .isInstanceOf(UnsupportedOperationException.class);
     }
-}
 
+    @Test
+    void toDto_itemCompactoConCacheMapeaIgualQueElOriginal() {
+        Item item = Item.builder()
+            .id("MLA222222")
+            .title("Teclado mecánico")
+            .description("Teclado con switches rojos.")
+            .price(new Item.Price(new BigDecimal("58000.00"), "ARS"))
+            .seller(new Item.Seller("S222", "KeysStore", 4.9))
+            .shipping(new Item.Shipping(true, "drop_off", List.of("envios_gratis")))
+            .pictures(List.of(new Item.Picture("http://mlstatic.com/kb.jpg", null, "principal", 1)))
+            .attributes(List.of(new Item.Attribute("LAYOUT", "Distribución", "Español")))
+            .build();
+        ItemMapper cachingMapper = new ItemMapper(16);
+        Item compact = item.compact();
+
+        ItemDetailDto first = cachingMapper.toDto(compact);
+        ItemDetailDto second = cachingMapper.toDto(compact);
+
+        assertThat(first).isEqualTo(mapper.toDto(item));
+        assertThat(second).isEqualTo(first);
+    }
 
+    @Test
+    void toDto_decodificaFueraDelLockDelCache() throws Exception {
+        CountDownLatch decoding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Item slow = compactItem("MLA1");
+        given(slow.getContent()).willAnswer(invocation -> {
+            decoding.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new Item.Content("Lenta", List.of(), List.of());
+        });
+        Item fast = compactItem("MLA2");
+        given(fast.getContent()).willReturn(new Item.Content("Rápida", List.of(), List.of()));
+        ItemMapper cachingMapper = new ItemMapper(16);
+
+        CompletableFuture<ItemDetailDto> slowDto = CompletableFuture.supplyAsync(() -> cachingMapper.toDto(slow));
+        assertThat(decoding.await(5, TimeUnit.SECONDS)).isTrue();
+        // Mientras otro request decodifica, el detalle de un item distinto no espera.
+        assertThat(CompletableFuture.supplyAsync(() -> cachingMapper.toDto(fast)).get(5, TimeUnit.SECONDS)
+            .description()).isEqualTo("Rápida");
+        release.countDown();
+        assertThat(slowDto.get(5, TimeUnit.SECONDS).description()).isEqualTo("Lenta");
+    }
+
+    private static Item compactItem(String id) {
+        Item item = mock(Item.class);
+        given(item.getId()).willReturn(id);
+        given(item.isContentCompact()).willReturn(true);
+        given(item.getPrice()).willReturn(new Item.Price(new BigDecimal("100.00"), "ARS"));
+        given(item.getSeller()).willReturn(new Item.Seller("S1", "Tienda", 4.5));
+        given(item.getShipping()).willReturn(new Item.Shipping(true, "drop_off", List.of()));
+        return item;
+    }
+}